@@ -0,0 +1,90 @@
+-- VFMS: compare fuel_records query plans before and after the V18 indexes.
+-- Seeds a scratch copy of fuel_records with one million rows, prints
+-- EXPLAIN (ANALYZE, BUFFERS) for each hot query shape, creates the V18
+-- indexes on the copy, refreshes statistics and prints the plans again.
+-- Everything runs inside a transaction that is rolled back at the end.
+--
+-- Usage: psql "$DB_URL" -f scripts/benchmark-fuel-records-indexes.sql
+-- Requires the fuel_records table to exist (start the backend once).
+
+\timing on
+BEGIN;
+
+CREATE TEMP TABLE fuel_records_bench (LIKE fuel_records INCLUDING DEFAULTS) ON COMMIT DROP;
+
+-- 2,000 vehicles, 300 drivers, ~3 years of entries, ~2% flagged.
+INSERT INTO fuel_records_bench (
+    id, vehicle_id, driver_id, fuel_date, quantity, cost_per_litre, total_cost,
+    odometer_reading, fuel_station, notes, flagged_for_misuse, flag_reason,
+    created_at, updated_at, created_by)
+SELECT gen_random_uuid(),
+       (g % 2000) + 1,
+       CASE WHEN g % 5 = 0 THEN NULL ELSE drivers.ids[(g % 300) + 1] END,
+       DATE '2023-01-01' + (g / 2000) % 1095,
+       round((20 + random() * 60)::numeric, 2),
+       3.50,
+       round(((20 + random() * 60) * 3.5)::numeric, 2),
+       (g / 2000) * 350.0 + random() * 50,
+       'Bench station',
+       NULL,
+       random() < 0.02,
+       NULL,
+       TIMESTAMP '2023-01-01' + (g || ' seconds')::interval,
+       TIMESTAMP '2023-01-01' + (g || ' seconds')::interval,
+       'benchmark'
+FROM generate_series(1, 1000000) AS g,
+     (SELECT array_agg(gen_random_uuid()) AS ids FROM generate_series(1, 300)) AS drivers;
+
+ANALYZE fuel_records_bench;
+
+\echo '=== BEFORE: vehicle history (findVehicleHistory / misuse latest entries) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, fuel_date, created_at, odometer_reading FROM fuel_records_bench
+WHERE vehicle_id = 42 ORDER BY fuel_date DESC, created_at DESC LIMIT 2;
+
+\echo '=== BEFORE: driver history (findDriverHistory) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM fuel_records_bench
+WHERE driver_id = (SELECT driver_id FROM fuel_records_bench WHERE driver_id IS NOT NULL LIMIT 1)
+ORDER BY fuel_date DESC, created_at DESC;
+
+\echo '=== BEFORE: keyset page (findPageAfter) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM fuel_records_bench
+WHERE (fuel_date, created_at, id) < (DATE '2024-06-01', TIMESTAMP '2024-06-01', 'ffffffff-ffff-ffff-ffff-ffffffffffff'::uuid)
+ORDER BY fuel_date DESC, created_at DESC, id DESC LIMIT 51;
+
+\echo '=== BEFORE: flagged review queue (findAllFlaggedRecords) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM fuel_records_bench
+WHERE flagged_for_misuse = TRUE ORDER BY fuel_date DESC, created_at DESC;
+
+CREATE INDEX ON fuel_records_bench (vehicle_id, fuel_date DESC, created_at DESC) INCLUDE (odometer_reading, id);
+CREATE INDEX ON fuel_records_bench (driver_id, fuel_date DESC, created_at DESC) WHERE driver_id IS NOT NULL;
+CREATE INDEX ON fuel_records_bench (fuel_date DESC, created_at DESC, id DESC);
+CREATE INDEX ON fuel_records_bench (fuel_date DESC, created_at DESC) WHERE flagged_for_misuse = TRUE;
+ANALYZE fuel_records_bench;
+
+\echo '=== AFTER: vehicle history ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, fuel_date, created_at, odometer_reading FROM fuel_records_bench
+WHERE vehicle_id = 42 ORDER BY fuel_date DESC, created_at DESC LIMIT 2;
+
+\echo '=== AFTER: driver history ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM fuel_records_bench
+WHERE driver_id = (SELECT driver_id FROM fuel_records_bench WHERE driver_id IS NOT NULL LIMIT 1)
+ORDER BY fuel_date DESC, created_at DESC;
+
+\echo '=== AFTER: keyset page ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM fuel_records_bench
+WHERE (fuel_date, created_at, id) < (DATE '2024-06-01', TIMESTAMP '2024-06-01', 'ffffffff-ffff-ffff-ffff-ffffffffffff'::uuid)
+ORDER BY fuel_date DESC, created_at DESC, id DESC LIMIT 51;
+
+\echo '=== AFTER: flagged review queue ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM fuel_records_bench
+WHERE flagged_for_misuse = TRUE ORDER BY fuel_date DESC, created_at DESC;
+
+ROLLBACK;
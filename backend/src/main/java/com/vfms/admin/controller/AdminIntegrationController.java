@@ -0,0 +1,28 @@
+package com.vfms.admin.controller;
+
+import com.vfms.common.dto.OutboundTargetStats;
+import com.vfms.config.http.GuardedClientHttpRequestFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/integrations")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminIntegrationController {
+
+    private final List<GuardedClientHttpRequestFactory> outboundTargets;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<OutboundTargetStats>> getOutboundStats() {
+        return ResponseEntity.ok(outboundTargets.stream()
+                .map(GuardedClientHttpRequestFactory::stats)
+                .toList());
+    }
+}
@@ -0,0 +1,106 @@
+package com.vfms.common.cache;
+
+import com.vfms.dsm.service.DriverChangedEvent;
+import com.vfms.vehicle.VehicleChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Shared in-memory cache for the small vehicle and driver option lists behind form dropdowns (trip approval, fuel
+// entry). Every list names the tables it is built from, and each table carries a version that is bumped after a
+// committed vehicle or driver write, so only the lists reading that table are reloaded. Entries also expire after a
+// TTL to pick up writes from other nodes or from code that bypasses the events (seed data, raw SQL).
+@Component
+public class ReferenceDataCache {
+
+    public static final String VEHICLES = "vehicles";
+    public static final String DRIVERS = "drivers";
+
+    // A cached list plus a content ETag, so controllers can answer If-None-Match with 304
+    public record Entry<T>(T value, String etag) {
+
+        // Browsers keep the list and revalidate on every form load; an unchanged list costs an empty 304
+        public ResponseEntity<T> toResponse(WebRequest request) {
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(value);
+        }
+    }
+
+    private record Cached(List<String> tables, long[] versions, Entry<?> entry, long loadedAtMillis) {
+    }
+
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final Map<String, Cached> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public ReferenceDataCache(@Value("${reference-data.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Entry<T> get(String key, List<String> tables, Supplier<T> loader) {
+        long[] versions = currentVersions(tables);
+        Cached cached = entries.get(key);
+        if (cached != null && Arrays.equals(cached.versions(), versions)
+                && System.currentTimeMillis() - cached.loadedAtMillis() < ttlMillis) {
+            return (Entry<T>) cached.entry();
+        }
+        T value = loader.get();
+        Entry<T> loaded = new Entry<>(value, etagOf(key, value));
+        // A write committed while loading bumps a version; the result is returned but not cached
+        if (Arrays.equals(currentVersions(tables), versions)) {
+            entries.put(key, new Cached(tables, versions, loaded, System.currentTimeMillis()));
+        }
+        return loaded;
+    }
+
+    public void invalidate(String table) {
+        tableVersions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+        entries.values().removeIf(cached -> cached.tables().contains(table));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        invalidate(VEHICLES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        invalidate(DRIVERS);
+    }
+
+    private long[] currentVersions(List<String> tables) {
+        long[] versions = new long[tables.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = tableVersions.computeIfAbsent(tables.get(i), t -> new AtomicLong()).get();
+        }
+        return versions;
+    }
+
+    // Hash of the list content, so equal data yields the same ETag on every node and across restarts
+    private static String etagOf(String key, Object value) {
+        String content = key + '\n' + value;
+        return "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,23 @@
+package com.vfms.common.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class OutboundTargetStats {
+    private String target;
+    private String circuitState;
+    private long calls;
+    private long failures;
+    private long rejectedByBulkhead;
+    private long shortCircuited;
+    private int availablePermits;
+    private int leasedConnections;
+    private int availableConnections;
+    private int pendingConnections;
+    private double meanLatencyMs;
+    private Map<String, Long> latencyHistogram;
+}
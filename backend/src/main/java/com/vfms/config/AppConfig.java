@@ -1,14 +1,39 @@
 package com.vfms.config;
 
+import com.vfms.config.http.GuardedClientHttpRequestFactory;
+import com.vfms.config.http.OutboundHttpProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Outbound HTTP clients. Each integration target has its own pooled,
+ * guarded request factory so timeouts, bulkheads and circuit state stay
+ * isolated per dependency.
+ */
 @Configuration
 public class AppConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public GuardedClientHttpRequestFactory vehicleApiRequestFactory(OutboundHttpProperties properties) {
+        return new GuardedClientHttpRequestFactory("vehicle-api", properties.getVehicleApi());
+    }
+
+    @Bean
+    public GuardedClientHttpRequestFactory storageRequestFactory(OutboundHttpProperties properties) {
+        return new GuardedClientHttpRequestFactory("storage", properties.getStorage());
+    }
+
+    @Bean
+    public RestTemplate vehicleApiRestTemplate(
+            @Qualifier("vehicleApiRequestFactory") GuardedClientHttpRequestFactory requestFactory) {
+        return new RestTemplate(requestFactory);
+    }
+
+    @Bean
+    public RestTemplate storageRestTemplate(
+            @Qualifier("storageRequestFactory") GuardedClientHttpRequestFactory requestFactory) {
+        return new RestTemplate(requestFactory);
     }
 }
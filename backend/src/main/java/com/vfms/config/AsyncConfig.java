@@ -57,4 +57,23 @@ public class AsyncConfig {
         log.info("AsyncConfig initialized: corePoolSize=5, maxPoolSize=10, queueCapacity=100");
         return executor;
     }
+
+    /**
+     * Small bounded pool for outbound vehicle API lookups used to enrich fuel records.
+     * Callers wait for the result, so CallerRunsPolicy applies back-pressure instead
+     * of dropping lookups when the queue is full.
+     *
+     * @return configured TaskExecutor bean
+     */
+    @Bean(name = "vehicleLookupExecutor")
+    public ThreadPoolTaskExecutor vehicleLookupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("vfms-vehicle-lookup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,16 @@
+package com.vfms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Scheduled} methods: the expiry and leave schedulers, the booking
+ * index rebuild that picks up bookings made on other nodes, and the poll fallbacks
+ * of the trip outbox and the driver readiness queue.
+ *
+ * Pool size and thread names come from {@code spring.task.scheduling.*}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,318 @@
+package com.vfms.config.http;
+
+import com.vfms.common.dto.OutboundTargetStats;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooled request factory for one outbound target.
+ *
+ * Requests go through an Apache HttpClient connection pool with connect and
+ * read timeouts, a semaphore bulkhead that caps concurrent calls, and a
+ * consecutive-failure circuit breaker. Once the circuit opens, calls fail
+ * fast with {@link ResourceAccessException} until a single trial call
+ * succeeds after the open period. Latency is recorded into fixed buckets.
+ *
+ * The guard wraps the request rather than acting as an interceptor, so
+ * streaming request bodies are not buffered in memory. A bulkhead permit is
+ * held until the response is closed.
+ */
+@Slf4j
+public class GuardedClientHttpRequestFactory implements ClientHttpRequestFactory, DisposableBean {
+
+    private static final long[] LATENCY_BUCKETS_MS = {50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final String target;
+    private final OutboundHttpProperties.Target settings;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final HttpComponentsClientHttpRequestFactory delegate;
+    private final Semaphore permits;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long openUntilMillis;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder totalLatencyMillis = new LongAdder();
+    private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKETS_MS.length + 1];
+
+    public GuardedClientHttpRequestFactory(String target, OutboundHttpProperties.Target settings) {
+        this.target = target;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.getMaxConcurrentCalls());
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            latencyBuckets[i] = new LongAdder();
+        }
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.getMaxConnections())
+                .setMaxConnPerRoute(settings.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(settings.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(settings.getReadTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(settings.getConnectTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(settings.getReadTimeoutMs()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+
+        this.delegate = new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new GuardedRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        delegate.destroy();
+    }
+
+    public OutboundTargetStats stats() {
+        long callCount = calls.sum();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+            histogram.put("le_" + LATENCY_BUCKETS_MS[i] + "ms", latencyBuckets[i].sum());
+        }
+        histogram.put("gt_" + LATENCY_BUCKETS_MS[LATENCY_BUCKETS_MS.length - 1] + "ms",
+                latencyBuckets[LATENCY_BUCKETS_MS.length].sum());
+
+        PoolStats pool = connectionManager.getTotalStats();
+        return OutboundTargetStats.builder()
+                .target(target)
+                .circuitState(circuitState())
+                .calls(callCount)
+                .failures(failures.sum())
+                .rejectedByBulkhead(rejected.sum())
+                .shortCircuited(shortCircuited.sum())
+                .availablePermits(permits.availablePermits())
+                .leasedConnections(pool.getLeased())
+                .availableConnections(pool.getAvailable())
+                .pendingConnections(pool.getPending())
+                .meanLatencyMs(callCount == 0 ? 0.0 : (double) totalLatencyMillis.sum() / callCount)
+                .latencyHistogram(histogram)
+                .build();
+    }
+
+    private String circuitState() {
+        if (consecutiveFailures.get() < settings.getFailureThreshold()) {
+            return "CLOSED";
+        }
+        return System.currentTimeMillis() < openUntilMillis ? "OPEN" : "HALF_OPEN";
+    }
+
+    private boolean allowRequest() {
+        if (consecutiveFailures.get() < settings.getFailureThreshold()) {
+            return true;
+        }
+        if (System.currentTimeMillis() < openUntilMillis) {
+            return false;
+        }
+        return trialInFlight.compareAndSet(false, true);
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        trialInFlight.set(false);
+    }
+
+    private void onFailure() {
+        failures.increment();
+        if (consecutiveFailures.incrementAndGet() >= settings.getFailureThreshold()) {
+            openUntilMillis = System.currentTimeMillis() + settings.getOpenStateMs();
+            log.warn("Circuit for outbound target '{}' opened for {} ms", target, settings.getOpenStateMs());
+        }
+        trialInFlight.set(false);
+    }
+
+    private void recordLatency(long millis) {
+        calls.increment();
+        totalLatencyMillis.add(millis);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS_MS.length && millis > LATENCY_BUCKETS_MS[bucket]) {
+            bucket++;
+        }
+        latencyBuckets[bucket].increment();
+    }
+
+    private ClientHttpResponse guardedExecute(ClientHttpRequest request) throws IOException {
+        if (!allowRequest()) {
+            shortCircuited.increment();
+            throw new ResourceAccessException("Circuit for " + target + " is open; skipping " + request.getURI());
+        }
+        try {
+            if (!permits.tryAcquire(settings.getBulkheadWaitMs(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                trialInFlight.set(false);
+                throw new ResourceAccessException("Too many concurrent calls to " + target);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            trialInFlight.set(false);
+            throw new ResourceAccessException("Interrupted while waiting to call " + target);
+        }
+
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = request.execute();
+        } catch (IOException | RuntimeException e) {
+            onFailure();
+            permits.release();
+            throw e;
+        } finally {
+            recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        try {
+            if (response.getStatusCode().is5xxServerError()) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+        } catch (IOException | RuntimeException e) {
+            onFailure();
+            response.close();
+            permits.release();
+            throw e;
+        }
+        return new GuardedResponse(response);
+    }
+
+    /**
+     * Holds the bulkhead permit until the caller closes the response, so a body
+     * still being read counts against the concurrent-call limit.
+     */
+    private final class GuardedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private GuardedResponse(ClientHttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    private final class GuardedRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+
+        private GuardedRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            return guardedExecute(request);
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(body);
+                return;
+            }
+            try {
+                body.writeTo(request.getBody());
+            } catch (IOException e) {
+                throw new ResourceAccessException("Failed to write request body for " + target, e);
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return request.getAttributes();
+        }
+    }
+}
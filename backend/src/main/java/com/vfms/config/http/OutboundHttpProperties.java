@@ -0,0 +1,37 @@
+package com.vfms.config.http;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds per-target settings for outbound HTTP integrations.
+ *
+ * Each target gets its own connection pool, timeouts, bulkhead and circuit
+ * breaker so that one slow dependency cannot exhaust the others.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.http")
+public class OutboundHttpProperties {
+
+    private Target vehicleApi = new Target();
+    private Target storage = Target.withReadTimeout(30000);
+
+    @Data
+    public static class Target {
+        private int connectTimeoutMs = 2000;
+        private int readTimeoutMs = 5000;
+        private int maxConnections = 20;
+        private int maxConcurrentCalls = 10;
+        private long bulkheadWaitMs = 250;
+        private int failureThreshold = 5;
+        private long openStateMs = 30000;
+
+        static Target withReadTimeout(int readTimeoutMs) {
+            Target target = new Target();
+            target.setReadTimeoutMs(readTimeoutMs);
+            return target;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.vfms.dsm.controller;
 
+import com.vfms.dsm.dto.BatchEligibilityRequest;
+import com.vfms.dsm.dto.BatchEligibilityResponse;
 import com.vfms.dsm.dto.EligibilityCheckRequest;
 import com.vfms.dsm.dto.EligibilityCheckResponse;
 import com.vfms.dsm.service.DriverEligibilityService;
@@ -26,6 +28,12 @@ public class DriverEligibilityController {
         return ResponseEntity.ok(eligibilityService.checkEligibility(request));
     }
 
+    // Checks every listed driver against every listed category with a fixed number of queries
+    @PostMapping("/eligibility/batch")
+    public ResponseEntity<BatchEligibilityResponse> checkEligibilityBatch(@Valid @RequestBody BatchEligibilityRequest request) {
+        return ResponseEntity.ok(eligibilityService.checkEligibility(request));
+    }
+
     @GetMapping("/eligibility")
     public ResponseEntity<EligibilityCheckResponse> checkEligibilityGet(
             @RequestParam String employeeId,
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController @RequestMapping("/api/drivers") @RequiredArgsConstructor
@@ -18,4 +19,10 @@ public class DriverQualificationController {
             @RequestParam String vehicleCategory) {
         return ResponseEntity.ok(qualificationService.checkQualification(driverId, vehicleCategory));
     }
+
+    // Every driver qualified for the category today, answered from the in-memory capability index
+    @GetMapping("/qualified")
+    public ResponseEntity<List<UUID>> findQualifiedDrivers(@RequestParam String vehicleCategory) {
+        return ResponseEntity.ok(qualificationService.findQualifiedDrivers(vehicleCategory));
+    }
 }
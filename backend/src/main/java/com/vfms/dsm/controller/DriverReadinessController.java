@@ -1,13 +1,18 @@
 package com.vfms.dsm.controller;
 
+import com.vfms.dsm.dto.DriverReadinessResponse;
+import com.vfms.dsm.entity.DriverAvailability;
 import com.vfms.dsm.entity.DriverReadinessCache;
 import com.vfms.dsm.service.DriverReadinessService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -30,9 +35,14 @@ public class DriverReadinessController {
         return ResponseEntity.ok(readinessService.getAvailableReadyDrivers());
     }
 
+    // Paged like the driver list; ready and availabilityStatus are optional filters applied in SQL
     @GetMapping("/readiness")
-    public ResponseEntity<List<DriverReadinessCache>> getAllReadiness() {
-        return ResponseEntity.ok(readinessService.getAllReadiness());
+    public ResponseEntity<Page<DriverReadinessResponse>> getAllReadiness(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Boolean ready,
+            @RequestParam(required = false) DriverAvailability.AvailabilityStatus availabilityStatus) {
+        return ResponseEntity.ok(readinessService.getAllReadiness(ready, availabilityStatus, PageRequest.of(page, size)));
     }
 
     @PostMapping("/{driverId}/readiness/refresh")
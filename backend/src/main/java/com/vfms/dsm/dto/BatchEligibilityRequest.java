@@ -0,0 +1,26 @@
+package com.vfms.dsm.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class BatchEligibilityRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<String> employeeIds;
+
+    @NotEmpty
+    @Size(max = 10)
+    private List<String> vehicleCategories;
+
+    @NotNull
+    private LocalDate tripDate;
+}
@@ -0,0 +1,18 @@
+package com.vfms.dsm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One result per requested employee and vehicle category, in request order
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BatchEligibilityResponse {
+    private LocalDate tripDate;
+    private int eligibleCount;
+    private List<EligibilityCheckResponse> results;
+}
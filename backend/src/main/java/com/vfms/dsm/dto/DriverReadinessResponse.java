@@ -0,0 +1,22 @@
+package com.vfms.dsm.dto;
+
+import com.vfms.dsm.entity.DriverAvailability;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One row of the readiness listing. Drivers without a cache row yet come back with null readiness fields and
+// stale = true; stale rows are queued for a background refresh when they are listed.
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DriverReadinessResponse {
+    private UUID driverId;
+    private String employeeId;
+    private String fullName;
+    private Boolean licenseValid;
+    private Boolean allCertsValid;
+    private DriverAvailability.AvailabilityStatus availabilityStatus;
+    private boolean ready;
+    private LocalDateTime lastRefreshed;
+    private boolean stale;
+}
@@ -11,6 +11,7 @@ import java.util.UUID;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class EligibilityCheckResponse {
+    private String employeeId;
     private UUID driverId;
     private String vehicleCategory;
     private boolean eligible;
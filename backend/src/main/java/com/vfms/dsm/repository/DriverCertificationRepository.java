@@ -6,12 +6,17 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface DriverCertificationRepository extends JpaRepository<DriverCertification, Long> {
     List<DriverCertification> findByDriver_IdOrderByCreatedAtDesc(UUID driverId);
 
+    List<DriverCertification> findByDriver_IdIn(Collection<UUID> driverIds);
+
+    List<DriverCertification> findByStatus(DriverCertification.CertStatus status);
+
     List<DriverCertification> findByExpiryDateBeforeAndStatusNot(LocalDate date, DriverCertification.CertStatus status);
 
     @Query("SELECT c FROM DriverCertification c WHERE c.expiryDate BETWEEN :from AND :to AND c.status != 'EXPIRED'")
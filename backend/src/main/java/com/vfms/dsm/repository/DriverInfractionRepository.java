@@ -2,7 +2,10 @@ package com.vfms.dsm.repository;
 
 import com.vfms.dsm.entity.DriverInfraction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,4 +20,13 @@ public interface DriverInfractionRepository extends JpaRepository<DriverInfracti
             DriverInfraction.Severity severity,
             DriverInfraction.ResolutionStatus status
     );
+
+    // Drivers among driverIds with at least one unresolved infraction of the given severity
+    @Query("SELECT DISTINCT i.driver.id FROM DriverInfraction i WHERE i.driver.id IN :driverIds " +
+           "AND i.severity = :severity AND i.resolutionStatus <> :resolved")
+    List<UUID> findDriverIdsWithOpenInfractions(
+            @Param("driverIds") Collection<UUID> driverIds,
+            @Param("severity") DriverInfraction.Severity severity,
+            @Param("resolved") DriverInfraction.ResolutionStatus resolved
+    );
 }
@@ -4,11 +4,14 @@ import com.vfms.dsm.entity.DriverLicense;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface DriverLicenseRepository extends JpaRepository<DriverLicense, Long> {
     List<DriverLicense> findByDriver_IdOrderByCreatedAtDesc(UUID driverId);
+    List<DriverLicense> findByDriver_IdIn(Collection<UUID> driverIds);
+    List<DriverLicense> findByStatus(DriverLicense.LicenseStatus status);
     List<DriverLicense> findByExpiryDateBeforeAndStatusNot(LocalDate date, DriverLicense.LicenseStatus status);
 
     @Query("SELECT l FROM DriverLicense l WHERE l.expiryDate BETWEEN :from AND :to AND l.status != 'EXPIRED'")
@@ -0,0 +1,164 @@
+package com.vfms.dsm.repository;
+
+import com.vfms.dsm.entity.DriverAvailability;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Native statements behind the bulk readiness refresh (the scheduled sweep and the invalidation queue) and the
+// readiness listing. One joined scan derives licence validity, certification validity and availability for a set of
+// drivers, and the results are written back with a batched upsert, so a refresh costs two round trips per batch
+// instead of several per driver. The listing reads the cache table as it stands and never recomputes inline.
+@Repository
+@RequiredArgsConstructor
+public class DriverReadinessBulkRepository {
+
+    // Same rules as DriverReadinessService.refreshForDriver: the most recent licence decides licence validity, any
+    // expired certification fails the certification check, and an ongoing trip overrides the manual availability
+    private static final String READINESS_SELECT = """
+            SELECT d.id::text AS driver_id,
+                   COALESCE((
+                       SELECT dl.status <> 'EXPIRED' AND dl.expiry_date >= :today FROM driver_licenses dl
+                       WHERE dl.driver_id = d.id
+                       ORDER BY dl.created_at DESC
+                       LIMIT 1), FALSE) AS license_valid,
+                   NOT EXISTS (
+                       SELECT 1 FROM driver_certifications c
+                       WHERE c.driver_id = d.id AND c.status = 'EXPIRED') AS all_certs_valid,
+                   CASE
+                       WHEN EXISTS (
+                           SELECT 1 FROM trip_requests t
+                           WHERE t.driver_id = d.id AND t.status = 'ONGOING') THEN 'ON_TRIP'
+                       ELSE COALESCE(a.status, 'AVAILABLE')
+                   END AS availability_status
+            FROM drivers d
+            LEFT JOIN driver_availability a ON a.driver_id = d.id
+            """;
+
+    private static final String READINESS_PAGE_SQL = READINESS_SELECT + """
+            WHERE d.id > :afterId
+            ORDER BY d.id
+            LIMIT :limit
+            """;
+
+    private static final String READINESS_FOR_DRIVERS_SQL = READINESS_SELECT + """
+            WHERE d.id IN (:driverIds)
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO driver_readiness_cache
+                (driver_id, license_valid, all_certs_valid, availability_status, last_refreshed)
+            VALUES (:driverId, :licenseValid, :allCertsValid, :availabilityStatus, :lastRefreshed)
+            ON CONFLICT (driver_id) DO UPDATE SET
+                license_valid       = EXCLUDED.license_valid,
+                all_certs_valid     = EXCLUDED.all_certs_valid,
+                availability_status = EXCLUDED.availability_status,
+                last_refreshed      = EXCLUDED.last_refreshed
+            """;
+
+    // Every driver, with its cache row when there is one; filters are appended to the WHERE clause
+    private static final String LISTING_FROM = """
+            FROM drivers d
+            LEFT JOIN driver_readiness_cache r ON r.driver_id = d.id
+            WHERE 1 = 1
+            """;
+
+    private static final String LISTING_SELECT = """
+            SELECT d.id::text AS driver_id, d.employee_id, d.full_name,
+                   r.license_valid, r.all_certs_valid, r.availability_status, r.last_refreshed
+            """;
+
+    private static final RowMapper<ReadinessRow> READINESS_ROW = (rs, i) -> new ReadinessRow(
+            UUID.fromString(rs.getString("driver_id")),
+            rs.getBoolean("license_valid"),
+            rs.getBoolean("all_certs_valid"),
+            DriverAvailability.AvailabilityStatus.valueOf(rs.getString("availability_status")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record ListedReadiness(UUID driverId, String employeeId, String fullName, Boolean licenseValid,
+                                  Boolean allCertsValid, DriverAvailability.AvailabilityStatus availabilityStatus,
+                                  LocalDateTime lastRefreshed) {
+    }
+
+    public record ReadinessRow(UUID driverId, boolean licenseValid, boolean allCertsValid,
+                               DriverAvailability.AvailabilityStatus availabilityStatus) {
+    }
+
+    // Keyset page in driver id order; PostgreSQL compares UUIDs unsigned, so the first page starts after all zeros
+    public List<ReadinessRow> computePage(UUID afterId, int limit, LocalDate today) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("limit", limit)
+                .addValue("today", today);
+        return jdbcTemplate.query(READINESS_PAGE_SQL, params, READINESS_ROW);
+    }
+
+    // Drivers that no longer exist are simply absent from the result
+    public List<ReadinessRow> computeForDrivers(Collection<UUID> driverIds, LocalDate today) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("driverIds", driverIds)
+                .addValue("today", today);
+        return jdbcTemplate.query(READINESS_FOR_DRIVERS_SQL, params, READINESS_ROW);
+    }
+
+    public void upsert(List<ReadinessRow> rows, LocalDateTime refreshedAt) {
+        SqlParameterSource[] batch = rows.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("driverId", row.driverId())
+                        .addValue("licenseValid", row.licenseValid())
+                        .addValue("allCertsValid", row.allCertsValid())
+                        .addValue("availabilityStatus", row.availabilityStatus().name())
+                        .addValue("lastRefreshed", Timestamp.valueOf(refreshedAt)))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    // ready filters on licence validity (the same rule as DriverReadinessCache.isReady); drivers without a cache row
+    // count as not ready and match no availability status
+    public Page<ListedReadiness> findListing(Boolean ready, DriverAvailability.AvailabilityStatus availabilityStatus,
+                                             Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder();
+        if (ready != null) {
+            where.append(ready ? " AND r.license_valid = TRUE" : " AND COALESCE(r.license_valid, FALSE) = FALSE");
+        }
+        if (availabilityStatus != null) {
+            where.append(" AND r.availability_status = :availabilityStatus");
+            params.addValue("availabilityStatus", availabilityStatus.name());
+        }
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) " + LISTING_FROM + where, params, Long.class);
+        if (total == null || total == 0) {
+            return Page.empty(pageable);
+        }
+        params.addValue("limit", pageable.getPageSize()).addValue("offset", pageable.getOffset());
+        List<ListedReadiness> content = jdbcTemplate.query(
+                LISTING_SELECT + LISTING_FROM + where + " ORDER BY d.created_at DESC, d.id LIMIT :limit OFFSET :offset",
+                params, (rs, i) -> {
+                    String status = rs.getString("availability_status");
+                    Timestamp refreshed = rs.getTimestamp("last_refreshed");
+                    return new ListedReadiness(
+                            UUID.fromString(rs.getString("driver_id")),
+                            rs.getString("employee_id"),
+                            rs.getString("full_name"),
+                            (Boolean) rs.getObject("license_valid", Boolean.class),
+                            (Boolean) rs.getObject("all_certs_valid", Boolean.class),
+                            status == null ? null : DriverAvailability.AvailabilityStatus.valueOf(status),
+                            refreshed == null ? null : refreshed.toLocalDateTime());
+                });
+        return new PageImpl<>(content, pageable, total);
+    }
+}
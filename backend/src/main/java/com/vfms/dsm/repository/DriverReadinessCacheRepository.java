@@ -13,5 +13,7 @@ public interface DriverReadinessCacheRepository extends JpaRepository<DriverRead
 
     List<DriverReadinessCache> findAllByOrderByLastRefreshedDesc();
 
+    List<DriverReadinessCache> findByLicenseValidTrueOrderByLastRefreshedDesc();
+
     List<DriverReadinessCache> findByLicenseValidAndAllCertsValid(Boolean licenseValid, Boolean allCertsValid);
 }
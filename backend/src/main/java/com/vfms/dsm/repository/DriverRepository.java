@@ -3,11 +3,14 @@ package com.vfms.dsm.repository;
 import com.vfms.dsm.entity.Driver;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface DriverRepository extends JpaRepository<Driver, UUID>, JpaSpecificationExecutor<Driver> {
     Optional<Driver> findByEmployeeId(String employeeId);
+    List<Driver> findByEmployeeIdIn(Collection<String> employeeIds);
     Optional<Driver> findByNic(String nic);
     boolean existsByEmployeeId(String employeeId);
     boolean existsByNic(String nic);
@@ -0,0 +1,39 @@
+package com.vfms.dsm.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.List;
+
+// Reads the per-category licence and certification requirements seeded by migration V10
+@Repository
+@RequiredArgsConstructor
+public class VehicleLicenseRequirementRepository {
+
+    private static final String REQUIREMENTS_SQL = """
+            SELECT vehicle_category, required_classes, required_cert_types
+            FROM vehicle_license_requirements
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record RequirementRow(String vehicleCategory, List<String> requiredClasses, List<String> requiredCertTypes) {
+    }
+
+    public List<RequirementRow> findAll() {
+        return jdbcTemplate.query(REQUIREMENTS_SQL, (rs, i) -> new RequirementRow(
+                rs.getString("vehicle_category"),
+                toList(rs.getArray("required_classes")),
+                toList(rs.getArray("required_cert_types"))));
+    }
+
+    private static List<String> toList(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        return List.of((String[]) array.getArray());
+    }
+}
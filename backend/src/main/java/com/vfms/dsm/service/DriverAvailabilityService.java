@@ -9,6 +9,7 @@ import com.vfms.dsm.repository.DriverAvailabilityLogRepository;
 import com.vfms.dsm.repository.DriverAvailabilityRepository;
 import com.vfms.dsm.repository.DriverRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,7 +25,7 @@ public class DriverAvailabilityService {
     private final DriverAvailabilityRepository availabilityRepository;
     private final DriverAvailabilityLogRepository logRepository;
     private final DriverRepository driverRepository;
-    private final DriverReadinessService readinessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DriverAvailability getAvailability(UUID driverId) {
         return availabilityRepository.findById(driverId).orElseGet(() -> {
@@ -56,7 +57,7 @@ public class DriverAvailabilityService {
         avail.setUpdatedBy(changedBy);
         avail.setReason(request.getReason());
         DriverAvailability saved = availabilityRepository.save(avail);
-        readinessService.refreshForDriver(driverId);
+        eventPublisher.publishEvent(new DriverReadinessInvalidatedEvent(driverId));
         return saved;
     }
 
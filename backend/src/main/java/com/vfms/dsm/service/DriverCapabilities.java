@@ -0,0 +1,83 @@
+package com.vfms.dsm.service;
+
+import com.vfms.dsm.entity.DriverCertification;
+import com.vfms.dsm.entity.DriverLicense;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Bitset encoding of what a driver is qualified for: one bit per licence class (low word) and one per certification
+// type (high word), set only for credentials that are valid on the given day. A vehicle category's requirement is a
+// pair of masks, so checking a driver is two AND operations instead of a scan over licence and certificate lists.
+public final class DriverCapabilities {
+
+    private static final int CERT_OFFSET = 32;
+
+    private DriverCapabilities() {
+    }
+
+    public static long licenseBit(DriverLicense.LicenseCategory category) {
+        return 1L << category.ordinal();
+    }
+
+    public static long certBit(DriverCertification.CertificationType type) {
+        return 1L << (CERT_OFFSET + type.ordinal());
+    }
+
+    // A credential counts when its status is VALID and it has not passed its expiry date; certificates without an
+    // expiry date never expire
+    public static long of(List<DriverLicense> licenses, List<DriverCertification> certs, LocalDate today) {
+        long bits = 0;
+        for (DriverLicense license : licenses) {
+            if (license.getStatus() == DriverLicense.LicenseStatus.VALID && license.getCategory() != null
+                    && (license.getExpiryDate() == null || !license.getExpiryDate().isBefore(today))) {
+                bits |= licenseBit(license.getCategory());
+            }
+        }
+        for (DriverCertification cert : certs) {
+            if (cert.getStatus() == DriverCertification.CertStatus.VALID && cert.getCertType() != null
+                    && (cert.getExpiryDate() == null || !cert.getExpiryDate().isBefore(today))) {
+                bits |= certBit(cert.getCertType());
+            }
+        }
+        return bits;
+    }
+
+    // What a vehicle category demands: any one of the licence classes and every one of the certifications
+    public record Requirement(String vehicleCategory, List<DriverLicense.LicenseCategory> licenseClasses,
+                              List<DriverCertification.CertificationType> certTypes,
+                              long licenseMask, long certMask) {
+
+        public static Requirement of(String vehicleCategory, List<DriverLicense.LicenseCategory> licenseClasses,
+                                     List<DriverCertification.CertificationType> certTypes) {
+            long licenseMask = 0;
+            for (DriverLicense.LicenseCategory licenseClass : licenseClasses) {
+                licenseMask |= licenseBit(licenseClass);
+            }
+            long certMask = 0;
+            for (DriverCertification.CertificationType certType : certTypes) {
+                certMask |= certBit(certType);
+            }
+            return new Requirement(vehicleCategory, List.copyOf(licenseClasses), List.copyOf(certTypes),
+                    licenseMask, certMask);
+        }
+
+        public boolean isMetBy(long capabilities) {
+            return (capabilities & licenseMask) != 0 && (capabilities & certMask) == certMask;
+        }
+
+        public List<String> unmetReasons(long capabilities) {
+            List<String> reasons = new ArrayList<>();
+            if ((capabilities & licenseMask) == 0) {
+                reasons.add("No valid license of required category: " + licenseClasses);
+            }
+            for (DriverCertification.CertificationType certType : certTypes) {
+                if ((capabilities & certBit(certType)) == 0) {
+                    reasons.add("Missing required certification: " + certType);
+                }
+            }
+            return reasons;
+        }
+    }
+}
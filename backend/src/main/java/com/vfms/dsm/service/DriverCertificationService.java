@@ -6,6 +6,7 @@ import com.vfms.dsm.entity.DriverCertification;
 import com.vfms.dsm.exception.ResourceNotFoundException;
 import com.vfms.dsm.repository.DriverCertificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,7 @@ import java.util.UUID;
 public class DriverCertificationService {
     private final DriverCertificationRepository certRepository;
     private final DriverService driverService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DriverCertification addCertification(CertificationRequest request) {
         Driver driver = driverService.findById(request.getDriverId());
@@ -29,7 +31,9 @@ public class DriverCertificationService {
             .issueDate(request.getIssueDate())
             .expiryDate(request.getExpiryDate())
             .build();
-        return certRepository.save(cert);
+        DriverCertification saved = certRepository.save(cert);
+        eventPublisher.publishEvent(new DriverCredentialsChangedEvent(driver.getId()));
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -45,10 +49,15 @@ public class DriverCertificationService {
         cert.setIssuedBy(request.getIssuedBy());
         cert.setIssueDate(request.getIssueDate());
         cert.setExpiryDate(request.getExpiryDate());
-        return certRepository.save(cert);
+        DriverCertification saved = certRepository.save(cert);
+        eventPublisher.publishEvent(new DriverCredentialsChangedEvent(saved.getDriver().getId()));
+        return saved;
     }
 
     public void deleteCertification(Long id) {
-        certRepository.deleteById(id);
+        certRepository.findById(id).ifPresent(cert -> {
+            certRepository.delete(cert);
+            eventPublisher.publishEvent(new DriverCredentialsChangedEvent(cert.getDriver().getId()));
+        });
     }
 }
@@ -0,0 +1,7 @@
+package com.vfms.dsm.service;
+
+import java.util.UUID;
+
+// Published after a driver's identifying or status data changes so that caches in other modules can drop their copy
+public record DriverChangedEvent(UUID driverId) {
+}
@@ -0,0 +1,8 @@
+package com.vfms.dsm.service;
+
+import java.util.UUID;
+
+// Published when a licence or certification of a driver is added, changed or removed. DriverQualificationService
+// recomputes the driver's capabilities from it, and DriverReadinessRefreshQueue treats it like a readiness change.
+public record DriverCredentialsChangedEvent(UUID driverId) {
+}
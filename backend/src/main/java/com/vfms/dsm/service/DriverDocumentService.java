@@ -6,6 +6,7 @@ import com.vfms.dsm.exception.ResourceNotFoundException;
 import com.vfms.dsm.repository.DriverDocumentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,7 +22,7 @@ import java.util.UUID;
 public class DriverDocumentService {
     private final DriverDocumentRepository documentRepository;
     private final DriverService driverService;
-    private final DriverReadinessService readinessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.upload.dir:uploads/documents}")
     private String uploadDir;
@@ -55,7 +56,7 @@ public class DriverDocumentService {
 
             DriverDocument saved = documentRepository.save(doc);
             if (entityType == DriverDocument.DocumentEntityType.LICENSE) {
-                readinessService.refreshForDriver(driverId);
+                eventPublisher.publishEvent(new DriverReadinessInvalidatedEvent(driverId));
             }
             return saved;
     }
@@ -82,7 +83,7 @@ public class DriverDocumentService {
 
         documentRepository.delete(doc);
         if (doc.getEntityType() == DriverDocument.DocumentEntityType.LICENSE && doc.getDriver() != null) {
-            readinessService.refreshForDriver(doc.getDriver().getId());
+            eventPublisher.publishEvent(new DriverReadinessInvalidatedEvent(doc.getDriver().getId()));
         }
     }
 }
@@ -1,12 +1,17 @@
 package com.vfms.dsm.service;
 
+import com.vfms.dsm.dto.BatchEligibilityRequest;
+import com.vfms.dsm.dto.BatchEligibilityResponse;
 import com.vfms.dsm.dto.EligibilityCheckRequest;
 import com.vfms.dsm.dto.EligibilityCheckResponse;
-import com.vfms.dsm.dto.QualificationCheckResponse;
 import com.vfms.dsm.entity.Driver;
 import com.vfms.dsm.entity.DriverAvailability;
+import com.vfms.dsm.entity.DriverCertification;
+import com.vfms.dsm.entity.DriverInfraction;
 import com.vfms.dsm.entity.DriverLicense;
 import com.vfms.dsm.repository.DriverAvailabilityRepository;
+import com.vfms.dsm.repository.DriverCertificationRepository;
+import com.vfms.dsm.repository.DriverInfractionRepository;
 import com.vfms.dsm.repository.DriverLicenseRepository;
 import com.vfms.dsm.repository.DriverRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,55 +19,105 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+// Single and batch checks share one path: drivers, availability, licences, certifications and blocking infractions
+// are loaded with one IN-clause query each and the rules run in memory, so checking N drivers against any number of
+// categories costs the same five queries as checking one.
 @Service @RequiredArgsConstructor @Transactional(readOnly = true)
 public class DriverEligibilityService {
     private final DriverRepository driverRepository;
     private final DriverAvailabilityRepository availabilityRepository;
     private final DriverLicenseRepository licenseRepository;
+    private final DriverCertificationRepository certRepository;
+    private final DriverInfractionRepository infractionRepository;
     private final DriverQualificationService qualificationService;
-    private final DriverInfractionService infractionService;
 
     public EligibilityCheckResponse checkEligibility(EligibilityCheckRequest request) {
-        List<String> reasons = new ArrayList<>();
-        String employeeId = request.getEmployeeId();
-        Driver driver = driverRepository.findByEmployeeId(employeeId).orElse(null);
-        UUID driverId = driver == null ? null : driver.getId();
+        return evaluate(List.of(request.getEmployeeId()), List.of(request.getVehicleCategory())).get(0);
+    }
 
-        if (driver == null || driver.getStatus() != Driver.DriverStatus.ACTIVE) {
-            reasons.add("Driver not found or not active");
+    public BatchEligibilityResponse checkEligibility(BatchEligibilityRequest request) {
+        List<EligibilityCheckResponse> results = evaluate(request.getEmployeeIds(), request.getVehicleCategories());
+        return BatchEligibilityResponse.builder()
+            .tripDate(request.getTripDate())
+            .eligibleCount((int) results.stream().filter(EligibilityCheckResponse::isEligible).count())
+            .results(results)
+            .build();
+    }
+
+    private List<EligibilityCheckResponse> evaluate(List<String> employeeIds, List<String> vehicleCategories) {
+        Set<String> requested = new LinkedHashSet<>(employeeIds);
+        Map<String, Driver> drivers = driverRepository.findByEmployeeIdIn(requested).stream()
+            .collect(Collectors.toMap(Driver::getEmployeeId, Function.identity()));
+        Set<UUID> driverIds = drivers.values().stream().map(Driver::getId).collect(Collectors.toSet());
+
+        Map<UUID, DriverAvailability> availability = Map.of();
+        Map<UUID, List<DriverLicense>> licenses = Map.of();
+        Map<UUID, List<DriverCertification>> certs = Map.of();
+        Set<UUID> blocked = Set.of();
+        if (!driverIds.isEmpty()) {
+            availability = availabilityRepository.findAllById(driverIds).stream()
+                .collect(Collectors.toMap(DriverAvailability::getDriverId, Function.identity()));
+            licenses = licenseRepository.findByDriver_IdIn(driverIds).stream()
+                .collect(Collectors.groupingBy(l -> l.getDriver().getId()));
+            certs = certRepository.findByDriver_IdIn(driverIds).stream()
+                .collect(Collectors.groupingBy(c -> c.getDriver().getId()));
+            blocked = new HashSet<>(infractionRepository.findDriverIdsWithOpenInfractions(
+                driverIds, DriverInfraction.Severity.CRITICAL, DriverInfraction.ResolutionStatus.RESOLVED));
         }
 
-        if (driverId != null) {
-            availabilityRepository.findById(driverId).ifPresentOrElse(avail -> {
-            if (avail.getStatus() != DriverAvailability.AvailabilityStatus.AVAILABLE) {
-                reasons.add("Driver is not available: " + avail.getStatus());
+        List<EligibilityCheckResponse> results = new ArrayList<>();
+        for (String employeeId : requested) {
+            Driver driver = drivers.get(employeeId);
+            UUID driverId = driver == null ? null : driver.getId();
+            for (String vehicleCategory : vehicleCategories) {
+                List<String> reasons = driverId == null
+                    ? List.of("Driver not found or not active")
+                    : reasons(driver, availability.get(driverId), licenses.getOrDefault(driverId, List.of()),
+                        certs.getOrDefault(driverId, List.of()), blocked.contains(driverId), vehicleCategory);
+                results.add(EligibilityCheckResponse.builder()
+                    .employeeId(employeeId)
+                    .driverId(driverId)
+                    .vehicleCategory(vehicleCategory)
+                    .eligible(reasons.isEmpty())
+                    .reasons(reasons)
+                    .build());
             }
-            }, () -> reasons.add("Availability record not found"));
+        }
+        return results;
+    }
 
-            boolean hasValidLicense = licenseRepository.findByDriver_IdOrderByCreatedAtDesc(driverId).stream()
-                .anyMatch(l -> l.getStatus() == DriverLicense.LicenseStatus.VALID);
-            if (!hasValidLicense) {
-                reasons.add("No valid license found");
-            }
+    private List<String> reasons(Driver driver, DriverAvailability avail, List<DriverLicense> licenses,
+                                 List<DriverCertification> certs, boolean blocked, String vehicleCategory) {
+        List<String> reasons = new ArrayList<>();
+        if (driver.getStatus() != Driver.DriverStatus.ACTIVE) {
+            reasons.add("Driver not found or not active");
+        }
 
-            QualificationCheckResponse qual = qualificationService.checkQualification(driverId, request.getVehicleCategory());
-            if (!qual.isQualified()) {
-                reasons.addAll(qual.getReasons());
-            }
+        if (avail == null) {
+            reasons.add("Availability record not found");
+        } else if (avail.getStatus() != DriverAvailability.AvailabilityStatus.AVAILABLE) {
+            reasons.add("Driver is not available: " + avail.getStatus());
+        }
 
-            if (infractionService.hasBlockingInfractions(driverId)) {
-                reasons.add("Driver has unresolved critical infractions");
-            }
+        boolean hasValidLicense = licenses.stream().anyMatch(l -> l.getStatus() == DriverLicense.LicenseStatus.VALID);
+        if (!hasValidLicense) {
+            reasons.add("No valid license found");
         }
 
-        return EligibilityCheckResponse.builder()
-            .driverId(driverId)
-            .vehicleCategory(request.getVehicleCategory())
-            .eligible(reasons.isEmpty())
-            .reasons(reasons)
-            .build();
+        reasons.addAll(qualificationService.qualificationReasons(vehicleCategory, licenses, certs));
+
+        if (blocked) {
+            reasons.add("Driver has unresolved critical infractions");
+        }
+        return reasons;
     }
 }
@@ -9,6 +9,7 @@ import com.vfms.dsm.entity.DriverLeave;
 import com.vfms.dsm.exception.ResourceNotFoundException;
 import com.vfms.dsm.repository.DriverLeaveRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,7 @@ public class DriverLeaveService {
     private final DriverLeaveRepository leaveRepository;
     private final DriverService driverService;
     private final DriverAvailabilityService availabilityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DriverLeave requestLeave(LeaveRequest request) {
         Driver driver = driverService.findById(request.getDriverId());
@@ -55,7 +57,9 @@ public class DriverLeaveService {
             availabilityService.updateAvailability(leave.getDriver().getId(), availabilityUpdate, approvedBy);
         }
 
-        return leaveRepository.save(leave);
+        DriverLeave saved = leaveRepository.save(leave);
+        eventPublisher.publishEvent(new DriverReadinessInvalidatedEvent(saved.getDriver().getId()));
+        return saved;
     }
 
     @Transactional(readOnly = true)
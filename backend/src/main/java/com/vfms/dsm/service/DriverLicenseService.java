@@ -5,6 +5,7 @@ import com.vfms.dsm.entity.*;
 import com.vfms.dsm.exception.ResourceNotFoundException;
 import com.vfms.dsm.repository.DriverLicenseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -15,7 +16,7 @@ import java.util.stream.Collectors;
 public class DriverLicenseService {
     private final DriverLicenseRepository licenseRepository;
     private final DriverService driverService;
-    private final DriverReadinessService readinessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DriverLicenseResponse addLicense(DriverLicenseRequest request) {
         Driver driver = driverService.findById(request.getDriverId());
@@ -29,7 +30,7 @@ public class DriverLicenseService {
             .isPrimary(Boolean.TRUE.equals(request.getIsPrimary()))
             .build();
         DriverLicense saved = licenseRepository.save(license);
-        readinessService.refreshForDriver(driver.getId());
+        eventPublisher.publishEvent(new DriverCredentialsChangedEvent(driver.getId()));
         return toResponse(saved);
     }
 
@@ -48,7 +49,7 @@ public class DriverLicenseService {
         license.setExpiryDate(request.getExpiryDate());
         if (request.getIsPrimary() != null) license.setIsPrimary(request.getIsPrimary());
         DriverLicense saved = licenseRepository.save(license);
-        readinessService.refreshForDriver(saved.getDriver().getId());
+        eventPublisher.publishEvent(new DriverCredentialsChangedEvent(saved.getDriver().getId()));
         return toResponse(saved);
     }
 
@@ -57,7 +58,7 @@ public class DriverLicenseService {
             .orElseThrow(() -> new ResourceNotFoundException("License not found: " + id));
         UUID driverId = license.getDriver().getId();
         licenseRepository.delete(license);
-        readinessService.refreshForDriver(driverId);
+        eventPublisher.publishEvent(new DriverCredentialsChangedEvent(driverId));
     }
 
     private DriverLicenseResponse toResponse(DriverLicense l) {
@@ -5,53 +5,51 @@ import com.vfms.dsm.entity.DriverCertification;
 import com.vfms.dsm.entity.DriverLicense;
 import com.vfms.dsm.repository.DriverCertificationRepository;
 import com.vfms.dsm.repository.DriverLicenseRepository;
+import com.vfms.dsm.repository.VehicleLicenseRequirementRepository;
+import com.vfms.dsm.repository.VehicleLicenseRequirementRepository.RequirementRow;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+// Qualification engine. Category requirements come from vehicle_license_requirements and are compiled into bit
+// masks; every driver's valid licences and certifications are compiled into a capability bitset held in memory.
+// Checks and "who can drive X" scans then run against the bitsets without touching the database. The index is rebuilt
+// with two queries when the day rolls over (so expiry dates take effect) or REBUILD_INTERVAL has passed (status
+// changes made by the expiry schedulers); drivers with a licence or certification write are recomputed on the next read.
+@Slf4j
 @Service @RequiredArgsConstructor @Transactional(readOnly = true)
 public class DriverQualificationService {
     private final DriverLicenseRepository licenseRepository;
     private final DriverCertificationRepository certRepository;
+    private final VehicleLicenseRequirementRepository requirementRepository;
 
-    private static final Map<String, List<DriverLicense.LicenseCategory>> VEHICLE_REQUIREMENTS = Map.of(
-        "LIGHT",      List.of(DriverLicense.LicenseCategory.B),
-        "MEDIUM",     List.of(DriverLicense.LicenseCategory.C),
-        "HEAVY",      List.of(DriverLicense.LicenseCategory.CE),
-        "PASSENGER",  List.of(DriverLicense.LicenseCategory.D),
-        "TANKER",     List.of(DriverLicense.LicenseCategory.CE)
-    );
+    static final Duration REBUILD_INTERVAL = Duration.ofMinutes(30);
 
-    private static final Map<String, List<DriverCertification.CertificationType>> CERT_REQUIREMENTS = Map.of(
-        "TANKER",     List.of(DriverCertification.CertificationType.HAZMAT),
-        "PASSENGER",  List.of(DriverCertification.CertificationType.PASSENGER_TRANSPORT),
-        "HEAVY",      List.of(DriverCertification.CertificationType.HEAVY_VEHICLE)
-    );
+    private final Object rebuildLock = new Object();
+    private volatile Map<String, DriverCapabilities.Requirement> requirements;
+    private volatile Map<UUID, Long> capabilities = new ConcurrentHashMap<>();
+    private volatile LocalDate capabilitiesAsOf;
+    private volatile LocalDateTime capabilitiesBuiltAt;
+    // Drivers whose credentials changed since they were last compiled; recomputed together on the next read
+    private final Set<UUID> dirtyDrivers = ConcurrentHashMap.newKeySet();
 
     public QualificationCheckResponse checkQualification(UUID driverId, String vehicleCategory) {
-        String normalizedCategory = vehicleCategory == null ? "" : vehicleCategory.toUpperCase();
-        List<String> reasons = new ArrayList<>();
-
-        List<DriverLicense.LicenseCategory> requiredClasses =
-            VEHICLE_REQUIREMENTS.getOrDefault(normalizedCategory, List.of());
-        List<DriverLicense> licenses = licenseRepository.findByDriver_IdOrderByCreatedAtDesc(driverId);
-        boolean hasValidLicense = licenses.stream().anyMatch(l ->
-            requiredClasses.contains(l.getCategory()) && l.getStatus() == DriverLicense.LicenseStatus.VALID);
-        if (!hasValidLicense) reasons.add("No valid license of required category: " + requiredClasses);
-
-        List<DriverCertification.CertificationType> requiredCerts =
-            CERT_REQUIREMENTS.getOrDefault(normalizedCategory, List.of());
-        List<DriverCertification> certs = certRepository.findByDriver_IdOrderByCreatedAtDesc(driverId);
-        for (DriverCertification.CertificationType certType : requiredCerts) {
-            boolean hasCert = certs.stream().anyMatch(c ->
-                c.getCertType() == certType && c.getStatus() == DriverCertification.CertStatus.VALID);
-            if (!hasCert) reasons.add("Missing required certification: " + certType);
-        }
+        List<String> reasons = requirement(vehicleCategory).unmetReasons(capabilities(driverId));
 
         return QualificationCheckResponse.builder()
             .driverId(driverId)
@@ -60,4 +58,157 @@ public class DriverQualificationService {
             .reasons(reasons)
             .build();
     }
+
+    // Drivers holding every credential the category needs as of today
+    public List<UUID> findQualifiedDrivers(String vehicleCategory) {
+        DriverCapabilities.Requirement requirement = requirements().get(normalize(vehicleCategory));
+        if (requirement == null) {
+            throw new IllegalArgumentException("Unknown vehicle category: " + vehicleCategory);
+        }
+        List<UUID> qualified = new ArrayList<>();
+        capabilityIndex().forEach((driverId, bits) -> {
+            if (requirement.isMetBy(bits)) {
+                qualified.add(driverId);
+            }
+        });
+        return qualified;
+    }
+
+    public long capabilities(UUID driverId) {
+        return capabilityIndex().getOrDefault(driverId, 0L);
+    }
+
+    // Qualification rules over already-loaded licences and certifications, shared with batch eligibility checks
+    public List<String> qualificationReasons(String vehicleCategory, List<DriverLicense> licenses,
+                                             List<DriverCertification> certs) {
+        return requirement(vehicleCategory).unmetReasons(DriverCapabilities.of(licenses, certs, LocalDate.now()));
+    }
+
+    // Unknown categories get an empty requirement that no driver meets
+    public DriverCapabilities.Requirement requirement(String vehicleCategory) {
+        String category = normalize(vehicleCategory);
+        return requirements().getOrDefault(category, DriverCapabilities.Requirement.of(category, List.of(), List.of()));
+    }
+
+    // Licence classes accepted for a vehicle category; empty for unknown categories
+    public List<DriverLicense.LicenseCategory> requiredLicenseClasses(String vehicleCategory) {
+        return requirement(vehicleCategory).licenseClasses();
+    }
+
+    public List<DriverCertification.CertificationType> requiredCertifications(String vehicleCategory) {
+        return requirement(vehicleCategory).certTypes();
+    }
+
+    // Licence and certification writes publish this event; only mark the driver, so a burst of writes costs no
+    // queries here and the next read recomputes every marked driver with one query per table
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onCredentialsChanged(DriverCredentialsChangedEvent event) {
+        if (event.driverId() != null) {
+            dirtyDrivers.add(event.driverId());
+        }
+    }
+
+    private Map<UUID, Long> capabilityIndex() {
+        LocalDate today = LocalDate.now();
+        if (isStale(today) || !dirtyDrivers.isEmpty()) {
+            synchronized (rebuildLock) {
+                if (isStale(today)) {
+                    rebuild(today);
+                } else {
+                    recomputeDirty();
+                }
+            }
+        }
+        return capabilities;
+    }
+
+    private boolean isStale(LocalDate today) {
+        return capabilitiesBuiltAt == null || !today.equals(capabilitiesAsOf)
+            || capabilitiesBuiltAt.plus(REBUILD_INTERVAL).isBefore(LocalDateTime.now());
+    }
+
+    // Builds the whole index from the VALID licences and certifications and swaps it in. Marks are cleared before
+    // the tables are read, so a write either is visible to the rebuild or marks its driver again afterwards.
+    private void rebuild(LocalDate today) {
+        dirtyDrivers.clear();
+        Map<UUID, List<DriverLicense>> licenses = new HashMap<>();
+        for (DriverLicense license : licenseRepository.findByStatus(DriverLicense.LicenseStatus.VALID)) {
+            licenses.computeIfAbsent(license.getDriver().getId(), id -> new ArrayList<>()).add(license);
+        }
+        Map<UUID, List<DriverCertification>> certs = new HashMap<>();
+        for (DriverCertification cert : certRepository.findByStatus(DriverCertification.CertStatus.VALID)) {
+            certs.computeIfAbsent(cert.getDriver().getId(), id -> new ArrayList<>()).add(cert);
+        }
+        Map<UUID, Long> index = new ConcurrentHashMap<>();
+        licenses.forEach((driverId, driverLicenses) -> {
+            long bits = DriverCapabilities.of(driverLicenses, certs.getOrDefault(driverId, List.of()), today);
+            if (bits != 0) {
+                index.put(driverId, bits);
+            }
+        });
+        requirements = loadRequirements();
+        capabilities = index;
+        capabilitiesAsOf = today;
+        capabilitiesBuiltAt = LocalDateTime.now();
+    }
+
+    private void recomputeDirty() {
+        List<UUID> driverIds = new ArrayList<>(dirtyDrivers);
+        if (driverIds.isEmpty()) {
+            return;
+        }
+        dirtyDrivers.removeAll(driverIds);
+        Map<UUID, List<DriverLicense>> licenses = new HashMap<>();
+        for (DriverLicense license : licenseRepository.findByDriver_IdIn(driverIds)) {
+            licenses.computeIfAbsent(license.getDriver().getId(), id -> new ArrayList<>()).add(license);
+        }
+        Map<UUID, List<DriverCertification>> certs = new HashMap<>();
+        for (DriverCertification cert : certRepository.findByDriver_IdIn(driverIds)) {
+            certs.computeIfAbsent(cert.getDriver().getId(), id -> new ArrayList<>()).add(cert);
+        }
+        for (UUID driverId : driverIds) {
+            long bits = DriverCapabilities.of(licenses.getOrDefault(driverId, List.of()),
+                certs.getOrDefault(driverId, List.of()), capabilitiesAsOf);
+            if (bits == 0) {
+                capabilities.remove(driverId);
+            } else {
+                capabilities.put(driverId, bits);
+            }
+        }
+    }
+
+    private Map<String, DriverCapabilities.Requirement> requirements() {
+        Map<String, DriverCapabilities.Requirement> current = requirements;
+        if (current == null) {
+            synchronized (rebuildLock) {
+                if (requirements == null) {
+                    requirements = loadRequirements();
+                }
+                current = requirements;
+            }
+        }
+        return current;
+    }
+
+    private Map<String, DriverCapabilities.Requirement> loadRequirements() {
+        List<RequirementRow> rows = requirementRepository.findAll();
+        Map<String, DriverCapabilities.Requirement> compiled = new HashMap<>();
+        for (RequirementRow row : rows) {
+            try {
+                String category = normalize(row.vehicleCategory());
+                compiled.put(category, DriverCapabilities.Requirement.of(category,
+                    row.requiredClasses().stream().map(DriverLicense.LicenseCategory::valueOf).toList(),
+                    row.requiredCertTypes().stream().map(DriverCertification.CertificationType::valueOf).toList()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping vehicle category {} with an unknown licence class or certification: {}",
+                    row.vehicleCategory(), e.getMessage());
+            }
+        }
+        return Map.copyOf(compiled);
+    }
+
+    private static String normalize(String vehicleCategory) {
+        return vehicleCategory == null ? "" : vehicleCategory.trim().toUpperCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,9 @@
+package com.vfms.dsm.service;
+
+import java.util.UUID;
+
+// Published when a write changes an input to a driver's readiness other than a credential (licence documents,
+// availability, leave; licences and certifications publish DriverCredentialsChangedEvent). DriverReadinessRefreshQueue
+// recomputes the driver after the write commits
+public record DriverReadinessInvalidatedEvent(UUID driverId) {
+}
@@ -0,0 +1,175 @@
+package com.vfms.dsm.service;
+
+import com.vfms.trip.service.TripLifecycleEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps driver_readiness_cache current without making writes pay for the recompute. Readiness inputs (licences,
+// certifications, availability, leave, driver records and trip transitions) mark the driver dirty after their
+// transaction commits; a set de-duplicates repeated marks, and a drain on the async pool recomputes the dirty drivers
+// in set-based batches, with bursts coalesced into a single run. A driver is taken off the set before it is
+// recomputed, so a write that lands mid-refresh marks it dirty again. A failed batch goes back on the set and a kick
+// is scheduled after RETRY_DELAY, as is a kick the saturated pool rejected; the scheduled drain is the last fallback.
+// A batch is retried only MAX_ATTEMPTS times; after that its drivers are dropped and left to the full refresh, so one
+// driver whose row always fails cannot hold the queue forever.
+@Slf4j
+@Component
+public class DriverReadinessRefreshQueue {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_ATTEMPTS = 5;
+    static final Duration RETRY_DELAY = Duration.ofSeconds(2);
+
+    private final DriverReadinessService readinessService;
+    private final TaskExecutor taskExecutor;
+    private final TaskScheduler taskScheduler;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+
+    public DriverReadinessRefreshQueue(DriverReadinessService readinessService,
+                                       @Qualifier("taskExecutor") TaskExecutor taskExecutor,
+                                       TaskScheduler taskScheduler) {
+        this.readinessService = readinessService;
+        this.taskExecutor = taskExecutor;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadinessInvalidated(DriverReadinessInvalidatedEvent event) {
+        enqueue(event.driverId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(DriverCredentialsChangedEvent event) {
+        enqueue(event.driverId());
+    }
+
+    // New drivers get their cache row without waiting for the next sweep
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverChanged(DriverChangedEvent event) {
+        enqueue(event.driverId());
+    }
+
+    // Trip transitions arrive through the trip outbox, so a driver's ON_TRIP status follows trip starts, completions,
+    // cancellations and reassignments without waiting for the next full refresh
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripLifecycle(TripLifecycleEvent event) {
+        if (!event.statusChanged() && event.previousDriverId() == null) {
+            return;
+        }
+        enqueue(event.assignedDriverId());
+        enqueue(event.previousDriverId());
+    }
+
+    // Kicks even when the driver is already pending, so a driver left queued by a failed or rejected drain is picked
+    // up by the next write rather than only by the poll
+    public void enqueue(UUID driverId) {
+        if (driverId == null) {
+            return;
+        }
+        pending.add(driverId);
+        kick();
+    }
+
+    private void kick() {
+        if (pending.isEmpty() || !drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                drainQueued.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            // Pool is saturated; try again once it has had time to drain
+            drainQueued.set(false);
+            retryLater();
+        }
+    }
+
+    private void retryLater() {
+        if (!retryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        taskScheduler.schedule(() -> {
+            retryScheduled.set(false);
+            kick();
+        }, Instant.now().plus(RETRY_DELAY));
+    }
+
+    @Scheduled(fixedDelayString = "${driver.readiness.queue.poll-ms:5000}",
+            initialDelayString = "${driver.readiness.queue.poll-ms:5000}")
+    public void drain() {
+        drainLock.lock();
+        try {
+            while (!pending.isEmpty()) {
+                List<UUID> batch = take();
+                try {
+                    readinessService.refreshDrivers(batch);
+                    batch.forEach(failedAttempts::remove);
+                } catch (RuntimeException e) {
+                    // Put the batch back and retry after a delay rather than spinning on a failing database
+                    requeue(batch, e);
+                    retryLater();
+                    return;
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void requeue(List<UUID> batch, RuntimeException e) {
+        List<UUID> dropped = new ArrayList<>();
+        for (UUID driverId : batch) {
+            if (failedAttempts.merge(driverId, 1, Integer::sum) >= MAX_ATTEMPTS) {
+                failedAttempts.remove(driverId);
+                dropped.add(driverId);
+            } else {
+                pending.add(driverId);
+            }
+        }
+        if (dropped.isEmpty()) {
+            log.warn("Readiness refresh failed for {} drivers, will retry: {}", batch.size(), e.getMessage());
+        } else {
+            log.error("Readiness refresh failed {} times, dropping {} drivers until the next full refresh: {}",
+                    MAX_ATTEMPTS, dropped.size(), e.getMessage());
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private List<UUID> take() {
+        List<UUID> batch = new ArrayList<>(Math.min(BATCH_SIZE, pending.size()));
+        Iterator<UUID> it = pending.iterator();
+        while (it.hasNext() && batch.size() < BATCH_SIZE) {
+            UUID driverId = it.next();
+            it.remove();
+            batch.add(driverId);
+        }
+        return batch;
+    }
+}
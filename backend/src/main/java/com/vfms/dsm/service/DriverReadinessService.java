@@ -1,5 +1,6 @@
 package com.vfms.dsm.service;
 
+import com.vfms.dsm.dto.DriverReadinessResponse;
 import com.vfms.dsm.entity.Driver;
 import com.vfms.dsm.entity.DriverAvailability;
 import com.vfms.dsm.entity.DriverCertification;
@@ -9,15 +10,25 @@ import com.vfms.dsm.exception.ResourceNotFoundException;
 import com.vfms.dsm.repository.DriverAvailabilityRepository;
 import com.vfms.dsm.repository.DriverCertificationRepository;
 import com.vfms.dsm.repository.DriverLicenseRepository;
+import com.vfms.dsm.repository.DriverReadinessBulkRepository;
+import com.vfms.dsm.repository.DriverReadinessBulkRepository.ReadinessRow;
 import com.vfms.dsm.repository.DriverReadinessCacheRepository;
 import com.vfms.dsm.repository.DriverRepository;
 import com.vfms.trip.repository.TripRequestRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,32 +37,97 @@ import java.util.UUID;
 @Transactional
 public class DriverReadinessService {
 
+    // Drivers recomputed and committed per transaction by the scheduled refresh
+    static final int REFRESH_CHUNK_SIZE = 500;
+
+    // Listed cache rows older than this are queued for a refresh. The refreshAll sweep below runs every 30 minutes
+    // (scheduling is enabled in SchedulingConfig), so only rows it missed, e.g. after a failed sweep, reach this age
+    static final Duration STALE_AFTER = Duration.ofMinutes(60);
+
     private final DriverReadinessCacheRepository cacheRepository;
     private final DriverRepository driverRepository;
     private final DriverLicenseRepository licenseRepository;
     private final DriverCertificationRepository certRepository;
     private final DriverAvailabilityRepository availabilityRepository;
     private final TripRequestRepository tripRequestRepository;
+    private final DriverReadinessBulkRepository bulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DriverReadinessCache getReadiness(UUID driverId) {
         return cacheRepository.findById(driverId).orElseGet(() -> refreshForDriver(driverId));
     }
 
+    @Transactional(readOnly = true)
     public List<DriverReadinessCache> getAvailableReadyDrivers() {
-                return cacheRepository.findAllByOrderByLastRefreshedDesc().stream()
-                                .filter(DriverReadinessCache::isReady)
-                .toList();
+        return cacheRepository.findByLicenseValidTrueOrderByLastRefreshedDesc();
     }
 
-        public List<DriverReadinessCache> getAllReadiness() {
-                                return driverRepository.findAll(org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "createdAt")).stream()
-                                .map(driver -> cacheRepository.findById(driver.getId()).orElseGet(() -> refreshForDriver(driver.getId())))
-                                .toList();
-        }
+    // Lists readiness straight from the cache table. Drivers whose row is missing or older than STALE_AFTER are
+    // returned as they are and queued for a background refresh instead of being recomputed inside the request.
+    @Transactional(readOnly = true)
+    public Page<DriverReadinessResponse> getAllReadiness(Boolean ready,
+                                                         DriverAvailability.AvailabilityStatus availabilityStatus,
+                                                         Pageable pageable) {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(STALE_AFTER);
+        return bulkRepository.findListing(ready, availabilityStatus, pageable).map(row -> {
+            boolean stale = row.lastRefreshed() == null || row.lastRefreshed().isBefore(staleBefore);
+            if (stale) {
+                eventPublisher.publishEvent(new DriverReadinessInvalidatedEvent(row.driverId()));
+            }
+            return DriverReadinessResponse.builder()
+                    .driverId(row.driverId())
+                    .employeeId(row.employeeId())
+                    .fullName(row.fullName())
+                    .licenseValid(row.licenseValid())
+                    .allCertsValid(row.allCertsValid())
+                    .availabilityStatus(row.availabilityStatus())
+                    .ready(Boolean.TRUE.equals(row.licenseValid()))
+                    .lastRefreshed(row.lastRefreshed())
+                    .stale(stale)
+                    .build();
+        });
+    }
 
+    // Recomputes every driver with set-based SQL, one page of drivers per transaction, so the refresh never holds a
+    // fleet-wide transaction open. Returns the number of drivers refreshed.
     @Scheduled(cron = "0 */30 * * * *")
-    public void refreshAllReadiness() {
-        driverRepository.findAll().forEach(d -> refreshForDriver(d.getId()));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int refreshAllReadiness() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime refreshedAt = LocalDateTime.now();
+        UUID afterId = new UUID(0L, 0L);
+        int refreshed = 0;
+        while (true) {
+            UUID cursor = afterId;
+            List<ReadinessRow> page = transactionTemplate.execute(status -> {
+                List<ReadinessRow> rows = bulkRepository.computePage(cursor, REFRESH_CHUNK_SIZE, today);
+                if (!rows.isEmpty()) {
+                    bulkRepository.upsert(rows, refreshedAt);
+                }
+                return rows;
+            });
+            if (page == null || page.isEmpty()) {
+                return refreshed;
+            }
+            refreshed += page.size();
+            if (page.size() < REFRESH_CHUNK_SIZE) {
+                return refreshed;
+            }
+            afterId = page.get(page.size() - 1).driverId();
+        }
+    }
+
+    // Recomputes the given drivers in one set-based pass; used by the invalidation queue
+    public int refreshDrivers(Collection<UUID> driverIds) {
+        if (driverIds.isEmpty()) {
+            return 0;
+        }
+        List<ReadinessRow> rows = bulkRepository.computeForDrivers(driverIds, LocalDate.now());
+        if (!rows.isEmpty()) {
+            bulkRepository.upsert(rows, LocalDateTime.now());
+        }
+        return rows.size();
     }
 
     public DriverReadinessCache refreshForDriver(UUID driverId) {
@@ -7,6 +7,7 @@ import com.vfms.dsm.repository.DriverRepository;
 import com.vfms.dsm.exception.DuplicateResourceException;
 import com.vfms.dsm.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +19,7 @@ import java.util.UUID;
 public class DriverService {
     private final DriverRepository driverRepository;
     private final DriverMapper driverMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DriverResponse createDriver(DriverRequest request) {
         // Enforce uniqueness before mapping so the API returns a clear business-rule violation.
@@ -29,7 +31,9 @@ public class DriverService {
         if (driver == null) {
             throw new IllegalArgumentException("Failed to map driver request to entity");
         }
-        return driverMapper.toResponse(driverRepository.save(driver));
+        Driver saved = driverRepository.save(driver);
+        eventPublisher.publishEvent(new DriverChangedEvent(saved.getId()));
+        return driverMapper.toResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -58,7 +62,9 @@ public class DriverService {
         if (driver == null) {
             throw new IllegalArgumentException("Failed to update driver entity");
         }
-        return driverMapper.toResponse(driverRepository.save(driver));
+        Driver saved = driverRepository.save(driver);
+        eventPublisher.publishEvent(new DriverChangedEvent(saved.getId()));
+        return driverMapper.toResponse(saved);
     }
 
     public void deactivateDriver(UUID id) {
@@ -66,6 +72,7 @@ public class DriverService {
         // Deactivation is modeled as a status change instead of deleting historical records.
         driver.setStatus(Driver.DriverStatus.INACTIVE);
         driverRepository.save(driver);
+        eventPublisher.publishEvent(new DriverChangedEvent(id));
     }
 
     public void updateStatus(UUID id, Driver.DriverStatus status) {
@@ -73,6 +80,7 @@ public class DriverService {
         // This endpoint lets the UI switch a driver between allowed workflow states.
         driver.setStatus(status);
         driverRepository.save(driver);
+        eventPublisher.publishEvent(new DriverChangedEvent(id));
     }
 
     public Driver findById(UUID id) {
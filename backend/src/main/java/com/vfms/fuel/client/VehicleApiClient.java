@@ -1,22 +1,33 @@
 package com.vfms.fuel.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vfms.common.exception.ResourceNotFoundException;
 import com.vfms.fuel.dto.VehicleDetailDto;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class VehicleApiClient {
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    public VehicleApiClient(@Qualifier("vehicleApiRestTemplate") RestTemplate restTemplate,
+                            ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+    }
 
     @Value("${app.vehicle.api.base-url:http://localhost:8080/api/vehicles}")
     private String vehicleApiBaseUrl;
@@ -44,15 +55,43 @@ public class VehicleApiClient {
             if (status != null && !status.isBlank()) {
                 url += "?status=" + status;
             }
-
-            VehicleDetailDto[] vehicles = restTemplate.getForObject(url, VehicleDetailDto[].class);
-            return vehicles == null ? List.of() : List.of(vehicles);
-        } catch (RestClientException e) {
+            return readVehicles(url);
+        } catch (RestClientException | IllegalArgumentException e) {
             log.error("Error fetching all vehicles: {}", e.getMessage());
             throw new RuntimeException("Failed to fetch vehicle list", e);
         }
     }
 
+    /**
+     * Returns vehicles modified at or after {@code since}, including retired ones,
+     * so incremental consumers can both update and drop entries.
+     */
+    public List<VehicleDetailDto> getVehiclesUpdatedSince(LocalDateTime since) {
+        try {
+            return readVehicles(vehicleApiBaseUrl + "?updatedSince=" + since);
+        } catch (RestClientException | IllegalArgumentException e) {
+            log.error("Error fetching vehicles updated since {}: {}", since, e.getMessage());
+            throw new RuntimeException("Failed to fetch updated vehicles", e);
+        }
+    }
+
+    /**
+     * Fetches many vehicles in one call through the bulk endpoint.
+     */
+    public List<VehicleDetailDto> getVehiclesByIds(Collection<Long> vehicleIds) {
+        if (vehicleIds.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            String ids = vehicleIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            return readVehicles(vehicleApiBaseUrl + "/batch?ids=" + ids);
+        } catch (RestClientException | IllegalArgumentException e) {
+            log.error("Error fetching vehicles {}: {}", vehicleIds, e.getMessage());
+            throw new RuntimeException("Failed to fetch vehicle details in bulk", e);
+        }
+    }
+
     public boolean vehicleExists(Long vehicleId) {
         try {
             String url = vehicleApiBaseUrl + "/" + vehicleId;
@@ -64,17 +103,14 @@ public class VehicleApiClient {
         }
     }
 
-    public VehicleDetailDto getVehicleByPlate(String plateNumber) {
-        try {
-            return getAllVehicles(null).stream()
-                    .filter(vehicle -> vehicle.getPlateNumber().equalsIgnoreCase(plateNumber))
-                    .findFirst()
-                    .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found: " + plateNumber));
-        } catch (ResourceNotFoundException ex) {
-            throw ex;
-        } catch (Exception e) {
-            log.error("Error fetching vehicle by plate {}: {}", plateNumber, e.getMessage());
-            throw new RuntimeException("Failed to fetch vehicle by plate: " + plateNumber, e);
+    // List endpoints wrap payloads in ApiResponse, so the data node is unwrapped when present
+    private List<VehicleDetailDto> readVehicles(String url) {
+        JsonNode body = restTemplate.getForObject(url, JsonNode.class);
+        if (body == null) {
+            return List.of();
         }
+
+        JsonNode payload = body.has("data") ? body.get("data") : body;
+        return List.of(objectMapper.convertValue(payload, VehicleDetailDto[].class));
     }
 }
@@ -0,0 +1,107 @@
+package com.vfms.fuel.client;
+
+import com.vfms.fuel.dto.VehicleDetailCacheStats;
+import com.vfms.fuel.dto.VehicleDetailDto;
+import com.vfms.vehicle.VehicleChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived, size-bounded cache of vehicle details fetched from the vehicle API.
+ * Entries expire after the configured TTL and the least recently used entry is
+ * evicted once the cache is full, so real-time listings reuse recent lookups
+ * without serving stale odometer or status data for long.
+ */
+@Component
+public class VehicleDetailCache {
+
+    private final Duration ttl;
+    private final int maxSize;
+    private final LinkedHashMap<Long, CachedVehicle> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder fetchFailures = new LongAdder();
+
+    public VehicleDetailCache(
+            @Value("${app.vehicle.cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.vehicle.cache.max-size:1000}") int maxSize) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedVehicle> eldest) {
+                boolean evict = size() > VehicleDetailCache.this.maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the fresh entries among {@code vehicleIds}; absent keys are misses.
+     */
+    public synchronized Map<Long, VehicleDetailDto> getAllPresent(Collection<Long> vehicleIds) {
+        long now = System.nanoTime();
+        Map<Long, VehicleDetailDto> found = new HashMap<>();
+        for (Long vehicleId : vehicleIds) {
+            CachedVehicle cached = entries.get(vehicleId);
+            if (cached != null && cached.expiresAtNanos() > now) {
+                found.put(vehicleId, cached.vehicle());
+                hits.increment();
+            } else {
+                if (cached != null) {
+                    entries.remove(vehicleId);
+                }
+                misses.increment();
+            }
+        }
+        return found;
+    }
+
+    public synchronized void putAll(Collection<VehicleDetailDto> vehicles) {
+        long expiresAt = System.nanoTime() + ttl.toNanos();
+        for (VehicleDetailDto vehicle : vehicles) {
+            if (vehicle.getId() != null) {
+                entries.put(vehicle.getId(), new CachedVehicle(vehicle, expiresAt));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onVehicleChanged(VehicleChangedEvent event) {
+        entries.remove(event.vehicleId());
+    }
+
+    public void recordFetchFailure() {
+        fetchFailures.increment();
+    }
+
+    public synchronized VehicleDetailCacheStats stats() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return VehicleDetailCacheStats.builder()
+                .hits(hitCount)
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .fetchFailures(fetchFailures.sum())
+                .size(entries.size())
+                .maxSize(maxSize)
+                .hitRatio(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+                .build();
+    }
+
+    private record CachedVehicle(VehicleDetailDto vehicle, long expiresAtNanos) {
+    }
+}
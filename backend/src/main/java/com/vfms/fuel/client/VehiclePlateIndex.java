@@ -0,0 +1,202 @@
+package com.vfms.fuel.client;
+
+import com.vfms.common.exception.ResourceNotFoundException;
+import com.vfms.fuel.dto.VehicleDetailDto;
+import com.vfms.fuel.dto.VehiclePlateIndexStats;
+import com.vfms.vehicle.VehicleChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory plate number index over the vehicle API. The first lookup loads the
+ * full list once; afterwards only vehicles changed since the last seen
+ * {@code updatedAt} are pulled, in the background when the index is merely old
+ * and inline only when a lookup misses right after a vehicle was changed.
+ * Change events are counted, and a refresh only marks the index clean up to
+ * the count it saw before fetching, so a change that lands mid-refresh keeps
+ * the index dirty.
+ */
+@Slf4j
+@Component
+public class VehiclePlateIndex {
+
+    private final VehicleApiClient vehicleApiClient;
+    private final ThreadPoolTaskExecutor refreshExecutor;
+    private final Duration refreshInterval;
+
+    private final Map<String, VehicleDetailDto> vehiclesByPlate = new ConcurrentHashMap<>();
+    private final Map<Long, String> platesById = new ConcurrentHashMap<>();
+    private final AtomicBoolean backgroundRefreshRunning = new AtomicBoolean();
+
+    private final AtomicLong changeCount = new AtomicLong();
+
+    private volatile boolean loaded;
+    private volatile long cleanThroughChange;
+    private volatile LocalDateTime watermark;
+    private volatile long lastRefreshedAtMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder totalRefreshMillis = new LongAdder();
+    private volatile long lastRefreshMillis;
+    private volatile long lastRefreshRows;
+
+    public VehiclePlateIndex(
+            VehicleApiClient vehicleApiClient,
+            @Qualifier("vehicleLookupExecutor") ThreadPoolTaskExecutor refreshExecutor,
+            @Value("${app.vehicle.plate-index.refresh-interval-seconds:300}") long refreshIntervalSeconds) {
+        this.vehicleApiClient = vehicleApiClient;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshInterval = Duration.ofSeconds(refreshIntervalSeconds);
+    }
+
+    public VehicleDetailDto getVehicleByPlate(String plateNumber) {
+        if (!loaded) {
+            refresh();
+        } else if (isStale()) {
+            refreshInBackground();
+        }
+
+        String key = normalize(plateNumber);
+        VehicleDetailDto vehicle = vehiclesByPlate.get(key);
+        if (vehicle == null && isDirty()) {
+            refresh();
+            vehicle = vehiclesByPlate.get(key);
+        }
+
+        if (vehicle == null) {
+            misses.increment();
+            throw new ResourceNotFoundException("Vehicle not found: " + plateNumber);
+        }
+        hits.increment();
+        return vehicle;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        remove(event.vehicleId());
+        changeCount.incrementAndGet();
+    }
+
+    public VehiclePlateIndexStats stats() {
+        long refreshedAt = lastRefreshedAtMillis;
+        return VehiclePlateIndexStats.builder()
+                .size(vehiclesByPlate.size())
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .refreshCount(refreshCount.sum())
+                .refreshFailures(refreshFailures.sum())
+                .lastRefreshRows(lastRefreshRows)
+                .lastRefreshMillis(lastRefreshMillis)
+                .totalRefreshMillis(totalRefreshMillis.sum())
+                .stalenessSeconds(refreshedAt == 0 ? null : (System.currentTimeMillis() - refreshedAt) / 1000)
+                .build();
+    }
+
+    synchronized void refresh() {
+        long started = System.nanoTime();
+        long changesBeforeFetch = changeCount.get();
+        try {
+            boolean incremental = loaded && watermark != null;
+            List<VehicleDetailDto> changed = incremental
+                    ? vehicleApiClient.getVehiclesUpdatedSince(watermark)
+                    : vehicleApiClient.getAllVehicles(null);
+
+            LocalDateTime newWatermark = watermark;
+            for (VehicleDetailDto vehicle : changed) {
+                apply(vehicle);
+                if (vehicle.getUpdatedAt() != null
+                        && (newWatermark == null || vehicle.getUpdatedAt().isAfter(newWatermark))) {
+                    newWatermark = vehicle.getUpdatedAt();
+                }
+            }
+
+            watermark = newWatermark;
+            cleanThroughChange = changesBeforeFetch;
+            loaded = true;
+            lastRefreshedAtMillis = System.currentTimeMillis();
+            lastRefreshRows = changed.size();
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            log.warn("Vehicle plate index refresh failed: {}", e.getMessage());
+            if (!loaded) {
+                throw e;
+            }
+        } finally {
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+            lastRefreshMillis = elapsedMillis;
+            totalRefreshMillis.add(elapsedMillis);
+            refreshCount.increment();
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!backgroundRefreshRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    backgroundRefreshRunning.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            backgroundRefreshRunning.set(false);
+            throw e;
+        }
+    }
+
+    private boolean isDirty() {
+        return changeCount.get() != cleanThroughChange;
+    }
+
+    private boolean isStale() {
+        return isDirty() || System.currentTimeMillis() - lastRefreshedAtMillis > refreshInterval.toMillis();
+    }
+
+    private void apply(VehicleDetailDto vehicle) {
+        if (vehicle.getId() == null) {
+            return;
+        }
+        if ("RETIRED".equalsIgnoreCase(vehicle.getStatus()) || vehicle.getPlateNumber() == null) {
+            remove(vehicle.getId());
+            return;
+        }
+
+        String plate = normalize(vehicle.getPlateNumber());
+        String previousPlate = platesById.put(vehicle.getId(), plate);
+        if (previousPlate != null && !previousPlate.equals(plate)) {
+            vehiclesByPlate.remove(previousPlate);
+        }
+        vehiclesByPlate.put(plate, vehicle);
+    }
+
+    private void remove(Long vehicleId) {
+        String plate = platesById.remove(vehicleId);
+        if (plate != null) {
+            vehiclesByPlate.remove(plate);
+        }
+    }
+
+    private static String normalize(String plateNumber) {
+        return plateNumber == null ? "" : plateNumber.trim().toUpperCase(Locale.ROOT);
+    }
+}
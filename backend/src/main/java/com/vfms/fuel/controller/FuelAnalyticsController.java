@@ -0,0 +1,53 @@
+package com.vfms.fuel.controller;
+
+import com.vfms.fuel.dto.FuelDriverLitresResponse;
+import com.vfms.fuel.dto.FuelMonthlyTrendResponse;
+import com.vfms.fuel.dto.FuelVehicleEfficiencyResponse;
+import com.vfms.fuel.dto.FuelVehicleMonthlyCostResponse;
+import com.vfms.fuel.service.FuelAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/fuel/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class FuelAnalyticsController {
+
+    private final FuelAnalyticsService fuelAnalyticsService;
+
+    @GetMapping("/vehicle-monthly-cost")
+    public ResponseEntity<List<FuelVehicleMonthlyCostResponse>> getVehicleMonthlyCosts(
+            @RequestParam String from,
+            @RequestParam String to) {
+        return ResponseEntity.ok(fuelAnalyticsService.getVehicleMonthlyCosts(from, to));
+    }
+
+    @GetMapping("/driver-litres")
+    public ResponseEntity<List<FuelDriverLitresResponse>> getDriverLitres(
+            @RequestParam String from,
+            @RequestParam String to) {
+        return ResponseEntity.ok(fuelAnalyticsService.getDriverLitres(from, to));
+    }
+
+    @GetMapping("/vehicle-efficiency")
+    public ResponseEntity<List<FuelVehicleEfficiencyResponse>> getVehicleEfficiency(
+            @RequestParam String from,
+            @RequestParam String to) {
+        return ResponseEntity.ok(fuelAnalyticsService.getVehicleEfficiency(from, to));
+    }
+
+    @GetMapping("/monthly-trend")
+    public ResponseEntity<List<FuelMonthlyTrendResponse>> getMonthlyTrend(
+            @RequestParam String from,
+            @RequestParam String to) {
+        return ResponseEntity.ok(fuelAnalyticsService.getMonthlyTrend(from, to));
+    }
+}
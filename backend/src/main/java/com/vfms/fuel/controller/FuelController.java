@@ -1,10 +1,19 @@
 package com.vfms.fuel.controller;
 
+import com.vfms.fuel.client.VehicleDetailCache;
+import com.vfms.fuel.client.VehiclePlateIndex;
 import com.vfms.fuel.dto.CreateFuelRecordRequest;
 import com.vfms.fuel.dto.FuelFormMetadataResponse;
+import com.vfms.fuel.dto.FuelImportResult;
+import com.vfms.fuel.dto.FuelRecordPageResponse;
 import com.vfms.fuel.dto.FuelRecordResponse;
 import com.vfms.fuel.dto.PatchFuelRecordRequest;
+import com.vfms.fuel.dto.VehicleDetailCacheStats;
+import com.vfms.fuel.dto.VehiclePlateIndexStats;
+import com.vfms.fuel.service.FuelImportService;
+import com.vfms.fuel.service.FuelRecordStreamService;
 import com.vfms.fuel.service.FuelService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -24,8 +33,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,6 +47,10 @@ import java.util.UUID;
 public class FuelController {
 
     private final FuelService fuelService;
+    private final FuelRecordStreamService fuelRecordStreamService;
+    private final FuelImportService fuelImportService;
+    private final VehicleDetailCache vehicleDetailCache;
+    private final VehiclePlateIndex vehiclePlateIndex;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<FuelRecordResponse> createFuelRecord(
@@ -46,14 +61,34 @@ public class FuelController {
                 .body(fuelService.createFuelRecord(request, receipt, user));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<FuelImportResult> importFuelRecords(
+            @RequestPart("file") MultipartFile file,
+            @AuthenticationPrincipal UserDetails user) {
+        return ResponseEntity.ok(fuelImportService.importRecords(file, user));
+    }
+
     @GetMapping
     public ResponseEntity<List<FuelRecordResponse>> getAllRecords() {
         return ResponseEntity.ok(fuelService.getAllRecords());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<FuelRecordPageResponse> getRecordsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(fuelService.getRecordsPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllRecords(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        fuelRecordStreamService.writeAllRecords(response.getOutputStream());
+    }
+
     @GetMapping("/metadata")
-    public ResponseEntity<FuelFormMetadataResponse> getFormMetadata() {
-        return ResponseEntity.ok(fuelService.getFormMetadata());
+    public ResponseEntity<FuelFormMetadataResponse> getFormMetadata(WebRequest request) {
+        return fuelService.getFormMetadata().toResponse(request);
     }
 
     @GetMapping("/{id}")
@@ -71,13 +106,25 @@ public class FuelController {
         return ResponseEntity.ok(fuelService.getAllRecordsWithRealTimeData());
     }
 
-    @GetMapping("/search")
-    public ResponseEntity<List<FuelRecordResponse>> searchFuelRecords(
+    @GetMapping("/realtime/cache-stats")
+    public ResponseEntity<VehicleDetailCacheStats> getVehicleCacheStats() {
+        return ResponseEntity.ok(vehicleDetailCache.stats());
+    }
+
+    @GetMapping("/realtime/plate-index-stats")
+    public ResponseEntity<VehiclePlateIndexStats> getPlateIndexStats() {
+        return ResponseEntity.ok(vehiclePlateIndex.stats());
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void searchFuelRecords(
             @RequestParam String from,
             @RequestParam String to,
             @RequestParam(required = false) Long vehicleId,
-            @RequestParam(required = false) UUID driverId) {
-        return ResponseEntity.ok(fuelService.getByDateRange(from, to, vehicleId, driverId));
+            @RequestParam(required = false) UUID driverId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        fuelRecordStreamService.writeByDateRange(from, to, vehicleId, driverId, response.getOutputStream());
     }
 
     @GetMapping("/vehicle/{vehicleId}")
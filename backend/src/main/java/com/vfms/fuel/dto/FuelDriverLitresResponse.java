@@ -0,0 +1,17 @@
+package com.vfms.fuel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+public class FuelDriverLitresResponse {
+    private UUID driverId;
+    private String driverName;
+    private BigDecimal totalLitres;
+    private BigDecimal totalCost;
+    private long recordCount;
+}
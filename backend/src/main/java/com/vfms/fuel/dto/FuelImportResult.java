@@ -0,0 +1,16 @@
+package com.vfms.fuel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class FuelImportResult {
+    private int totalRows;
+    private int imported;
+    private int flagged;
+    private int failed;
+    private List<FuelImportRowError> errors;
+}
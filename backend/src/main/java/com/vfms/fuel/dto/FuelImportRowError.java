@@ -0,0 +1,13 @@
+package com.vfms.fuel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FuelImportRowError {
+    private int rowNumber;
+    private String message;
+}
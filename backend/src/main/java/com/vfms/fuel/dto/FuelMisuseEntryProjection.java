@@ -0,0 +1,12 @@
+package com.vfms.fuel.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface FuelMisuseEntryProjection {
+    UUID getId();
+    LocalDate getFuelDate();
+    LocalDateTime getCreatedAt();
+    Double getOdometerReading();
+}
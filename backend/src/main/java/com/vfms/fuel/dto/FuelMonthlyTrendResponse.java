@@ -0,0 +1,20 @@
+package com.vfms.fuel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@Builder
+public class FuelMonthlyTrendResponse {
+    private YearMonth month;
+    private BigDecimal totalCost;
+    private BigDecimal totalLitres;
+    private long recordCount;
+    private long flaggedCount;
+    private double flaggedRatio;
+    private Double averageKmPerLitre;
+    private BigDecimal costChange;
+}
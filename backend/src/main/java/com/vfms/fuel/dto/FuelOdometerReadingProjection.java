@@ -0,0 +1,6 @@
+package com.vfms.fuel.dto;
+
+public interface FuelOdometerReadingProjection {
+    Long getVehicleId();
+    Double getOdometerReading();
+}
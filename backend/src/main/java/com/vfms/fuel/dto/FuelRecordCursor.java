@@ -0,0 +1,53 @@
+package com.vfms.fuel.dto;
+
+import com.vfms.common.exception.ValidationException;
+import com.vfms.fuel.entity.FuelRecord;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Keyset position in the (fuel_date DESC, created_at DESC, id DESC) ordering,
+ * encoded as a URL-safe token so clients never build it themselves.
+ */
+@Getter
+@AllArgsConstructor
+public class FuelRecordCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate fuelDate;
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public static FuelRecordCursor of(FuelRecord record) {
+        return new FuelRecordCursor(record.getFuelDate(), record.getCreatedAt(), record.getId());
+    }
+
+    public static FuelRecordCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected cursor shape");
+            }
+            return new FuelRecordCursor(
+                    LocalDate.parse(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new ValidationException("Invalid page cursor.", ex);
+        }
+    }
+
+    public String encode() {
+        String raw = fuelDate + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
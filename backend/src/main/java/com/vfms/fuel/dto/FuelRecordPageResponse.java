@@ -0,0 +1,18 @@
+package com.vfms.fuel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page of fuel records. {@code nextCursor} is opaque to clients and
+ * is passed back unchanged to fetch the following page.
+ */
+@Data
+@Builder
+public class FuelRecordPageResponse {
+    private List<FuelRecordResponse> records;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,16 @@
+package com.vfms.fuel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class FuelVehicleEfficiencyResponse {
+    private Long vehicleId;
+    private String vehiclePlate;
+    private Double totalDistance;
+    private BigDecimal measuredLitres;
+    private Double averageKmPerLitre;
+}
@@ -0,0 +1,18 @@
+package com.vfms.fuel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@Builder
+public class FuelVehicleMonthlyCostResponse {
+    private Long vehicleId;
+    private String vehiclePlate;
+    private YearMonth month;
+    private BigDecimal totalCost;
+    private BigDecimal totalLitres;
+    private long recordCount;
+}
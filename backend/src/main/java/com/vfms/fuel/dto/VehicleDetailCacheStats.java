@@ -0,0 +1,16 @@
+package com.vfms.fuel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class VehicleDetailCacheStats {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long fetchFailures;
+    private int size;
+    private int maxSize;
+    private double hitRatio;
+}
@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * ═══════════════════════════════════════════════════════════════════════════
@@ -47,6 +48,7 @@ public class VehicleDetailDto {
     
     /** Vehicle license plate number (e.g., "ABC-1234") - maps to plate_number column */
     @JsonProperty("plate_number")
+    @JsonAlias("plateNumber")
     private String plateNumber;
     
     // ── VEHICLE CHARACTERISTICS ──────────────────────────────────────────
@@ -66,6 +68,7 @@ public class VehicleDetailDto {
     
     /** Type of vehicle (e.g., "SEDAN", "SUV", "TRUCK") - maps to vehicle_type column */
     @JsonProperty("vehicle_type")
+    @JsonAlias("vehicleType")
     private String vehicleType;
     
     // ── OPERATIONAL STATUS ────────────────────────────────────────────────
@@ -78,17 +81,25 @@ public class VehicleDetailDto {
     
     /** Current fuel level in liters/tank percentage - maps to fuel_level column */
     @JsonProperty("fuel_level")
+    @JsonAlias("fuelLevel")
     private BigDecimal fuelLevel;
     
     /** Current odometer reading in kilometers - maps to odometer_reading column */
     @JsonProperty("odometer_reading")
+    @JsonAlias("odometerReading")
     private Double odometerReading;
     
     // ── MAINTENANCE TRACKING ────────────────────────────────────────────
     
     /** Date of last service/maintenance - maps to last_service_date column */
     @JsonProperty("last_service_date")
+    @JsonAlias("lastServiceDate")
     private String lastServiceDate;
+
+    /** Last modification time, used as the watermark for incremental index refreshes - maps to updated_at column */
+    @JsonProperty("updated_at")
+    @JsonAlias("updatedAt")
+    private LocalDateTime updatedAt;
     
     // ═══════════════════════════════════════════════════════════════════════
     // COMPUTED/HELPER METHODS - For convenient data formatting
@@ -0,0 +1,18 @@
+package com.vfms.fuel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class VehiclePlateIndexStats {
+    private int size;
+    private long hits;
+    private long misses;
+    private long refreshCount;
+    private long refreshFailures;
+    private long lastRefreshRows;
+    private long lastRefreshMillis;
+    private long totalRefreshMillis;
+    private Long stalenessSeconds;
+}
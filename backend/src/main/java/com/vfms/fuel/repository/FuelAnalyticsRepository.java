@@ -0,0 +1,159 @@
+package com.vfms.fuel.repository;
+
+import com.vfms.fuel.dto.FuelDriverLitresResponse;
+import com.vfms.fuel.dto.FuelVehicleEfficiencyResponse;
+import com.vfms.fuel.dto.FuelVehicleMonthlyCostResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aggregate queries over {@code fuel_records}. Grouping, month bucketing and
+ * the odometer deltas behind km/L all run in PostgreSQL so only one compact
+ * row per group crosses the wire.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FuelAnalyticsRepository {
+
+    /**
+     * Entries in {@code [from, toExclusive)} with the distance since the
+     * vehicle's previous entry. Only the range is scanned; the first entry of
+     * each vehicle takes its previous reading from the latest entry before
+     * {@code from}, a single index lookup on idx_fuel_records_vehicle_date.
+     * Parameters: from, toExclusive, from.
+     */
+    private static final String ORDERED_ENTRIES = """
+            WITH in_range AS (
+                SELECT f.vehicle_id, f.fuel_date, f.created_at, f.quantity, f.total_cost, f.flagged_for_misuse,
+                       f.odometer_reading
+                FROM fuel_records f
+                WHERE f.fuel_date >= ? AND f.fuel_date < ?
+            ),
+            ordered AS (
+                SELECT r.vehicle_id, r.fuel_date, r.quantity, r.total_cost, r.flagged_for_misuse,
+                       r.odometer_reading - CASE
+                           WHEN ROW_NUMBER() OVER w = 1 THEN (
+                               SELECT p.odometer_reading FROM fuel_records p
+                               WHERE p.vehicle_id = r.vehicle_id AND p.fuel_date < ?
+                               ORDER BY p.fuel_date DESC, p.created_at DESC
+                               LIMIT 1)
+                           ELSE LAG(r.odometer_reading) OVER w
+                       END AS distance
+                FROM in_range r
+                WINDOW w AS (PARTITION BY r.vehicle_id ORDER BY r.fuel_date, r.created_at)
+            )
+            """;
+
+    private static final String VEHICLE_MONTHLY_COST_SQL = """
+            SELECT f.vehicle_id, v.plate_number,
+                   CAST(date_trunc('month', f.fuel_date) AS date) AS month,
+                   SUM(f.total_cost) AS total_cost,
+                   SUM(f.quantity) AS total_litres,
+                   COUNT(*) AS record_count
+            FROM fuel_records f
+            JOIN vehicles v ON v.id = f.vehicle_id
+            WHERE f.fuel_date >= ? AND f.fuel_date < ?
+            GROUP BY f.vehicle_id, v.plate_number, date_trunc('month', f.fuel_date)
+            ORDER BY month, f.vehicle_id
+            """;
+
+    private static final String DRIVER_LITRES_SQL = """
+            SELECT f.driver_id, d.full_name,
+                   SUM(f.quantity) AS total_litres,
+                   SUM(f.total_cost) AS total_cost,
+                   COUNT(*) AS record_count
+            FROM fuel_records f
+            JOIN drivers d ON d.id = f.driver_id
+            WHERE f.fuel_date >= ? AND f.fuel_date < ?
+            GROUP BY f.driver_id, d.full_name
+            ORDER BY total_litres DESC
+            """;
+
+    private static final String VEHICLE_EFFICIENCY_SQL = ORDERED_ENTRIES + """
+            SELECT o.vehicle_id, v.plate_number,
+                   SUM(o.distance) FILTER (WHERE o.distance > 0) AS total_distance,
+                   SUM(o.quantity) FILTER (WHERE o.distance > 0) AS measured_litres,
+                   SUM(o.distance) FILTER (WHERE o.distance > 0)
+                       / NULLIF(SUM(o.quantity) FILTER (WHERE o.distance > 0), 0) AS avg_km_per_litre
+            FROM ordered o
+            JOIN vehicles v ON v.id = o.vehicle_id
+            GROUP BY o.vehicle_id, v.plate_number
+            ORDER BY o.vehicle_id
+            """;
+
+    private static final String MONTHLY_TOTALS_SQL = ORDERED_ENTRIES + """
+            SELECT CAST(date_trunc('month', o.fuel_date) AS date) AS month,
+                   SUM(o.total_cost) AS total_cost,
+                   SUM(o.quantity) AS total_litres,
+                   COUNT(*) AS record_count,
+                   COUNT(*) FILTER (WHERE o.flagged_for_misuse) AS flagged_count,
+                   SUM(o.distance) FILTER (WHERE o.distance > 0)
+                       / NULLIF(SUM(o.quantity) FILTER (WHERE o.distance > 0), 0) AS avg_km_per_litre
+            FROM ordered o
+            GROUP BY date_trunc('month', o.fuel_date)
+            ORDER BY month
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<FuelVehicleMonthlyCostResponse> findVehicleMonthlyCosts(LocalDate from, LocalDate toExclusive) {
+        return jdbcTemplate.query(VEHICLE_MONTHLY_COST_SQL, (rs, rowNum) -> FuelVehicleMonthlyCostResponse.builder()
+                .vehicleId(rs.getLong("vehicle_id"))
+                .vehiclePlate(rs.getString("plate_number"))
+                .month(YearMonth.from(rs.getObject("month", LocalDate.class)))
+                .totalCost(rs.getBigDecimal("total_cost"))
+                .totalLitres(rs.getBigDecimal("total_litres"))
+                .recordCount(rs.getLong("record_count"))
+                .build(), from, toExclusive);
+    }
+
+    public List<FuelDriverLitresResponse> findDriverLitres(LocalDate from, LocalDate toExclusive) {
+        return jdbcTemplate.query(DRIVER_LITRES_SQL, (rs, rowNum) -> FuelDriverLitresResponse.builder()
+                .driverId(rs.getObject("driver_id", UUID.class))
+                .driverName(rs.getString("full_name"))
+                .totalLitres(rs.getBigDecimal("total_litres"))
+                .totalCost(rs.getBigDecimal("total_cost"))
+                .recordCount(rs.getLong("record_count"))
+                .build(), from, toExclusive);
+    }
+
+    public List<FuelVehicleEfficiencyResponse> findVehicleEfficiency(LocalDate from, LocalDate toExclusive) {
+        return jdbcTemplate.query(VEHICLE_EFFICIENCY_SQL, (rs, rowNum) -> FuelVehicleEfficiencyResponse.builder()
+                .vehicleId(rs.getLong("vehicle_id"))
+                .vehiclePlate(rs.getString("plate_number"))
+                .totalDistance(rs.getObject("total_distance", Double.class))
+                .measuredLitres(rs.getBigDecimal("measured_litres"))
+                .averageKmPerLitre(rs.getObject("avg_km_per_litre", Double.class))
+                .build(), from, toExclusive, from);
+    }
+
+    public List<MonthlyTotals> findMonthlyTotals(LocalDate from, LocalDate toExclusive) {
+        return jdbcTemplate.query(MONTHLY_TOTALS_SQL, (rs, rowNum) -> new MonthlyTotals(
+                YearMonth.from(rs.getObject("month", LocalDate.class)),
+                rs.getBigDecimal("total_cost"),
+                rs.getBigDecimal("total_litres"),
+                rs.getLong("record_count"),
+                rs.getLong("flagged_count"),
+                rs.getObject("avg_km_per_litre", Double.class)), from, toExclusive, from);
+    }
+
+    public record MonthlyTotals(
+            YearMonth month,
+            BigDecimal totalCost,
+            BigDecimal totalLitres,
+            long recordCount,
+            long flaggedCount,
+            Double averageKmPerLitre) {
+
+        public static MonthlyTotals empty(YearMonth month) {
+            return new MonthlyTotals(month, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, null);
+        }
+    }
+}
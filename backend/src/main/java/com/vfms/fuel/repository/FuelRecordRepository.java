@@ -1,68 +1,152 @@
 package com.vfms.fuel.repository;
 
+import com.vfms.fuel.dto.FuelMisuseEntryProjection;
+import com.vfms.fuel.dto.FuelOdometerReadingProjection;
 import com.vfms.fuel.entity.FuelRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface FuelRecordRepository extends JpaRepository<FuelRecord, UUID> {
 
-    List<FuelRecord> findByVehicleIdOrderByFuelDateDesc(Long vehicleId);
+    /*
+     * Listing queries order by the full (fuel_date, created_at) key so they
+     * match idx_fuel_records_vehicle_date, idx_fuel_records_driver_date and
+     * idx_fuel_records_date_created (V18) and read rows in index order.
+     */
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle v LEFT JOIN FETCH f.driver " +
+           "WHERE v.id = :vehicleId ORDER BY f.fuelDate DESC, f.createdAt DESC")
+    List<FuelRecord> findVehicleHistory(@Param("vehicleId") Long vehicleId);
 
-    List<FuelRecord> findByDriverIdOrderByFuelDateDesc(UUID driverId);
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle JOIN FETCH f.driver d " +
+           "WHERE d.id = :driverId ORDER BY f.fuelDate DESC, f.createdAt DESC")
+    List<FuelRecord> findDriverHistory(@Param("driverId") UUID driverId);
 
-    List<FuelRecord> findAllByOrderByFuelDateDesc();
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle LEFT JOIN FETCH f.driver " +
+           "ORDER BY f.fuelDate DESC, f.createdAt DESC, f.id DESC")
+    List<FuelRecord> findAllNewestFirst();
 
-    @Query("SELECT f FROM FuelRecord f WHERE f.vehicle.id = :vehicleId " +
-           "AND f.fuelDate BETWEEN :from AND :to ORDER BY f.fuelDate ASC")
-    List<FuelRecord> findByVehicleAndDateRange(
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle LEFT JOIN FETCH f.driver " +
+           "ORDER BY f.fuelDate DESC, f.createdAt DESC, f.id DESC")
+    List<FuelRecord> findFirstPage(Limit limit);
+
+    // Row-value comparison lets PostgreSQL start an index range scan on idx_fuel_records_date_created.
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle LEFT JOIN FETCH f.driver " +
+           "WHERE (f.fuelDate, f.createdAt, f.id) < (:fuelDate, :createdAt, :id) " +
+           "ORDER BY f.fuelDate DESC, f.createdAt DESC, f.id DESC")
+    List<FuelRecord> findPageAfter(
+            @Param("fuelDate") LocalDate fuelDate,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    // Forward-only cursor for NDJSON export; must be consumed inside a transaction.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle LEFT JOIN FETCH f.driver " +
+           "ORDER BY f.fuelDate DESC, f.createdAt DESC, f.id DESC")
+    Stream<FuelRecord> streamAllForExport();
+
+    /*
+     * Efficiency timelines are read in keyset pages in (fuel_date, created_at,
+     * id) order, along idx_fuel_records_date_created, so the range is written
+     * out in response order while distance and km/L are derived from a running
+     * per-vehicle reading. Each page continues after the last row of the
+     * previous one, so pages can be read in separate short transactions.
+     * Vehicle and driver are fetched with the row to avoid lazy loads while
+     * mapping responses.
+     */
+    String AFTER_TIMELINE_KEY = "AND (f.fuelDate > :afterDate OR (f.fuelDate = :afterDate " +
+            "AND (f.createdAt > :afterCreatedAt OR (f.createdAt = :afterCreatedAt AND f.id > :afterId)))) ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle v LEFT JOIN FETCH f.driver " +
+           "WHERE v.id = :vehicleId AND f.fuelDate BETWEEN :from AND :to " + AFTER_TIMELINE_KEY +
+           "ORDER BY f.fuelDate ASC, f.createdAt ASC, f.id ASC")
+    List<FuelRecord> findVehicleTimelinePage(
             @Param("vehicleId") Long vehicleId,
             @Param("from") LocalDate from,
-            @Param("to") LocalDate to);
+            @Param("to") LocalDate to,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle v LEFT JOIN FETCH f.driver " +
+           "WHERE f.fuelDate BETWEEN :from AND :to " + AFTER_TIMELINE_KEY +
+           "ORDER BY f.fuelDate ASC, f.createdAt ASC, f.id ASC")
+    List<FuelRecord> findFleetTimelinePage(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle v LEFT JOIN FETCH f.driver " +
+           "WHERE f.fuelDate BETWEEN :from AND :to " +
+           "AND v.id IN (SELECT d.vehicle.id FROM FuelRecord d WHERE d.driver.id = :driverId " +
+           "AND d.fuelDate BETWEEN :from AND :to) " + AFTER_TIMELINE_KEY +
+           "ORDER BY f.fuelDate ASC, f.createdAt ASC, f.id ASC")
+    List<FuelRecord> findDriverVehiclesTimelinePage(
+            @Param("driverId") UUID driverId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Limit limit);
 
-    @Query("SELECT f FROM FuelRecord f WHERE f.fuelDate BETWEEN :from AND :to " +
-           "ORDER BY f.fuelDate ASC")
-    List<FuelRecord> findByDateRange(
+    // Vehicles a timeline will visit, so their preceding readings can be loaded before the first page
+    @Query("SELECT DISTINCT f.vehicle.id FROM FuelRecord f WHERE f.fuelDate BETWEEN :from AND :to")
+    List<Long> findVehicleIdsFueledBetween(
             @Param("from") LocalDate from,
             @Param("to") LocalDate to);
 
-    @Query("SELECT f FROM FuelRecord f WHERE f.driver.id = :driverId " +
-           "AND f.fuelDate BETWEEN :from AND :to ORDER BY f.fuelDate ASC")
-    List<FuelRecord> findByDriverAndDateRange(
+    @Query("SELECT DISTINCT f.vehicle.id FROM FuelRecord f " +
+           "WHERE f.driver.id = :driverId AND f.fuelDate BETWEEN :from AND :to")
+    List<Long> findVehicleIdsFueledByDriver(
             @Param("driverId") UUID driverId,
             @Param("from") LocalDate from,
             @Param("to") LocalDate to);
 
-    @Query("SELECT f FROM FuelRecord f WHERE f.vehicle.id = :vehicleId " +
+    // Latest reading strictly before the range start for each vehicle; ties on
+    // the same date are returned oldest first so the last row per vehicle wins.
+    @Query("SELECT f.vehicle.id AS vehicleId, f.odometerReading AS odometerReading FROM FuelRecord f " +
+           "WHERE f.vehicle.id IN :vehicleIds AND f.fuelDate = (" +
+           "SELECT MAX(p.fuelDate) FROM FuelRecord p WHERE p.vehicle.id = f.vehicle.id AND p.fuelDate < :from) " +
+           "ORDER BY f.vehicle.id ASC, f.createdAt ASC")
+    List<FuelOdometerReadingProjection> findPrecedingReadings(
+            @Param("vehicleIds") Collection<Long> vehicleIds,
+            @Param("from") LocalDate from);
+
+    @Query("SELECT f.id AS id, f.fuelDate AS fuelDate, f.createdAt AS createdAt, " +
+           "f.odometerReading AS odometerReading FROM FuelRecord f WHERE f.vehicle.id = :vehicleId " +
            "ORDER BY f.fuelDate DESC, f.createdAt DESC")
-    List<FuelRecord> findLatestByVehicle(@Param("vehicleId") Long vehicleId);
+    List<FuelMisuseEntryProjection> findLatestEntriesByVehicle(@Param("vehicleId") Long vehicleId, Limit limit);
 
-    @Query("SELECT COUNT(f) FROM FuelRecord f WHERE f.vehicle.id = :vehicleId " +
-           "AND f.fuelDate = :date")
-    long countByVehicleAndDate(
+    @Query("SELECT f.id FROM FuelRecord f WHERE f.vehicle.id = :vehicleId AND f.fuelDate = :date")
+    List<UUID> findIdsByVehicleAndDate(
             @Param("vehicleId") Long vehicleId,
             @Param("date") LocalDate date);
 
-    @Query("SELECT COUNT(f) FROM FuelRecord f WHERE f.vehicle.id = :vehicleId " +
-           "AND f.fuelDate = :date AND f.id <> :excludeId")
-    long countByVehicleAndDateExcluding(
-            @Param("vehicleId") Long vehicleId,
-            @Param("date") LocalDate date,
-            @Param("excludeId") UUID excludeId);
-
-    @Query("SELECT f FROM FuelRecord f WHERE f.vehicle.id = :vehicleId " +
-           "AND f.id <> :excludeId ORDER BY f.fuelDate DESC, f.createdAt DESC")
-    List<FuelRecord> findLatestByVehicleExcluding(
-            @Param("vehicleId") Long vehicleId,
-            @Param("excludeId") UUID excludeId);
-
-    List<FuelRecord> findByFlaggedForMisuseTrue();
-
-    @Query("SELECT f FROM FuelRecord f WHERE f.flaggedForMisuse = true " +
-           "ORDER BY f.fuelDate DESC")
+    // Served by the partial index idx_fuel_records_flagged.
+    @Query("SELECT f FROM FuelRecord f JOIN FETCH f.vehicle LEFT JOIN FETCH f.driver " +
+           "WHERE f.flaggedForMisuse = true ORDER BY f.fuelDate DESC, f.createdAt DESC")
     List<FuelRecord> findAllFlaggedRecords();
 }
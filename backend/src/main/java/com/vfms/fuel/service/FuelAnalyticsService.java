@@ -0,0 +1,133 @@
+package com.vfms.fuel.service;
+
+import com.vfms.common.exception.ValidationException;
+import com.vfms.fuel.dto.FuelDriverLitresResponse;
+import com.vfms.fuel.dto.FuelMonthlyTrendResponse;
+import com.vfms.fuel.dto.FuelVehicleEfficiencyResponse;
+import com.vfms.fuel.dto.FuelVehicleMonthlyCostResponse;
+import com.vfms.fuel.repository.FuelAnalyticsRepository;
+import com.vfms.fuel.repository.FuelAnalyticsRepository.MonthlyTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only fleet fuel reporting. All grouping is done by
+ * {@link FuelAnalyticsRepository}; this service only validates ranges and
+ * serves closed-month totals from {@link FuelMonthlyTotalsCache}.
+ */
+@Service
+@RequiredArgsConstructor
+public class FuelAnalyticsService {
+
+    private static final int MAX_TREND_MONTHS = 60;
+
+    private final FuelAnalyticsRepository fuelAnalyticsRepository;
+    private final FuelMonthlyTotalsCache fuelMonthlyTotalsCache;
+
+    public List<FuelVehicleMonthlyCostResponse> getVehicleMonthlyCosts(String from, String to) {
+        LocalDate fromDate = parseDate(from, "from");
+        LocalDate toDate = parseDate(to, "to");
+        validateRange(fromDate, toDate);
+        return fuelAnalyticsRepository.findVehicleMonthlyCosts(fromDate, toDate.plusDays(1));
+    }
+
+    public List<FuelDriverLitresResponse> getDriverLitres(String from, String to) {
+        LocalDate fromDate = parseDate(from, "from");
+        LocalDate toDate = parseDate(to, "to");
+        validateRange(fromDate, toDate);
+        return fuelAnalyticsRepository.findDriverLitres(fromDate, toDate.plusDays(1));
+    }
+
+    public List<FuelVehicleEfficiencyResponse> getVehicleEfficiency(String from, String to) {
+        LocalDate fromDate = parseDate(from, "from");
+        LocalDate toDate = parseDate(to, "to");
+        validateRange(fromDate, toDate);
+        return fuelAnalyticsRepository.findVehicleEfficiency(fromDate, toDate.plusDays(1));
+    }
+
+    /**
+     * Month-by-month totals with flagged ratio, km/L and the cost change from
+     * the previous month. Cached closed months are reused and only the
+     * uncached span is aggregated in a single query.
+     */
+    public List<FuelMonthlyTrendResponse> getMonthlyTrend(String from, String to) {
+        YearMonth fromMonth = YearMonth.from(parseDate(from, "from"));
+        YearMonth toMonth = YearMonth.from(parseDate(to, "to"));
+        if (fromMonth.isAfter(toMonth)) {
+            throw new ValidationException("'from' must not be after 'to'.");
+        }
+        if (fromMonth.plusMonths(MAX_TREND_MONTHS).isBefore(toMonth)) {
+            throw new ValidationException("Trend range must not exceed " + MAX_TREND_MONTHS + " months.");
+        }
+
+        Map<YearMonth, MonthlyTotals> totals = new HashMap<>();
+        YearMonth firstMissing = null;
+        YearMonth lastMissing = null;
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            MonthlyTotals cached = fuelMonthlyTotalsCache.get(month);
+            if (cached != null) {
+                totals.put(month, cached);
+            } else {
+                firstMissing = firstMissing == null ? month : firstMissing;
+                lastMissing = month;
+            }
+        }
+
+        if (firstMissing != null) {
+            long generation = fuelMonthlyTotalsCache.generation();
+            Map<YearMonth, MonthlyTotals> loaded = new HashMap<>();
+            fuelAnalyticsRepository.findMonthlyTotals(firstMissing.atDay(1), lastMissing.plusMonths(1).atDay(1))
+                    .forEach(row -> loaded.put(row.month(), row));
+            for (YearMonth month = firstMissing; !month.isAfter(lastMissing); month = month.plusMonths(1)) {
+                if (!totals.containsKey(month)) {
+                    MonthlyTotals row = loaded.getOrDefault(month, MonthlyTotals.empty(month));
+                    fuelMonthlyTotalsCache.put(row, generation);
+                    totals.put(month, row);
+                }
+            }
+        }
+
+        List<FuelMonthlyTrendResponse> trend = new ArrayList<>();
+        MonthlyTotals previous = null;
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            MonthlyTotals row = totals.get(month);
+            trend.add(FuelMonthlyTrendResponse.builder()
+                    .month(month)
+                    .totalCost(row.totalCost())
+                    .totalLitres(row.totalLitres())
+                    .recordCount(row.recordCount())
+                    .flaggedCount(row.flaggedCount())
+                    .flaggedRatio(row.recordCount() == 0 ? 0.0 : (double) row.flaggedCount() / row.recordCount())
+                    .averageKmPerLitre(row.averageKmPerLitre())
+                    .costChange(previous == null ? null : row.totalCost().subtract(previous.totalCost()))
+                    .build());
+            previous = row;
+        }
+        return trend;
+    }
+
+    private LocalDate parseDate(String value, String name) {
+        if (value == null) {
+            throw new ValidationException("'" + name + "' is required.");
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException("'" + name + "' must be a date in yyyy-MM-dd format.");
+        }
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'.");
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.vfms.fuel.service;
+
+import com.vfms.common.exception.ValidationException;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streams the rows of an uploaded CSV or XLSX fuel-card export one at a time.
+ * XLSX sheets are read with POI's SAX event API so the worksheet is never
+ * materialised as a DOM. Header names are normalised to lowercase letters and
+ * digits so "Fuel Date", "fuel_date" and "fuelDate" all map to {@code fueldate}.
+ */
+final class FuelImportFileReader {
+
+    private FuelImportFileReader() {
+    }
+
+    record Row(int rowNumber, Map<String, String> values) {
+
+        String get(String... keys) {
+            for (String key : keys) {
+                String value = values.get(key);
+                if (value != null && !value.isBlank()) {
+                    return value.trim();
+                }
+            }
+            return null;
+        }
+    }
+
+    static void read(MultipartFile file, Consumer<Row> consumer) {
+        String name = file.getOriginalFilename() != null
+                ? file.getOriginalFilename().toLowerCase(Locale.ROOT)
+                : "";
+        try (InputStream in = file.getInputStream()) {
+            if (name.endsWith(".xlsx")) {
+                readXlsx(in, consumer);
+            } else if (name.endsWith(".csv") || name.endsWith(".txt")) {
+                readCsv(in, consumer);
+            } else {
+                throw new ValidationException("Unsupported import file type. Upload a .csv or .xlsx file.");
+            }
+        } catch (IOException | SAXException | OpenXML4JException | POIXMLException
+                 | UnsupportedFileFormatException e) {
+            // Only a malformed or unreadable file is the uploader's fault; failures raised by the row consumer
+            // (persistence errors included) propagate unchanged
+            throw new ValidationException("Failed to read import file: " + e.getMessage(), e);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser is not configured for XLSX import", e);
+        }
+    }
+
+    private static void readCsv(InputStream in, Consumer<Row> consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null) {
+            return;
+        }
+        if (line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        List<String> headers = normaliseHeaders(splitCsvLine(line));
+
+        int rowNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            consumer.accept(new Row(rowNumber, toValues(headers, splitCsvLine(line))));
+        }
+    }
+
+    private static void readXlsx(InputStream in, Consumer<Row> consumer)
+            throws IOException, SAXException, OpenXML4JException, ParserConfigurationException {
+        try (OPCPackage pkg = OPCPackage.open(in)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        reader.getStylesTable(),
+                        null,
+                        new ReadOnlySharedStringsTable(pkg),
+                        new SheetRowHandler(consumer),
+                        new DataFormatter(Locale.ROOT),
+                        false));
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+
+    /**
+     * Parses a single CSV line, honouring double-quoted fields and escaped quotes.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static List<String> normaliseHeaders(List<String> headers) {
+        return headers.stream()
+                .map(header -> header.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", ""))
+                .toList();
+    }
+
+    private static Map<String, String> toValues(List<String> headers, List<String> cells) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < headers.size() && i < cells.size(); i++) {
+            values.put(headers.get(i), cells.get(i));
+        }
+        return values;
+    }
+
+    private static final class SheetRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<Row> consumer;
+        private List<String> headers;
+        private final List<String> cells = new ArrayList<>();
+
+        private SheetRowHandler(Consumer<Row> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (headers == null) {
+                headers = normaliseHeaders(cells);
+                return;
+            }
+            if (cells.stream().allMatch(cell -> cell == null || cell.isBlank())) {
+                return;
+            }
+            consumer.accept(new Row(rowNum + 1, toValues(headers, cells)));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue);
+        }
+    }
+}
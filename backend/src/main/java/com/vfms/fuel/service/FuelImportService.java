@@ -0,0 +1,414 @@
+package com.vfms.fuel.service;
+
+import com.vfms.common.exception.ValidationException;
+import com.vfms.dsm.entity.Driver;
+import com.vfms.dsm.repository.DriverRepository;
+import com.vfms.fuel.dto.FuelImportResult;
+import com.vfms.fuel.dto.FuelImportRowError;
+import com.vfms.fuel.entity.FuelRecord;
+import com.vfms.vehicle.Vehicle;
+import com.vfms.vehicle.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports fuel-card exports in bulk.
+ *
+ * Rows are streamed from the file and processed in chunks. Each chunk resolves
+ * its vehicles and drivers with one query per kind, walks the rows sorted by
+ * vehicle and date to apply the misuse rules against state tracked in memory,
+ * and writes the accepted rows with JDBC batch inserts in its own transaction.
+ * Invalid rows are reported individually and never abort the import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FuelImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO fuel_records (id, vehicle_id, driver_id, fuel_date, "
+            + "quantity, cost_per_litre, total_cost, odometer_reading, fuel_station, notes, "
+            + "flagged_for_misuse, flag_reason, created_at, updated_at, created_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_ODOMETER_SQL =
+            "UPDATE vehicles SET odometer_reading = ?, updated_at = ? WHERE id = ?";
+    private static final int JDBC_BATCH_SIZE = 100;
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/yy", Locale.ROOT),
+            DateTimeFormatter.ofPattern("M/d/yyyy", Locale.ROOT));
+
+    private final VehicleRepository vehicleRepository;
+    private final DriverRepository driverRepository;
+    private final FuelMisuseService fuelMisuseService;
+    private final VehicleMisuseStateCache vehicleMisuseStateCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${fuel.import.chunk-size:500}")
+    private int chunkSize;
+
+    public FuelImportResult importRecords(MultipartFile file, UserDetails currentUser) {
+        if (file == null || file.isEmpty()) {
+            throw new ValidationException("Import file is required.");
+        }
+
+        ImportSession session = new ImportSession(currentUser.getUsername());
+        List<FuelImportFileReader.Row> chunk = new ArrayList<>();
+        FuelImportFileReader.read(file, row -> {
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, session);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, session);
+        }
+
+        session.errors.sort(Comparator.comparingInt(FuelImportRowError::getRowNumber));
+        return FuelImportResult.builder()
+                .totalRows(session.totalRows)
+                .imported(session.imported)
+                .flagged(session.flagged)
+                .failed(session.errors.size())
+                .errors(session.errors)
+                .build();
+    }
+
+    private void processChunk(List<FuelImportFileReader.Row> rows, ImportSession session) {
+        List<ParsedRow> parsed = new ArrayList<>();
+        for (FuelImportFileReader.Row row : rows) {
+            session.totalRows++;
+            try {
+                parsed.add(parse(row));
+            } catch (ValidationException ex) {
+                session.fail(row.rowNumber(), ex.getMessage());
+            }
+        }
+        if (parsed.isEmpty()) {
+            return;
+        }
+
+        List<Candidate> candidates = resolve(parsed, session);
+        candidates.sort(Comparator
+                .comparing((Candidate c) -> c.record().getVehicle().getId())
+                .thenComparing(c -> c.record().getFuelDate())
+                .thenComparingInt(Candidate::rowNumber));
+
+        for (Candidate candidate : candidates) {
+            applyMisuseRules(candidate.record(), session);
+        }
+
+        Set<VehicleDay> touched = candidates.stream()
+                .map(candidate -> new VehicleDay(
+                        candidate.record().getVehicle().getId(), candidate.record().getFuelDate()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        try {
+            write(candidates);
+            session.imported += candidates.size();
+            session.flagged += (int) candidates.stream().filter(c -> c.record().isFlaggedForMisuse()).count();
+        } catch (DataAccessException ex) {
+            log.warn("Fuel import batch failed, retrying its {} rows one at a time: {}", candidates.size(), ex.getMessage());
+            writeOneByOne(candidates, session);
+        } finally {
+            touched.forEach(day -> eventPublisher.publishEvent(
+                    FuelRecordChangedEvent.modified(day.vehicleId(), day.fuelDate())));
+        }
+    }
+
+    /**
+     * Writes each row of a failed batch in its own transaction, so only the rows
+     * the database really rejects are reported. Vehicles with a rejected row are
+     * re-seeded from the misuse state cache in later chunks.
+     */
+    private void writeOneByOne(List<Candidate> candidates, ImportSession session) {
+        for (Candidate candidate : candidates) {
+            try {
+                write(List.of(candidate));
+                session.imported++;
+                if (candidate.record().isFlaggedForMisuse()) {
+                    session.flagged++;
+                }
+            } catch (DataAccessException ex) {
+                log.error("Failed to write fuel import row {}: {}", candidate.rowNumber(), ex.getMessage(), ex);
+                session.forgetVehicle(candidate.record().getVehicle().getId());
+                session.fail(candidate.rowNumber(), "Row could not be saved. Please check its values and retry.");
+            }
+        }
+    }
+
+    private List<Candidate> resolve(List<ParsedRow> rows, ImportSession session) {
+        Set<Long> vehicleIds = rows.stream().map(ParsedRow::vehicleId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> plates = rows.stream().map(ParsedRow::plateNumber).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<UUID> driverIds = rows.stream().map(ParsedRow::driverId).filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Map<Long, Vehicle> vehiclesById = vehicleIds.isEmpty() ? Map.of()
+                : vehicleRepository.findByIdIn(vehicleIds).stream()
+                        .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+        Map<String, Vehicle> vehiclesByPlate = plates.isEmpty() ? Map.of()
+                : vehicleRepository.findByPlateNumberIn(plates).stream()
+                        .collect(Collectors.toMap(v -> v.getPlateNumber().toUpperCase(Locale.ROOT), Function.identity()));
+        Map<UUID, Driver> drivers = driverIds.isEmpty() ? Map.of()
+                : driverRepository.findAllById(driverIds).stream()
+                        .collect(Collectors.toMap(Driver::getId, Function.identity()));
+
+        List<Candidate> candidates = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (ParsedRow row : rows) {
+            try {
+                Vehicle vehicle = row.vehicleId() != null
+                        ? vehiclesById.get(row.vehicleId())
+                        : vehiclesByPlate.get(row.plateNumber().toUpperCase(Locale.ROOT));
+                if (vehicle == null) {
+                    throw new ValidationException("Vehicle not found: "
+                            + (row.vehicleId() != null ? row.vehicleId() : row.plateNumber()));
+                }
+                FuelService.validateVehicleEligibility(vehicle);
+
+                Driver driver = null;
+                if (row.driverId() != null) {
+                    driver = drivers.get(row.driverId());
+                    if (driver == null) {
+                        throw new ValidationException("Driver not found: " + row.driverId());
+                    }
+                    FuelService.validateDriverEligibility(driver);
+                }
+
+                candidates.add(new Candidate(row.rowNumber(), FuelRecord.builder()
+                        .id(UUID.randomUUID())
+                        .vehicle(vehicle)
+                        .driver(driver)
+                        .fuelDate(row.fuelDate())
+                        .quantity(row.quantity())
+                        .costPerLitre(row.costPerLitre())
+                        .totalCost(FuelService.calculateTotalCost(row.quantity(), row.costPerLitre()))
+                        .odometerReading(row.odometerReading())
+                        .fuelStation(row.fuelStation())
+                        .notes(row.notes())
+                        .createdBy(session.createdBy)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .flaggedForMisuse(false)
+                        .build()));
+            } catch (ValidationException ex) {
+                session.fail(row.rowNumber(), ex.getMessage());
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Seeds each vehicle's state once from the misuse state cache and then
+     * advances it row by row, so the rules see earlier rows of the same import.
+     */
+    private void applyMisuseRules(FuelRecord record, ImportSession session) {
+        Long vehicleId = record.getVehicle().getId();
+        VehicleDay day = new VehicleDay(vehicleId, record.getFuelDate());
+
+        long entriesOnDate = session.entriesPerDay.computeIfAbsent(day,
+                key -> vehicleMisuseStateCache.entriesOn(vehicleId, record.getFuelDate(), null));
+        Double previousOdometer = session.lastOdometer.containsKey(vehicleId)
+                ? session.lastOdometer.get(vehicleId)
+                : vehicleMisuseStateCache.previousOdometer(vehicleId, null);
+
+        String reason = fuelMisuseService.evaluate(record, entriesOnDate, previousOdometer);
+        record.setFlaggedForMisuse(reason != null);
+        record.setFlagReason(reason);
+
+        session.entriesPerDay.put(day, entriesOnDate + 1);
+        session.lastOdometer.put(vehicleId, record.getOdometerReading());
+    }
+
+    private void write(List<Candidate> candidates) {
+        List<FuelRecord> records = candidates.stream().map(Candidate::record).toList();
+        Map<Long, Double> latestOdometers = new LinkedHashMap<>();
+        records.forEach(record -> latestOdometers.put(record.getVehicle().getId(), record.getOdometerReading()));
+        LocalDateTime now = LocalDateTime.now();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, records, JDBC_BATCH_SIZE, (ps, record) -> {
+                ps.setObject(1, record.getId());
+                ps.setLong(2, record.getVehicle().getId());
+                if (record.getDriver() != null) {
+                    ps.setObject(3, record.getDriver().getId());
+                } else {
+                    ps.setNull(3, Types.OTHER);
+                }
+                ps.setObject(4, record.getFuelDate());
+                ps.setBigDecimal(5, record.getQuantity());
+                ps.setBigDecimal(6, record.getCostPerLitre());
+                ps.setBigDecimal(7, record.getTotalCost());
+                ps.setDouble(8, record.getOdometerReading());
+                ps.setString(9, record.getFuelStation());
+                ps.setString(10, record.getNotes());
+                ps.setBoolean(11, record.isFlaggedForMisuse());
+                ps.setString(12, record.getFlagReason());
+                ps.setObject(13, record.getCreatedAt());
+                ps.setObject(14, record.getUpdatedAt());
+                ps.setString(15, record.getCreatedBy());
+            });
+            jdbcTemplate.batchUpdate(UPDATE_ODOMETER_SQL, new ArrayList<>(latestOdometers.entrySet()),
+                    JDBC_BATCH_SIZE, (ps, entry) -> {
+                        ps.setDouble(1, entry.getValue());
+                        ps.setObject(2, now);
+                        ps.setLong(3, entry.getKey());
+                    });
+        });
+    }
+
+    private ParsedRow parse(FuelImportFileReader.Row row) {
+        Long vehicleId = null;
+        String rawVehicleId = row.get("vehicleid");
+        String plateNumber = row.get("platenumber", "plate", "vehicleplate", "registration");
+        if (rawVehicleId != null) {
+            try {
+                vehicleId = Long.valueOf(rawVehicleId);
+            } catch (NumberFormatException ex) {
+                throw new ValidationException("Vehicle ID must be a valid numeric identifier.");
+            }
+        } else if (plateNumber == null) {
+            throw new ValidationException("Vehicle ID or plate number is required.");
+        }
+
+        UUID driverId = null;
+        String rawDriverId = row.get("driverid");
+        if (rawDriverId != null) {
+            try {
+                driverId = UUID.fromString(rawDriverId);
+            } catch (IllegalArgumentException ex) {
+                throw new ValidationException("Driver ID must be a valid UUID.");
+            }
+        }
+
+        BigDecimal quantity = requireDecimal(row.get("quantity", "litres", "liters"), "Quantity");
+        BigDecimal costPerLitre = requireDecimal(row.get("costperlitre", "costperliter", "unitprice"), "Cost per litre");
+        if (quantity.compareTo(new BigDecimal("0.01")) < 0) {
+            throw new ValidationException("Quantity must be greater than 0");
+        }
+        if (costPerLitre.compareTo(new BigDecimal("0.01")) < 0) {
+            throw new ValidationException("Cost per litre must be greater than 0");
+        }
+
+        BigDecimal odometer = requireDecimal(row.get("odometerreading", "odometer"), "Odometer reading");
+        if (odometer.signum() < 0) {
+            throw new ValidationException("Odometer cannot be negative");
+        }
+
+        String fuelStation = row.get("fuelstation", "station");
+        if (fuelStation != null && fuelStation.length() > 120) {
+            throw new ValidationException("Fuel station must not exceed 120 characters");
+        }
+        String notes = row.get("notes");
+        if (notes != null && notes.length() > 1000) {
+            throw new ValidationException("Notes must not exceed 1000 characters");
+        }
+
+        return new ParsedRow(
+                row.rowNumber(),
+                vehicleId,
+                vehicleId == null ? plateNumber : null,
+                driverId,
+                parseDate(row.get("fueldate", "date")),
+                quantity,
+                costPerLitre,
+                odometer.doubleValue(),
+                fuelStation,
+                notes);
+    }
+
+    private BigDecimal requireDecimal(String raw, String field) {
+        if (raw == null) {
+            throw new ValidationException(field + " is required");
+        }
+        try {
+            return new BigDecimal(raw.replace(",", ""));
+        } catch (NumberFormatException ex) {
+            throw new ValidationException(field + " must be a number");
+        }
+    }
+
+    private LocalDate parseDate(String raw) {
+        if (raw == null) {
+            throw new ValidationException("Fuel date is required");
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(raw, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next supported format
+            }
+        }
+        throw new ValidationException("Fuel date must be in yyyy-MM-dd, M/d/yyyy or M/d/yy format");
+    }
+
+    private record ParsedRow(
+            int rowNumber,
+            Long vehicleId,
+            String plateNumber,
+            UUID driverId,
+            LocalDate fuelDate,
+            BigDecimal quantity,
+            BigDecimal costPerLitre,
+            Double odometerReading,
+            String fuelStation,
+            String notes) {
+    }
+
+    private record Candidate(int rowNumber, FuelRecord record) {
+    }
+
+    private record VehicleDay(Long vehicleId, LocalDate fuelDate) {
+    }
+
+    private static final class ImportSession {
+        private final String createdBy;
+        private final List<FuelImportRowError> errors = new ArrayList<>();
+        private final Map<VehicleDay, Long> entriesPerDay = new HashMap<>();
+        private final Map<Long, Double> lastOdometer = new HashMap<>();
+        private int totalRows;
+        private int imported;
+        private int flagged;
+
+        private ImportSession(String createdBy) {
+            this.createdBy = createdBy;
+        }
+
+        private void fail(int rowNumber, String message) {
+            errors.add(new FuelImportRowError(rowNumber, message));
+        }
+
+        private void forgetVehicle(Long vehicleId) {
+            lastOdometer.remove(vehicleId);
+            entriesPerDay.keySet().removeIf(day -> day.vehicleId().equals(vehicleId));
+        }
+    }
+}
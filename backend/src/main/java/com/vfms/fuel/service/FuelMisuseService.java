@@ -1,14 +1,11 @@
 package com.vfms.fuel.service;
 
 import com.vfms.fuel.entity.FuelRecord;
-import com.vfms.fuel.repository.FuelRecordRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,7 +16,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class FuelMisuseService {
 
-    private final FuelRecordRepository fuelRecordRepository;
+    private final VehicleMisuseStateCache vehicleMisuseStateCache;
 
     @Value("${fuel.misuse.max-litres-per-entry:100}")
     private double maxLitresPerEntry;
@@ -36,46 +33,58 @@ public class FuelMisuseService {
     }
 
     public String checkForMisuse(FuelRecord record, UUID excludeRecordId) {
-        if (record.getQuantity().compareTo(BigDecimal.valueOf(maxLitresPerEntry)) > 0) {
-            return "Quantity exceeds maximum allowed per entry (" + maxLitresPerEntry
-                    + " L). Entered: " + record.getQuantity() + " L";
+        String reason = checkQuantity(record);
+        if (reason != null) {
+            return reason;
         }
 
-        long todayCount = countEntriesForDate(
-                record.getVehicle().getId(),
-                record.getFuelDate(),
-                excludeRecordId);
-        if (todayCount >= maxEntriesPerDay) {
-            return "Vehicle has already reached the maximum fuel entries for this date ("
-                    + maxEntriesPerDay + "). Please review.";
+        Long vehicleId = record.getVehicle().getId();
+        reason = checkDailyEntries(
+                vehicleMisuseStateCache.entriesOn(vehicleId, record.getFuelDate(), excludeRecordId));
+        if (reason != null) {
+            return reason;
         }
 
-        List<FuelRecord> previous = findPreviousEntries(
-                record.getVehicle().getId(),
-                excludeRecordId);
-        if (!previous.isEmpty()) {
-            double lastOdometer = previous.get(0).getOdometerReading();
-            if (record.getOdometerReading() < lastOdometer) {
-                return "Odometer reading (" + record.getOdometerReading()
-                        + " km) is less than the previous entry ("
-                        + lastOdometer + " km). Possible misuse or data error.";
-            }
+        return checkOdometer(record, vehicleMisuseStateCache.previousOdometer(vehicleId, excludeRecordId));
+    }
+
+    /**
+     * Applies the same heuristics against state the caller already tracks, as
+     * the bulk import does while walking a sorted batch in memory.
+     */
+    public String evaluate(FuelRecord record, long entriesOnDate, Double previousOdometer) {
+        String reason = checkQuantity(record);
+        if (reason == null) {
+            reason = checkDailyEntries(entriesOnDate);
+        }
+        if (reason == null) {
+            reason = checkOdometer(record, previousOdometer);
         }
+        return reason;
+    }
 
+    private String checkQuantity(FuelRecord record) {
+        if (record.getQuantity().compareTo(BigDecimal.valueOf(maxLitresPerEntry)) > 0) {
+            return "Quantity exceeds maximum allowed per entry (" + maxLitresPerEntry
+                    + " L). Entered: " + record.getQuantity() + " L";
+        }
         return null;
     }
 
-    private long countEntriesForDate(Long vehicleId, LocalDate date, UUID excludeRecordId) {
-        if (excludeRecordId == null) {
-            return fuelRecordRepository.countByVehicleAndDate(vehicleId, date);
+    private String checkDailyEntries(long entriesOnDate) {
+        if (entriesOnDate >= maxEntriesPerDay) {
+            return "Vehicle has already reached the maximum fuel entries for this date ("
+                    + maxEntriesPerDay + "). Please review.";
         }
-        return fuelRecordRepository.countByVehicleAndDateExcluding(vehicleId, date, excludeRecordId);
+        return null;
     }
 
-    private List<FuelRecord> findPreviousEntries(Long vehicleId, UUID excludeRecordId) {
-        if (excludeRecordId == null) {
-            return fuelRecordRepository.findLatestByVehicle(vehicleId);
+    private String checkOdometer(FuelRecord record, Double lastOdometer) {
+        if (lastOdometer != null && record.getOdometerReading() < lastOdometer) {
+            return "Odometer reading (" + record.getOdometerReading()
+                    + " km) is less than the previous entry ("
+                    + lastOdometer + " km). Possible misuse or data error.";
         }
-        return fuelRecordRepository.findLatestByVehicleExcluding(vehicleId, excludeRecordId);
+        return null;
     }
 }
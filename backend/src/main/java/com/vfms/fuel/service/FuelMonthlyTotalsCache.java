@@ -0,0 +1,61 @@
+package com.vfms.fuel.service;
+
+import com.vfms.fuel.repository.FuelAnalyticsRepository.MonthlyTotals;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches fleet-wide totals for closed months. The current month is never
+ * cached because it is still receiving entries; a closed month is dropped
+ * again as soon as a committed write lands in it (late entries, edits,
+ * flags, imports or deletes). Average km/L compares each record with the
+ * vehicle's previous one, which may sit in any earlier month, so every
+ * cached month from the changed one onwards is dropped with it.
+ *
+ * Callers read {@link #generation()} before querying and pass it to
+ * {@link #put}; a put is ignored when a change was committed in between, so
+ * totals read before the change cannot be cached after its eviction.
+ */
+@Component
+public class FuelMonthlyTotalsCache {
+
+    private final Map<YearMonth, MonthlyTotals> closedMonths = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public MonthlyTotals get(YearMonth month) {
+        return closedMonths.get(month);
+    }
+
+    public long generation() {
+        return invalidations.get();
+    }
+
+    public void put(MonthlyTotals totals, long generation) {
+        if (!totals.month().isBefore(YearMonth.now())) {
+            return;
+        }
+        synchronized (this) {
+            if (invalidations.get() == generation) {
+                closedMonths.put(totals.month(), totals);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFuelRecordChanged(FuelRecordChangedEvent event) {
+        synchronized (this) {
+            invalidations.incrementAndGet();
+            if (event.fuelDate() == null) {
+                closedMonths.clear();
+                return;
+            }
+            YearMonth changed = YearMonth.from(event.fuelDate());
+            closedMonths.keySet().removeIf(month -> !month.isBefore(changed));
+        }
+    }
+}
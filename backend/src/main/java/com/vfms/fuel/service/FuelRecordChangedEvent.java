@@ -0,0 +1,35 @@
+package com.vfms.fuel.service;
+
+import com.vfms.fuel.entity.FuelRecord;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when fuel records are written. Appended records carry the values
+ * needed to roll per-vehicle state forward; any other change only names the
+ * vehicle and fuel date whose derived state must be dropped.
+ */
+public record FuelRecordChangedEvent(
+        Long vehicleId,
+        UUID recordId,
+        LocalDate fuelDate,
+        LocalDateTime createdAt,
+        Double odometerReading,
+        boolean appended) {
+
+    public static FuelRecordChangedEvent appended(FuelRecord record) {
+        return new FuelRecordChangedEvent(
+                record.getVehicle().getId(),
+                record.getId(),
+                record.getFuelDate(),
+                record.getCreatedAt(),
+                record.getOdometerReading(),
+                true);
+    }
+
+    public static FuelRecordChangedEvent modified(Long vehicleId, LocalDate fuelDate) {
+        return new FuelRecordChangedEvent(vehicleId, null, fuelDate, null, null, false);
+    }
+}
@@ -0,0 +1,87 @@
+package com.vfms.fuel.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vfms.common.exception.ValidationException;
+import com.vfms.fuel.entity.FuelRecord;
+import com.vfms.fuel.repository.FuelRecordRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes fuel records straight from forward-only cursors, so memory use stays
+ * flat regardless of table size: the full history as newline-delimited JSON,
+ * and date-range searches as a JSON array written element by element from
+ * keyset pages.
+ */
+@Service
+@RequiredArgsConstructor
+public class FuelRecordStreamService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private final EntityManager entityManager;
+    private final FuelRecordRepository fuelRecordRepository;
+    private final FuelService fuelService;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeAllRecords(OutputStream out) throws IOException {
+        try (Stream<FuelRecord> records = fuelRecordRepository.streamAllForExport()) {
+            Iterator<FuelRecord> iterator = records.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                FuelRecord record = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(fuelService.toResponse(record)));
+                out.write('\n');
+                // Rows are never revisited, so drop them from the persistence context as we go
+                entityManager.detach(record);
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+    }
+
+    // Same array body the search endpoint always returned, produced without holding the range in memory. The
+    // bounds are parsed before the array is opened so a bad date still gets a 400, and no transaction is held here:
+    // the rows are read in short per-page transactions, so a slow client does not pin a connection.
+    public void writeByDateRange(String from, String to, Long vehicleId, UUID driverId, OutputStream out)
+            throws IOException {
+        LocalDate fromDate = FuelService.parseSearchDate(from, "from");
+        LocalDate toDate = FuelService.parseSearchDate(to, "to");
+        if (fromDate.isAfter(toDate)) {
+            throw new ValidationException("from must not be after to");
+        }
+        try (JsonGenerator json = objectMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            json.writeStartArray();
+            int[] written = {0};
+            try {
+                fuelService.forEachInDateRange(fromDate, toDate, vehicleId, driverId, response -> {
+                    try {
+                        json.writeObject(response);
+                        if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                            json.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.writeEndArray();
+        }
+    }
+}
@@ -1,17 +1,19 @@
 package com.vfms.fuel.service;
 
+import com.vfms.common.cache.ReferenceDataCache;
 import com.vfms.common.exception.ResourceNotFoundException;
 import com.vfms.common.exception.ValidationException;
 import com.vfms.common.enums.DriverStatus;
 import com.vfms.vehicle.VehicleStatus;
 import com.vfms.dsm.entity.Driver;
 import com.vfms.dsm.repository.DriverRepository;
-import com.vfms.fuel.client.VehicleApiClient;
 import com.vfms.fuel.dto.CreateFuelRecordRequest;
 import com.vfms.fuel.dto.FuelMetadataDriverProjection;
 import com.vfms.fuel.dto.FuelMetadataVehicleProjection;
 import com.vfms.fuel.dto.FuelFormMetadataResponse;
 import com.vfms.fuel.dto.FuelLookupOptionResponse;
+import com.vfms.fuel.dto.FuelRecordCursor;
+import com.vfms.fuel.dto.FuelRecordPageResponse;
 import com.vfms.fuel.dto.FuelRecordResponse;
 import com.vfms.fuel.dto.PatchFuelRecordRequest;
 import com.vfms.fuel.dto.VehicleDetailDto;
@@ -21,17 +23,28 @@ import com.vfms.vehicle.Vehicle;
 import com.vfms.vehicle.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -44,31 +57,56 @@ import java.util.stream.Collectors;
 public class FuelService {
 
     private static final String MANUAL_FLAG_REASON = "Manually flagged by admin";
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int SEARCH_PAGE_SIZE = 500;
 
     private final FuelRecordRepository fuelRecordRepository;
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
-    private final VehicleApiClient vehicleApiClient;
+    private final VehicleDetailEnrichmentService vehicleDetailEnrichmentService;
     private final FuelStorageService fuelStorageService;
     private final FuelMisuseService fuelMisuseService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
 
-    @Transactional
+    /**
+     * Checks the vehicle and driver first, so an invalid request never uploads
+     * anything, then uploads the receipt before opening the database
+     * transaction so a slow storage call never holds a connection. If the
+     * insert then fails, the uploaded object is removed again.
+     */
     public FuelRecordResponse createFuelRecord(
             CreateFuelRecordRequest request,
             MultipartFile receipt,
             UserDetails currentUser) {
         Long vehicleId = parseVehicleId(request.getVehicleId());
-        Vehicle vehicle = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Vehicle not found: " + request.getVehicleId()));
-        validateVehicleEligibility(vehicle);
+        loadVehicle(request, vehicleId);
+        loadDriver(request);
+        boolean hasReceipt = receipt != null && !receipt.isEmpty();
+        String receiptUrl = hasReceipt ? fuelStorageService.uploadReceipt(receipt) : null;
+        String receiptFileName = hasReceipt ? receipt.getOriginalFilename() : null;
 
-        Driver driver = null;
-        if (request.getDriverId() != null) {
-            driver = driverRepository.findById(request.getDriverId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Driver not found: " + request.getDriverId()));
-            validateDriverEligibility(driver);
+        try {
+            return transactionTemplate.execute(status ->
+                    persistFuelRecord(request, vehicleId, receiptUrl, receiptFileName, currentUser));
+        } catch (RuntimeException ex) {
+            if (receiptUrl != null) {
+                fuelStorageService.deleteReceipt(receiptUrl);
+            }
+            throw ex;
         }
+    }
+
+    private FuelRecordResponse persistFuelRecord(
+            CreateFuelRecordRequest request,
+            Long vehicleId,
+            String receiptUrl,
+            String receiptFileName,
+            UserDetails currentUser) {
+        // Checked again inside the transaction, as either may have changed while the receipt was uploading
+        Vehicle vehicle = loadVehicle(request, vehicleId);
+        Driver driver = loadDriver(request);
 
         FuelRecord record = FuelRecord.builder()
                 .vehicle(vehicle)
@@ -81,38 +119,78 @@ public class FuelService {
                 .fuelStation(request.getFuelStation())
                 .notes(request.getNotes())
                 .createdBy(currentUser.getUsername())
+                .receiptUrl(receiptUrl)
+                .receiptFileName(receiptFileName)
                 .flaggedForMisuse(false)
                 .build();
 
-        if (receipt != null && !receipt.isEmpty()) {
-            String receiptUrl = fuelStorageService.uploadReceipt(receipt);
-            record.setReceiptUrl(receiptUrl);
-            record.setReceiptFileName(receipt.getOriginalFilename());
-        }
-
         reEvaluateMisuse(record);
 
         FuelRecord saved = fuelRecordRepository.save(record);
         vehicle.setOdometerReading(request.getOdometerReading());
         vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(FuelRecordChangedEvent.appended(saved));
 
         return toResponse(saved);
     }
 
+    private Vehicle loadVehicle(CreateFuelRecordRequest request, Long vehicleId) {
+        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Vehicle not found: " + request.getVehicleId()));
+        validateVehicleEligibility(vehicle);
+        return vehicle;
+    }
+
+    private Driver loadDriver(CreateFuelRecordRequest request) {
+        if (request.getDriverId() == null) {
+            return null;
+        }
+        Driver driver = driverRepository.findById(request.getDriverId())
+                .orElseThrow(() -> new ResourceNotFoundException("Driver not found: " + request.getDriverId()));
+        validateDriverEligibility(driver);
+        return driver;
+    }
+
     @Transactional(readOnly = true)
     public List<FuelRecordResponse> getAllRecords() {
-        return fuelRecordRepository.findAllByOrderByFuelDateDesc()
+        return fuelRecordRepository.findAllNewestFirst()
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page over the same ordering as {@link #getAllRecords()}; one extra row
+     * is read to know whether another page exists without issuing a COUNT.
+     */
+    @Transactional(readOnly = true)
+    public FuelRecordPageResponse getRecordsPage(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<FuelRecord> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = fuelRecordRepository.findFirstPage(limit);
+        } else {
+            FuelRecordCursor position = FuelRecordCursor.decode(cursor);
+            rows = fuelRecordRepository.findPageAfter(
+                    position.getFuelDate(), position.getCreatedAt(), position.getId(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<FuelRecord> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return FuelRecordPageResponse.builder()
+                .records(page.stream().map(this::toResponse).toList())
+                .nextCursor(hasMore ? FuelRecordCursor.of(page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<FuelRecordResponse> getAllRecordsWithRealTimeData() {
-        return fuelRecordRepository.findAllByOrderByFuelDateDesc()
-                .stream()
-                .map(this::toResponseWithRealTimeData)
-                .collect(Collectors.toList());
+        return toResponsesWithRealTimeData(fuelRecordRepository.findAllNewestFirst());
     }
 
     @Transactional(readOnly = true)
@@ -131,7 +209,7 @@ public class FuelService {
 
     @Transactional(readOnly = true)
     public List<FuelRecordResponse> getByVehicle(Long vehicleId) {
-        return fuelRecordRepository.findByVehicleIdOrderByFuelDateDesc(vehicleId)
+        return fuelRecordRepository.findVehicleHistory(vehicleId)
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
@@ -143,15 +221,12 @@ public class FuelService {
             throw new ResourceNotFoundException("Vehicle not found: " + vehicleId);
         }
 
-        return fuelRecordRepository.findByVehicleIdOrderByFuelDateDesc(vehicleId)
-                .stream()
-                .map(this::toResponseWithRealTimeData)
-                .collect(Collectors.toList());
+        return toResponsesWithRealTimeData(fuelRecordRepository.findVehicleHistory(vehicleId));
     }
 
     @Transactional(readOnly = true)
     public List<FuelRecordResponse> getByDriver(UUID driverId) {
-        return fuelRecordRepository.findByDriverIdOrderByFuelDateDesc(driverId)
+        return fuelRecordRepository.findDriverHistory(driverId)
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
@@ -165,29 +240,94 @@ public class FuelService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public List<FuelRecordResponse> getByDateRange(String from, String to, Long vehicleId, UUID driverId) {
-        List<FuelRecord> records;
-        if (vehicleId != null) {
-            records = fuelRecordRepository.findByVehicleAndDateRange(vehicleId,
-                    java.time.LocalDate.parse(from), java.time.LocalDate.parse(to));
-        } else if (driverId != null) {
-            records = fuelRecordRepository.findByDriverAndDateRange(driverId,
-                    java.time.LocalDate.parse(from), java.time.LocalDate.parse(to));
-        } else {
-            records = fuelRecordRepository.findByDateRange(
-                    java.time.LocalDate.parse(from), java.time.LocalDate.parse(to));
+    /**
+     * Parses a date-range search bound, so a malformed value is rejected before
+     * any of the response has been written.
+     */
+    public static LocalDate parseSearchDate(String value, String name) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException(name + " must be a date in yyyy-MM-dd format");
         }
+    }
 
-        return records.stream()
-                .map(this::toResponseWithEfficiency)
-                .collect(Collectors.toList());
+    /**
+     * Walks the range oldest first and hands each response to {@code sink}
+     * with efficiency derived from a running per-vehicle reading, seeded with
+     * each vehicle's last reading before {@code from}. Rows are read in keyset
+     * pages, each in its own short transaction, and handed to the
+     * sink between pages, so memory stays flat however long the range is and
+     * a slow consumer never holds a connection. When filtering by driver the
+     * whole timeline of the driver's vehicles is walked so the previous
+     * fill-up is the vehicle's, not the driver's.
+     */
+    public void forEachInDateRange(LocalDate from, LocalDate to, Long vehicleId, UUID driverId,
+                                   Consumer<FuelRecordResponse> sink) {
+        Map<Long, Double> lastOdometerByVehicle = transactionTemplate.execute(status -> {
+            Collection<Long> vehicleIds;
+            if (vehicleId != null) {
+                vehicleIds = List.of(vehicleId);
+            } else if (driverId != null) {
+                vehicleIds = fuelRecordRepository.findVehicleIdsFueledByDriver(driverId, from, to);
+            } else {
+                vehicleIds = fuelRecordRepository.findVehicleIdsFueledBetween(from, to);
+            }
+            return vehicleIds.isEmpty() ? null : loadPrecedingOdometers(vehicleIds, from);
+        });
+        if (lastOdometerByVehicle == null) {
+            return;
+        }
+
+        // The first page starts before the range, so the created-at and id parts of the key are never compared
+        LocalDate afterDate = from.minusDays(1);
+        LocalDateTime afterCreatedAt = from.atStartOfDay();
+        UUID afterId = new UUID(0, 0);
+        List<FuelRecordResponse> responses = new ArrayList<>(SEARCH_PAGE_SIZE);
+        int read;
+        do {
+            LocalDate pageAfterDate = afterDate;
+            LocalDateTime pageAfterCreatedAt = afterCreatedAt;
+            UUID pageAfterId = afterId;
+            List<FuelRecord> page = transactionTemplate.execute(status -> {
+                List<FuelRecord> records = vehicleId != null
+                        ? fuelRecordRepository.findVehicleTimelinePage(vehicleId, from, to,
+                                pageAfterDate, pageAfterCreatedAt, pageAfterId, Limit.of(SEARCH_PAGE_SIZE))
+                        : driverId != null
+                                ? fuelRecordRepository.findDriverVehiclesTimelinePage(driverId, from, to,
+                                        pageAfterDate, pageAfterCreatedAt, pageAfterId, Limit.of(SEARCH_PAGE_SIZE))
+                                : fuelRecordRepository.findFleetTimelinePage(from, to,
+                                        pageAfterDate, pageAfterCreatedAt, pageAfterId, Limit.of(SEARCH_PAGE_SIZE));
+                for (FuelRecord record : records) {
+                    Double previousOdometer = lastOdometerByVehicle.put(
+                            record.getVehicle().getId(), record.getOdometerReading());
+                    if (driverId == null || vehicleId != null
+                            || (record.getDriver() != null && driverId.equals(record.getDriver().getId()))) {
+                        FuelRecordResponse response = toResponse(record);
+                        applyEfficiency(response, record, previousOdometer);
+                        responses.add(response);
+                    }
+                }
+                return records;
+            });
+            responses.forEach(sink);
+            responses.clear();
+            read = page.size();
+            if (read > 0) {
+                FuelRecord last = page.get(read - 1);
+                afterDate = last.getFuelDate();
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+            }
+        } while (read == SEARCH_PAGE_SIZE);
     }
 
     @Transactional
     public FuelRecordResponse updateFuelRecord(UUID id, CreateFuelRecordRequest request) {
         FuelRecord record = fuelRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Fuel record not found: " + id));
+        Long previousVehicleId = record.getVehicle().getId();
+        LocalDate previousFuelDate = record.getFuelDate();
 
         Long vehicleId = parseVehicleId(request.getVehicleId());
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
@@ -217,6 +357,7 @@ public class FuelService {
         FuelRecord saved = fuelRecordRepository.save(record);
         vehicle.setOdometerReading(request.getOdometerReading());
         vehicleRepository.save(vehicle);
+        publishModified(previousVehicleId, previousFuelDate, saved);
 
         return toResponse(saved);
     }
@@ -225,6 +366,8 @@ public class FuelService {
     public FuelRecordResponse patchFuelRecord(UUID id, PatchFuelRecordRequest updates) {
         FuelRecord record = fuelRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Fuel record not found: " + id));
+        Long previousVehicleId = record.getVehicle().getId();
+        LocalDate previousFuelDate = record.getFuelDate();
 
         if (updates.getVehicleId() != null) {
             Long vehicleId = parseVehicleId(updates.getVehicleId());
@@ -274,6 +417,7 @@ public class FuelService {
             vehicle.setOdometerReading(updates.getOdometerReading());
             vehicleRepository.save(vehicle);
         }
+        publishModified(previousVehicleId, previousFuelDate, saved);
 
         return toResponse(saved);
     }
@@ -286,7 +430,9 @@ public class FuelService {
         if (record.getFlagReason() == null || record.getFlagReason().isBlank()) {
             record.setFlagReason(MANUAL_FLAG_REASON);
         }
-        return toResponse(fuelRecordRepository.save(record));
+        FuelRecord saved = fuelRecordRepository.save(record);
+        eventPublisher.publishEvent(FuelRecordChangedEvent.modified(saved.getVehicle().getId(), saved.getFuelDate()));
+        return toResponse(saved);
     }
 
     @Transactional
@@ -295,27 +441,43 @@ public class FuelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Fuel record not found: " + id));
         record.setFlaggedForMisuse(false);
         record.setFlagReason(null);
-        return toResponse(fuelRecordRepository.save(record));
+        FuelRecord saved = fuelRecordRepository.save(record);
+        eventPublisher.publishEvent(FuelRecordChangedEvent.modified(saved.getVehicle().getId(), saved.getFuelDate()));
+        return toResponse(saved);
     }
 
     @Transactional
     public void deleteFuelRecord(UUID id) {
-        if (!fuelRecordRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Fuel record not found: " + id);
+        FuelRecord record = fuelRecordRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Fuel record not found: " + id));
+        fuelRecordRepository.delete(record);
+        eventPublisher.publishEvent(FuelRecordChangedEvent.modified(record.getVehicle().getId(), record.getFuelDate()));
+    }
+
+    private void publishModified(Long previousVehicleId, LocalDate previousFuelDate, FuelRecord saved) {
+        eventPublisher.publishEvent(FuelRecordChangedEvent.modified(previousVehicleId, previousFuelDate));
+        if (!previousVehicleId.equals(saved.getVehicle().getId())
+                || !Objects.equals(previousFuelDate, saved.getFuelDate())) {
+            eventPublisher.publishEvent(FuelRecordChangedEvent.modified(saved.getVehicle().getId(), saved.getFuelDate()));
         }
-        fuelRecordRepository.deleteById(id);
     }
 
     /**
      * Recalculates total cost on every create/update path so the persisted amount
      * always matches the submitted quantity and price per litre.
      */
-    private BigDecimal calculateTotalCost(BigDecimal quantity, BigDecimal costPerLitre) {
+    static BigDecimal calculateTotalCost(BigDecimal quantity, BigDecimal costPerLitre) {
         return quantity.multiply(costPerLitre).setScale(2, RoundingMode.HALF_UP);
     }
 
+    // Both option lists come from the shared reference-data cache and are only reloaded after vehicle/driver writes
     @Transactional(readOnly = true)
-    public FuelFormMetadataResponse getFormMetadata() {
+    public ReferenceDataCache.Entry<FuelFormMetadataResponse> getFormMetadata() {
+        return referenceDataCache.get("fuel.form-metadata",
+                List.of(ReferenceDataCache.VEHICLES, ReferenceDataCache.DRIVERS), this::loadFormMetadata);
+    }
+
+    private FuelFormMetadataResponse loadFormMetadata() {
         List<FuelLookupOptionResponse> vehicles = vehicleRepository.findFuelMetadataVehicles()
                 .stream()
                 .map(vehicle -> FuelLookupOptionResponse.builder()
@@ -402,7 +564,7 @@ public class FuelService {
         }
     }
 
-    private void validateVehicleEligibility(Vehicle vehicle) {
+    static void validateVehicleEligibility(Vehicle vehicle) {
         if (Boolean.FALSE.equals(vehicle.getActive())) {
             throw new ValidationException("Only active vehicles can be used for fuel entries.");
         }
@@ -412,7 +574,7 @@ public class FuelService {
         }
     }
 
-    private void validateDriverEligibility(Driver driver) {
+    static void validateDriverEligibility(Driver driver) {
         Driver.DriverStatus status = driver.getStatus();
         if (status != Driver.DriverStatus.ACTIVE) {
             throw new ValidationException("Only active drivers can be assigned to fuel entries.");
@@ -444,53 +606,48 @@ public class FuelService {
     }
 
     public FuelRecordResponse toResponseWithRealTimeData(FuelRecord record) {
-        try {
-            VehicleDetailDto vehicleDetail = vehicleApiClient.getVehicleById(record.getVehicle().getId());
-            return FuelRecordResponse.builder()
-                    .id(record.getId())
-                    .vehicleId(String.valueOf(record.getVehicle().getId()))
-                    .vehiclePlate(vehicleDetail.getPlateNumber())
-                    .vehicleMakeModel(vehicleDetail.getMake() + " " + vehicleDetail.getModel())
-                    .driverId(record.getDriver() != null ? record.getDriver().getId() : null)
-                    .driverName(record.getDriver() != null ? record.getDriver().getFullName() : null)
-                    .fuelDate(record.getFuelDate())
-                    .quantity(record.getQuantity())
-                    .costPerLitre(record.getCostPerLitre())
-                    .totalCost(record.getTotalCost())
-                    .odometerReading(record.getOdometerReading())
-                    .fuelStation(record.getFuelStation())
-                    .notes(record.getNotes())
-                    .receiptUrl(record.getReceiptUrl())
-                    .receiptFileName(record.getReceiptFileName())
-                    .flaggedForMisuse(record.isFlaggedForMisuse())
-                    .flagReason(record.getFlagReason())
-                    .createdBy(record.getCreatedBy())
-                    .createdAt(record.getCreatedAt())
-                    .build();
-        } catch (Exception e) {
-            log.warn("Failed to fetch real-time vehicle data, using cached: {}", e.getMessage());
-            return toResponse(record);
-        }
+        return toResponsesWithRealTimeData(List.of(record)).get(0);
     }
 
-    private FuelRecordResponse toResponseWithEfficiency(FuelRecord record) {
-        FuelRecordResponse response = toResponse(record);
-        List<FuelRecord> vehicleRecords = fuelRecordRepository.findLatestByVehicle(record.getVehicle().getId());
+    /**
+     * Enriches a batch of records with one vehicle lookup per distinct vehicle;
+     * records whose vehicle could not be fetched keep the stored vehicle data.
+     */
+    private List<FuelRecordResponse> toResponsesWithRealTimeData(List<FuelRecord> records) {
+        Map<Long, VehicleDetailDto> vehicleDetails = vehicleDetailEnrichmentService.resolve(
+                records.stream().map(record -> record.getVehicle().getId()).toList());
 
-        for (int index = 0; index < vehicleRecords.size(); index++) {
-            if (vehicleRecords.get(index).getId().equals(record.getId()) && index + 1 < vehicleRecords.size()) {
-                FuelRecord previous = vehicleRecords.get(index + 1);
-                double distance = record.getOdometerReading() - previous.getOdometerReading();
-                if (distance > 0) {
-                    double efficiency = distance / record.getQuantity().doubleValue();
-                    response.setEfficiencyKmPerLitre(Math.round(efficiency * 100.0) / 100.0);
-                    response.setDistanceSinceLast(distance);
-                }
-                break;
-            }
+        return records.stream()
+                .map(record -> {
+                    FuelRecordResponse response = toResponse(record);
+                    VehicleDetailDto vehicleDetail = vehicleDetails.get(record.getVehicle().getId());
+                    if (vehicleDetail != null) {
+                        response.setVehiclePlate(vehicleDetail.getPlateNumber());
+                        response.setVehicleMakeModel(vehicleDetail.getMake() + " " + vehicleDetail.getModel());
+                    }
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Double> loadPrecedingOdometers(Collection<Long> vehicleIds, LocalDate from) {
+        Map<Long, Double> lastOdometerByVehicle = new HashMap<>();
+        fuelRecordRepository.findPrecedingReadings(vehicleIds, from)
+                .forEach(reading -> lastOdometerByVehicle.put(reading.getVehicleId(), reading.getOdometerReading()));
+        return lastOdometerByVehicle;
+    }
+
+    private void applyEfficiency(FuelRecordResponse response, FuelRecord record, Double previousOdometer) {
+        if (previousOdometer == null || record.getOdometerReading() == null) {
+            return;
         }
 
-        return response;
+        double distance = record.getOdometerReading() - previousOdometer;
+        if (distance > 0) {
+            double efficiency = distance / record.getQuantity().doubleValue();
+            response.setEfficiencyKmPerLitre(Math.round(efficiency * 100.0) / 100.0);
+            response.setDistanceSinceLast(distance);
+        }
     }
 
     private Long parseVehicleId(String rawVehicleId) {
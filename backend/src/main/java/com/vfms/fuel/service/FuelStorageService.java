@@ -2,33 +2,41 @@ package com.vfms.fuel.service;
 
 import com.vfms.common.exception.ValidationException;
 import com.vfms.fuel.config.SupabaseStorageConfig;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.UUID;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class FuelStorageService {
 
     private final SupabaseStorageConfig config;
     private final RestTemplate restTemplate;
 
+    public FuelStorageService(SupabaseStorageConfig config,
+                              @Qualifier("storageRestTemplate") RestTemplate restTemplate) {
+        this.config = config;
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * Streams the receipt from the multipart temp file to storage using
+     * chunked transfer, so the file is never copied onto the heap. Callers
+     * should invoke this outside any database transaction.
+     */
     public String uploadReceipt(MultipartFile file) {
         try {
-            if (config.getStorageUrl() == null || config.getStorageUrl().isBlank()
-                    || config.getBucket() == null || config.getBucket().isBlank()
-                    || config.getServiceKey() == null || config.getServiceKey().isBlank()) {
-                throw new ValidationException("Supabase storage is not configured.");
-            }
+            requireConfigured();
 
             String fileName = "receipts/" + UUID.randomUUID() + "_" + file.getOriginalFilename();
             String uploadUrl = config.getStorageUrl()
@@ -36,20 +44,20 @@ public class FuelStorageService {
                     + config.getBucket()
                     + "/"
                     + fileName;
+            MediaType contentType = MediaType.parseMediaType(
+                    file.getContentType() != null ? file.getContentType() : "application/octet-stream");
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Bearer " + config.getServiceKey());
-            headers.setContentType(MediaType.parseMediaType(
-                    file.getContentType() != null ? file.getContentType() : "application/octet-stream"));
-
-            HttpEntity<byte[]> entity = new HttpEntity<>(file.getBytes(), headers);
-            restTemplate.exchange(uploadUrl, HttpMethod.POST, entity, String.class);
+            restTemplate.execute(uploadUrl, HttpMethod.POST, request -> {
+                request.getHeaders().setBearerAuth(config.getServiceKey());
+                request.getHeaders().setContentType(contentType);
+                if (request instanceof StreamingHttpOutputMessage streaming) {
+                    streaming.setBody(out -> copy(file, out));
+                } else {
+                    copy(file, request.getBody());
+                }
+            }, null);
 
-            return config.getStorageUrl()
-                    + "/object/public/"
-                    + config.getBucket()
-                    + "/"
-                    + fileName;
+            return publicUrlPrefix() + fileName;
         } catch (ValidationException ex) {
             throw ex;
         } catch (Exception e) {
@@ -57,4 +65,47 @@ public class FuelStorageService {
             throw new ValidationException("Failed to upload receipt. Please try again.", e);
         }
     }
+
+    /**
+     * Best-effort removal of a previously uploaded receipt, used when the
+     * fuel record that referenced it could not be saved.
+     */
+    public void deleteReceipt(String receiptUrl) {
+        String prefix = publicUrlPrefix();
+        if (receiptUrl == null || !receiptUrl.startsWith(prefix)) {
+            return;
+        }
+        String objectUrl = config.getStorageUrl()
+                + "/object/"
+                + config.getBucket()
+                + "/"
+                + receiptUrl.substring(prefix.length());
+        try {
+            restTemplate.execute(objectUrl, HttpMethod.DELETE,
+                    request -> request.getHeaders().setBearerAuth(config.getServiceKey()), null);
+        } catch (Exception e) {
+            log.warn("Failed to delete orphaned receipt {}: {}", receiptUrl, e.getMessage());
+        }
+    }
+
+    private void requireConfigured() {
+        if (config.getStorageUrl() == null || config.getStorageUrl().isBlank()
+                || config.getBucket() == null || config.getBucket().isBlank()
+                || config.getServiceKey() == null || config.getServiceKey().isBlank()) {
+            throw new ValidationException("Supabase storage is not configured.");
+        }
+    }
+
+    private String publicUrlPrefix() {
+        return config.getStorageUrl()
+                + "/object/public/"
+                + config.getBucket()
+                + "/";
+    }
+
+    private static void copy(MultipartFile file, OutputStream out) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            in.transferTo(out);
+        }
+    }
 }
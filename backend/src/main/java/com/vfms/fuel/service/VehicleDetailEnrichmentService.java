@@ -0,0 +1,103 @@
+package com.vfms.fuel.service;
+
+import com.vfms.fuel.client.VehicleApiClient;
+import com.vfms.fuel.client.VehicleDetailCache;
+import com.vfms.fuel.dto.VehicleDetailDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves real-time vehicle details for a batch of fuel records with one fetch
+ * per distinct vehicle. IDs are de-duplicated, served from {@link VehicleDetailCache}
+ * where possible, and the remaining misses are fetched through the bulk endpoint
+ * in chunks that run concurrently on a bounded executor, all within one overall
+ * timeout.
+ */
+@Slf4j
+@Service
+public class VehicleDetailEnrichmentService {
+
+    private final VehicleApiClient vehicleApiClient;
+    private final VehicleDetailCache vehicleDetailCache;
+    private final ThreadPoolTaskExecutor vehicleLookupExecutor;
+
+    @Value("${app.vehicle.enrichment.chunk-size:100}")
+    private int chunkSize = 100;
+
+    @Value("${app.vehicle.enrichment.timeout-ms:5000}")
+    private long timeoutMs = 5000;
+
+    public VehicleDetailEnrichmentService(
+            VehicleApiClient vehicleApiClient,
+            VehicleDetailCache vehicleDetailCache,
+            @Qualifier("vehicleLookupExecutor") ThreadPoolTaskExecutor vehicleLookupExecutor) {
+        this.vehicleApiClient = vehicleApiClient;
+        this.vehicleDetailCache = vehicleDetailCache;
+        this.vehicleLookupExecutor = vehicleLookupExecutor;
+    }
+
+    /**
+     * Returns details keyed by vehicle ID. Vehicles that could not be fetched are
+     * simply absent so callers can fall back to the locally stored vehicle data.
+     */
+    public Map<Long, VehicleDetailDto> resolve(Collection<Long> vehicleIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(vehicleIds);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, VehicleDetailDto> resolved = new HashMap<>(vehicleDetailCache.getAllPresent(distinctIds));
+        List<Long> missing = distinctIds.stream().filter(id -> !resolved.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        List<CompletableFuture<List<VehicleDetailDto>>> fetches = new ArrayList<>();
+        for (int start = 0; start < missing.size(); start += chunkSize) {
+            List<Long> chunk = missing.subList(start, Math.min(start + chunkSize, missing.size()));
+            fetches.add(CompletableFuture.supplyAsync(() -> fetchChunk(chunk), vehicleLookupExecutor));
+        }
+
+        // One deadline for the whole call: each chunk waits only for the time left, so N chunks cannot add up to
+        // N timeouts, and chunks that finished in time are still used when a later one does not
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (CompletableFuture<List<VehicleDetailDto>> fetch : fetches) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                List<VehicleDetailDto> vehicles = fetch.get(remaining, TimeUnit.NANOSECONDS);
+                vehicleDetailCache.putAll(vehicles);
+                vehicles.forEach(vehicle -> resolved.put(vehicle.getId(), vehicle));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fetch.cancel(true);
+                break;
+            } catch (Exception e) {
+                fetch.cancel(true);
+                vehicleDetailCache.recordFetchFailure();
+                log.warn("Vehicle enrichment chunk failed, falling back to stored data: {}", e.getMessage());
+            }
+        }
+
+        return resolved;
+    }
+
+    private List<VehicleDetailDto> fetchChunk(List<Long> chunk) {
+        return vehicleApiClient.getVehiclesByIds(chunk).stream()
+                .filter(vehicle -> vehicle.getId() != null)
+                .toList();
+    }
+}
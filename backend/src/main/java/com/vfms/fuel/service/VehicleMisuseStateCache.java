@@ -0,0 +1,151 @@
+package com.vfms.fuel.service;
+
+import com.vfms.fuel.dto.FuelMisuseEntryProjection;
+import com.vfms.fuel.repository.FuelRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Bounded, per-vehicle rolling state used by the misuse heuristics: the two
+ * most recent entries (so an update can still see its predecessor) and the
+ * record ids logged on recently checked dates.
+ *
+ * Each part is loaded with one indexed lookup the first time it is needed and
+ * then rolled forward from committed appends. Edits and deletes drop the
+ * vehicle's state, which is reloaded on the next check. The least recently
+ * used vehicle is evicted once the cache is full.
+ */
+@Component
+public class VehicleMisuseStateCache {
+
+    private static final int LATEST_ENTRIES = 2;
+    private static final int TRACKED_DAYS = 31;
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::fuelDate)
+            .thenComparing(Entry::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .reversed();
+
+    private final FuelRecordRepository fuelRecordRepository;
+    private final LinkedHashMap<Long, VehicleState> states;
+
+    public VehicleMisuseStateCache(
+            FuelRecordRepository fuelRecordRepository,
+            @Value("${fuel.misuse.state-cache.max-vehicles:2000}") int maxVehicles) {
+        this.fuelRecordRepository = fuelRecordRepository;
+        this.states = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, VehicleState> eldest) {
+                return size() > maxVehicles;
+            }
+        };
+    }
+
+    /**
+     * Odometer reading of the vehicle's most recent entry other than
+     * {@code excludeRecordId}, or {@code null} when there is none.
+     */
+    public Double previousOdometer(Long vehicleId, UUID excludeRecordId) {
+        VehicleState state = stateFor(vehicleId);
+        synchronized (state) {
+            if (state.latest == null) {
+                state.latest = new ArrayList<>(fuelRecordRepository
+                        .findLatestEntriesByVehicle(vehicleId, Limit.of(LATEST_ENTRIES))
+                        .stream()
+                        .map(Entry::from)
+                        .toList());
+            }
+            return state.latest.stream()
+                    .filter(entry -> !entry.id().equals(excludeRecordId))
+                    .map(Entry::odometerReading)
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Number of entries logged for the vehicle on {@code date}, not counting
+     * {@code excludeRecordId}.
+     */
+    public long entriesOn(Long vehicleId, LocalDate date, UUID excludeRecordId) {
+        VehicleState state = stateFor(vehicleId);
+        synchronized (state) {
+            Set<UUID> ids = state.dayEntries.get(date);
+            if (ids == null) {
+                ids = new HashSet<>(fuelRecordRepository.findIdsByVehicleAndDate(vehicleId, date));
+                state.dayEntries.put(date, ids);
+                while (state.dayEntries.size() > TRACKED_DAYS) {
+                    state.dayEntries.pollFirstEntry();
+                }
+            }
+            return excludeRecordId != null && ids.contains(excludeRecordId) ? ids.size() - 1 : ids.size();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFuelRecordChanged(FuelRecordChangedEvent event) {
+        if (!event.appended()) {
+            evict(event.vehicleId());
+            return;
+        }
+        VehicleState state;
+        synchronized (this) {
+            state = states.get(event.vehicleId());
+        }
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            if (state.latest != null) {
+                state.latest.removeIf(entry -> entry.id().equals(event.recordId()));
+                state.latest.add(new Entry(
+                        event.recordId(), event.fuelDate(), event.createdAt(), event.odometerReading()));
+                state.latest.sort(NEWEST_FIRST);
+                while (state.latest.size() > LATEST_ENTRIES) {
+                    state.latest.remove(state.latest.size() - 1);
+                }
+            }
+            Set<UUID> ids = state.dayEntries.get(event.fuelDate());
+            if (ids != null) {
+                ids.add(event.recordId());
+            }
+        }
+    }
+
+    public synchronized void evict(Long vehicleId) {
+        states.remove(vehicleId);
+    }
+
+    private synchronized VehicleState stateFor(Long vehicleId) {
+        return states.computeIfAbsent(vehicleId, id -> new VehicleState());
+    }
+
+    private static final class VehicleState {
+        private List<Entry> latest;
+        private final TreeMap<LocalDate, Set<UUID>> dayEntries = new TreeMap<>();
+    }
+
+    private record Entry(UUID id, LocalDate fuelDate, LocalDateTime createdAt, Double odometerReading) {
+
+        static Entry from(FuelMisuseEntryProjection projection) {
+            return new Entry(
+                    projection.getId(),
+                    projection.getFuelDate(),
+                    projection.getCreatedAt(),
+                    projection.getOdometerReading());
+        }
+    }
+}
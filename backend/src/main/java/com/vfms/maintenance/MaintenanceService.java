@@ -5,8 +5,10 @@ import com.vfms.maintenance.dto.MaintenanceRequestDto;
 import com.vfms.maintenance.dto.MaintenanceResponseDto;
 import com.vfms.vehicle.Vehicle;
 import com.vfms.vehicle.VehicleRepository;
+import com.vfms.vehicle.VehicleChangedEvent;
 import com.vfms.vehicle.VehicleStatus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class MaintenanceService {
 
     private final MaintenanceRepository maintenanceRepository;
     private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public MaintenanceResponseDto createRequest(MaintenanceRequestDto request) {
@@ -92,7 +95,9 @@ public class MaintenanceService {
         mr.setApprovedDate(LocalDateTime.now());
         mr.getVehicle().setStatus(VehicleStatus.UNDER_MAINTENANCE);
 
-        return mapToResponse(maintenanceRepository.save(mr));
+        MaintenanceRequest saved = maintenanceRepository.save(mr);
+        eventPublisher.publishEvent(new VehicleChangedEvent(mr.getVehicle().getId()));
+        return mapToResponse(saved);
     }
 
     // Rejection reason is persisted rather than discarded so there is a traceable record if the same request is disputed or resubmitted later
@@ -131,7 +136,11 @@ public class MaintenanceService {
             mr.getVehicle().setStatus(VehicleStatus.AVAILABLE);
         }
 
-        return mapToResponse(maintenanceRepository.save(mr));
+        MaintenanceRequest saved = maintenanceRepository.save(mr);
+        if (originalStatus == MaintenanceStatus.APPROVED) {
+            eventPublisher.publishEvent(new VehicleChangedEvent(mr.getVehicle().getId()));
+        }
+        return mapToResponse(saved);
     }
 
     @Transactional(readOnly = true)
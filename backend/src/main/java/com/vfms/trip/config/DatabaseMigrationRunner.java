@@ -2,22 +2,54 @@ package com.vfms.trip.config;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
+// Applies the trip migrations on startup. The EntityManagerFactory depends on this bean, so the scripts run before
+// Hibernate validates the schema; on a fresh database the tables do not exist yet and Hibernate creates them instead.
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class DatabaseMigrationRunner {
 
+    private static final String FUEL_INDEX_SCRIPT = "db/migration/V18__add_fuel_records_indexes.sql";
+    private static final String SEARCH_INDEX_SCRIPT = "db/migration/V19__add_trip_requests_search_indexes.sql";
+    private static final String BOOKING_EXCLUSION_SCRIPT = "db/migration/V20__add_trip_requests_booking_exclusion.sql";
+    private static final String VERSION_COLUMN_SCRIPT = "db/migration/V21__add_trip_requests_version.sql";
+    private static final String TRIP_EVENTS_SCRIPT = "db/migration/V22__create_trip_events_and_outbox.sql";
+    private static final String UTILIZATION_SCRIPT = "db/migration/V23__create_trip_utilization_daily.sql";
+
     private final DataSource dataSource;
 
+    // Makes the EntityManagerFactory wait for runMigrations, so ddl-auto=validate sees the migrated schema
+    @Component
+    static class RunBeforeEntityManagerFactory extends EntityManagerFactoryDependsOnPostProcessor {
+        RunBeforeEntityManagerFactory() {
+            super(DatabaseMigrationRunner.class);
+        }
+    }
+
     @PostConstruct
     public void runMigrations() {
+        createFuelIndexes();
         updateTripStatusConstraint();
+        createSearchIndexes();
+        addBookingExclusionConstraints();
+        addTripVersionColumn();
+        createTripEventTables();
+        createUtilizationTables();
     }
 
     private void updateTripStatusConstraint() {
@@ -38,6 +70,10 @@ public class DatabaseMigrationRunner {
         try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement()) {
 
+            // Runs before Hibernate, so on a fresh database the table is created later with its own constraint
+            if (!tableExists(conn, "trip_requests")) {
+                return;
+            }
             stmt.execute(dropConstraint);
             stmt.execute(addConstraint);
 
@@ -48,4 +84,136 @@ public class DatabaseMigrationRunner {
             }
         }
     }
+
+    // The fuel read paths depend on these indexes, so a failure stops startup instead of leaving a silent full scan.
+    // A CONCURRENTLY build that fails leaves an INVALID index that IF NOT EXISTS would then skip, so leftovers are
+    // dropped before the script runs and the result is checked afterwards.
+    private void createFuelIndexes() {
+        try (Connection conn = dataSource.getConnection()) {
+            // INCLUDE and partial indexes are PostgreSQL-only, so skip on other databases (e.g. the H2 test profile)
+            if (!"PostgreSQL".equals(conn.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            if (!tableExists(conn, "fuel_records")) {
+                log.warn("fuel_records does not exist yet; its indexes are created on the next startup");
+                return;
+            }
+            // CREATE INDEX CONCURRENTLY cannot run inside a transaction block
+            conn.setAutoCommit(true);
+            try (Statement stmt = conn.createStatement()) {
+                for (String index : invalidFuelIndexes(conn)) {
+                    stmt.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+                }
+            }
+            new ResourceDatabasePopulator(new ClassPathResource(FUEL_INDEX_SCRIPT)).populate(conn);
+            List<String> invalid = invalidFuelIndexes(conn);
+            if (!invalid.isEmpty()) {
+                throw new IllegalStateException("fuel_records indexes were left invalid: " + invalid);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create fuel_records indexes", e);
+        }
+    }
+
+    private static List<String> invalidFuelIndexes(Connection conn) throws SQLException {
+        List<String> invalid = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                     "WHERE NOT i.indisvalid AND c.relname LIKE 'idx_fuel_records_%'")) {
+            while (rs.next()) {
+                invalid.add(rs.getString(1));
+            }
+        }
+        return invalid;
+    }
+
+    private void createSearchIndexes() {
+        try (Connection conn = dataSource.getConnection()) {
+            // Trigram indexes are PostgreSQL-only, so skip on other databases (e.g. the H2 test profile)
+            if (!"PostgreSQL".equals(conn.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            // CREATE INDEX CONCURRENTLY cannot run inside a transaction block
+            conn.setAutoCommit(true);
+            new ResourceDatabasePopulator(new ClassPathResource(SEARCH_INDEX_SCRIPT)).populate(conn);
+        } catch (SQLException | RuntimeException e) {
+            // Search still works without the indexes, just slower, so don't block startup
+            log.warn("Could not apply trip_requests search indexes: {}", e.getMessage());
+        }
+    }
+
+    private void addBookingExclusionConstraints() {
+        try (Connection conn = dataSource.getConnection()) {
+            // Exclusion constraints are PostgreSQL-only, so skip on other databases (e.g. the H2 test profile)
+            if (!"PostgreSQL".equals(conn.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            // Building the constraints scans the table, so only run the script when one of them is missing
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT count(*) FROM pg_constraint WHERE conname IN " +
+                         "('trip_requests_vehicle_no_overlap', 'trip_requests_driver_no_overlap')")) {
+                if (rs.next() && rs.getInt(1) == 2) {
+                    return;
+                }
+            }
+            new ResourceDatabasePopulator(new ClassPathResource(BOOKING_EXCLUSION_SCRIPT)).populate(conn);
+        } catch (SQLException | RuntimeException e) {
+            // Existing overlapping bookings make the constraint fail; the in-memory index still guards this node
+            log.warn("Could not add trip_requests booking exclusion constraints: {}", e.getMessage());
+        }
+    }
+
+    // Production runs with ddl-auto=validate, which checks the schema when the EntityManagerFactory starts; that now
+    // waits for this runner, so the column exists by the time Hibernate looks for it
+    private void addTripVersionColumn() {
+        try (Connection conn = dataSource.getConnection()) {
+            // The script uses PostgreSQL syntax, so skip on other databases (e.g. the H2 test profile)
+            if (!"PostgreSQL".equals(conn.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            new ResourceDatabasePopulator(new ClassPathResource(VERSION_COLUMN_SCRIPT)).populate(conn);
+        } catch (SQLException | RuntimeException e) {
+            // Trip writes fail without the column, so make the cause obvious in the startup log
+            log.warn("Could not add trip_requests version column: {}", e.getMessage());
+        }
+    }
+
+    // Like V21, applied before ddl-auto=validate checks the entities mapped to these tables
+    private void createTripEventTables() {
+        try (Connection conn = dataSource.getConnection()) {
+            // BIGSERIAL and the partial index are PostgreSQL-only, so skip on other databases (e.g. the H2 test profile)
+            if (!"PostgreSQL".equals(conn.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            new ResourceDatabasePopulator(new ClassPathResource(TRIP_EVENTS_SCRIPT)).populate(conn);
+        } catch (SQLException | RuntimeException e) {
+            // Trip transitions write their event and outbox rows in the same transaction, so they fail without these
+            log.warn("Could not create trip_events and trip_outbox tables: {}", e.getMessage());
+        }
+    }
+
+    private void createUtilizationTables() {
+        try (Connection conn = dataSource.getConnection()) {
+            // The rollup is maintained with PostgreSQL upserts, so skip on other databases (e.g. the H2 test profile)
+            if (!"PostgreSQL".equals(conn.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            new ResourceDatabasePopulator(new ClassPathResource(UTILIZATION_SCRIPT)).populate(conn);
+        } catch (SQLException | RuntimeException e) {
+            // Trips still complete without the rollup; completion events retry once the tables exist
+            log.warn("Could not create trip utilization tables: {}", e.getMessage());
+        }
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(null, null, table, new String[] {"TABLE"})) {
+            if (rs.next()) {
+                return true;
+            }
+        }
+        // H2 reports unquoted identifiers in upper case
+        try (ResultSet rs = conn.getMetaData().getTables(null, null, table.toUpperCase(Locale.ROOT), new String[] {"TABLE"})) {
+            return rs.next();
+        }
+    }
 }
@@ -6,14 +6,33 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.vfms.trip.dto.CreateTripRequestDTO;
+import com.vfms.trip.entity.TripEvent;
 import com.vfms.trip.entity.TripRequest;
 import com.vfms.trip.service.TripRequestService;
 import com.vfms.trip.enums.TripStatus;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import com.vfms.trip.dto.ApprovalDTO;
 import com.vfms.trip.dto.VehicleOptionDTO;
 import com.vfms.trip.dto.DriverOptionDTO;
+import com.vfms.trip.dto.TripSearchPageDTO;
+import com.vfms.trip.dto.TripSummaryDTO;
+import com.vfms.trip.dto.DispatchAvailabilityDTO;
+import com.vfms.trip.service.DispatchAvailabilityService;
+import com.vfms.trip.dto.BatchAssignmentResultDTO;
+import com.vfms.trip.service.BatchAssignmentService;
+import com.vfms.trip.dto.TripCalendarEntryDTO;
+import com.vfms.trip.service.TripCalendarCache;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+import com.vfms.vehicle.VehicleType;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
+import java.time.LocalDate;
+import com.vfms.trip.dto.TripUtilizationDTO;
+import com.vfms.trip.dto.UtilizationBackfillResultDTO;
+import com.vfms.trip.service.TripUtilizationService;
 
 /**
  * REST Controller handling all HTTP requests related to Trip Requests.
@@ -27,6 +46,9 @@ public class TripRequestController {
 
     // Service layer dependency where the actual business logic is executed
     private final TripRequestService service;
+    private final DispatchAvailabilityService dispatchAvailabilityService;
+    private final BatchAssignmentService batchAssignmentService;
+    private final TripUtilizationService utilizationService;
 
     // ==========================================
     // CREATION & BASIC RETRIEVAL ENDPOINTS
@@ -42,19 +64,21 @@ public class TripRequestController {
     }
 
     /**
-     * Retrieves all trip requests in the system.
+     * Retrieves all trip requests in the system as lightweight summaries.
+     * Like every list endpoint below, accepts ?fields=id,status,... to return only the named fields.
      */
     @GetMapping
-    public ResponseEntity<List<TripRequest>> getAllTrips() {
-        return ResponseEntity.ok(service.getAllTrips());
+    public ResponseEntity<List<?>> getAllTrips(@RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(summaries(service.getAllTrips(), fields));
     }
 
     /**
      * Retrieves trip requests filtered by a specific status (e.g., NEW, APPROVED, COMPLETED).
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TripRequest>> getTripsByStatus(@PathVariable TripStatus status) {
-        return ResponseEntity.ok(service.getTripsByStatus(status));
+    public ResponseEntity<List<?>> getTripsByStatus(@PathVariable TripStatus status,
+                                                    @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(summaries(service.getTripsByStatus(status), fields));
     }
 
     /**
@@ -69,8 +93,9 @@ public class TripRequestController {
      * Retrieves all trips associated with a specific requester (user).
      */
     @GetMapping("/requester/{requesterId}")
-    public ResponseEntity<List<TripRequest>> getTripsByRequester(@PathVariable UUID requesterId) {
-        return ResponseEntity.ok(service.getTripsByRequester(requesterId));
+    public ResponseEntity<List<?>> getTripsByRequester(@PathVariable UUID requesterId,
+                                                       @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(summaries(service.getTripsByRequester(requesterId), fields));
     }
 
     // ==========================================
@@ -125,32 +150,58 @@ public class TripRequestController {
         return ResponseEntity.ok(service.assignVehicle(id, dto));
     }
 
+    /**
+     * Assigns vehicles and drivers to every approved trip departing in the given window that is still missing one.
+     * Defaults to a dry run that only returns the plan; pass dryRun=false to save it.
+     */
+    @PostMapping("/batch-assign")
+    public ResponseEntity<BatchAssignmentResultDTO> batchAssign(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        return ResponseEntity.ok(batchAssignmentService.assign(from, to, dryRun));
+    }
+
     // ==========================================
     // RESOURCE AVAILABILITY ENDPOINTS
     // ==========================================
 
     /**
      * Retrieves a list of vehicles currently available for assignment.
+     * The option lists are cached in memory and carry an ETag, so repeat form loads get a 304.
      */
     @GetMapping("/available-vehicles")
-    public ResponseEntity<List<VehicleOptionDTO>> getAvailableVehicles() {
-        return ResponseEntity.ok(service.getAvailableVehicles());
+    public ResponseEntity<List<VehicleOptionDTO>> getAvailableVehicles(WebRequest request) {
+        return service.getAvailableVehicles().toResponse(request);
     }
 
     /**
      * Retrieves a list of drivers currently available for assignment.
      */
     @GetMapping("/available-drivers")
-    public ResponseEntity<List<DriverOptionDTO>> getAvailableDrivers() {
-        return ResponseEntity.ok(service.getAvailableDrivers());
+    public ResponseEntity<List<DriverOptionDTO>> getAvailableDrivers(WebRequest request) {
+        return service.getAvailableDrivers().toResponse(request);
     }
 
     /**
      * Retrieves a complete list of all drivers in the system, regardless of availability.
      */
     @GetMapping("/all-drivers")
-    public ResponseEntity<List<DriverOptionDTO>> getAllDrivers() {
-        return ResponseEntity.ok(service.getAllDrivers());
+    public ResponseEntity<List<DriverOptionDTO>> getAllDrivers(WebRequest request) {
+        return service.getAllDrivers().toResponse(request);
+    }
+
+    /**
+     * Retrieves every vehicle and driver that is free, ready and qualified for the given window and vehicle category,
+     * so a dispatch screen can be filled in a single request.
+     */
+    @GetMapping("/dispatch/availability")
+    public ResponseEntity<DispatchAvailabilityDTO> getDispatchAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam String vehicleCategory,
+            @RequestParam(required = false) VehicleType vehicleType) {
+        return ResponseEntity.ok(dispatchAvailabilityService.getAvailability(from, to, vehicleCategory, vehicleType));
     }
 
     // ==========================================
@@ -205,52 +256,112 @@ public class TripRequestController {
      * Retrieves all trips assigned to a specific driver.
      */
     @GetMapping("/driver/{driverId}")
-    public ResponseEntity<List<TripRequest>> getTripsByDriver(@PathVariable UUID driverId) {
-        return ResponseEntity.ok(service.getTripsByDriver(driverId));
+    public ResponseEntity<List<?>> getTripsByDriver(@PathVariable UUID driverId,
+                                                    @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(summaries(service.getTripsByDriver(driverId), fields));
     }
 
     /**
      * Retrieves upcoming (not yet started/completed) trips for a specific driver.
      */
     @GetMapping("/driver/{driverId}/upcoming")
-    public ResponseEntity<List<TripRequest>> getUpcomingTripsByDriver(@PathVariable UUID driverId) {
-        return ResponseEntity.ok(service.getUpcomingTripsByDriver(driverId));
+    public ResponseEntity<List<?>> getUpcomingTripsByDriver(@PathVariable UUID driverId,
+                                                            @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(summaries(service.getUpcomingTripsByDriver(driverId), fields));
     }
 
     /**
      * Retrieves the past trip history (completed/cancelled) for a specific requester.
      */
     @GetMapping("/requester/{requesterId}/history")
-    public ResponseEntity<List<TripRequest>> getRequesterTripHistory(@PathVariable UUID requesterId) {
-        return ResponseEntity.ok(service.getRequesterTripHistory(requesterId));
+    public ResponseEntity<List<?>> getRequesterTripHistory(@PathVariable UUID requesterId,
+                                                           @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(summaries(service.getRequesterTripHistory(requesterId), fields));
     }
 
     /**
      * Retrieves currently active trips (new, submitted, approved, ongoing) for a requester.
      */
     @GetMapping("/requester/{requesterId}/active")
-    public ResponseEntity<List<TripRequest>> getRequesterActiveTrips(@PathVariable UUID requesterId) {
-        return ResponseEntity.ok(service.getRequesterActiveTrips(requesterId));
+    public ResponseEntity<List<?>> getRequesterActiveTrips(@PathVariable UUID requesterId,
+                                                           @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(summaries(service.getRequesterActiveTrips(requesterId), fields));
+    }
+
+    /**
+     * Retrieves the append-only lifecycle history of a trip, oldest transition first.
+     */
+    @GetMapping("/{id}/events")
+    public ResponseEntity<List<TripEvent>> getTripHistory(@PathVariable UUID id) {
+        return ResponseEntity.ok(service.getTripHistory(id));
     }
 
     /**
-     * Retrieves trips formatted or filtered for a calendar view, based on year and month.
+     * Retrieves lightweight calendar entries for trips departing in the given year and month.
+     * Responses carry an ETag, so browsers revalidate with If-None-Match and unchanged months return 304.
      */
     @GetMapping("/calendar")
-    public ResponseEntity<List<TripRequest>> getTripsForCalendar(
+    public ResponseEntity<List<TripCalendarEntryDTO>> getTripsForCalendar(
             @RequestParam int year,
-            @RequestParam int month) {
-        return ResponseEntity.ok(service.getTripsForCalendar(year, month));
+            @RequestParam int month,
+            WebRequest request) {
+        TripCalendarCache.CalendarMonth calendar = service.getCalendarMonth(year, month);
+        // Repeat views with a matching If-None-Match get an empty 304 instead of the month's trips
+        if (request.checkNotModified(calendar.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(calendar.etag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(calendar.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(calendar.entries());
     }
 
     /**
      * Searches for trips using optional filtering criteria (destination, status, requester).
+     * Results are newest first and keyset-paginated: pass the returned nextCursor to fetch the next page.
+     * The total match count is only computed when includeTotal=true.
      */
     @GetMapping("/search")
-    public ResponseEntity<List<TripRequest>> searchTrips(
+    public ResponseEntity<TripSearchPageDTO> searchTrips(
             @RequestParam(required = false) String destination,
             @RequestParam(required = false) TripStatus status,
-            @RequestParam(required = false) UUID requesterId) {
-        return ResponseEntity.ok(service.searchTrips(destination, status, requesterId));
+            @RequestParam(required = false) UUID requesterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(service.searchTrips(destination, status, requesterId, cursor, size, includeTotal));
+    }
+
+    // ==========================================
+    // UTILIZATION ANALYTICS ENDPOINTS
+    // ==========================================
+
+    /**
+     * Retrieves pre-aggregated daily utilization (hours on trip, km, idle hours) for vehicles or drivers.
+     * Reads only the rollup table, never the trip history itself.
+     */
+    @GetMapping("/utilization")
+    public ResponseEntity<List<TripUtilizationDTO>> getDailyUtilization(
+            @RequestParam String resourceType,
+            @RequestParam(required = false) String resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(utilizationService.getDailyUtilization(resourceType, resourceId, from, to));
+    }
+
+    /**
+     * Folds every completed trip not yet counted into the utilization rollup. Safe to re-run.
+     */
+    @PostMapping("/utilization/backfill")
+    public ResponseEntity<UtilizationBackfillResultDTO> backfillUtilization() {
+        return ResponseEntity.ok(utilizationService.backfill());
+    }
+
+    // List endpoints return trip summaries; ?fields=id,status,... trims each one down to the named fields
+    private static List<?> summaries(List<TripSummaryDTO> trips, Set<String> fields) {
+        return fields == null || fields.isEmpty() ? trips : TripSummaryDTO.select(trips, fields);
     }
 }
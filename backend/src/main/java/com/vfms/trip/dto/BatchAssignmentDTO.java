@@ -0,0 +1,17 @@
+package com.vfms.trip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+// One planned (or applied) trip assignment; idleMinutes is the vehicle's gap since its previous batch trip
+@Data
+@AllArgsConstructor
+public class BatchAssignmentDTO {
+    private UUID tripId;
+    private String vehicleCategory;
+    private Long vehicleId;
+    private UUID driverId;
+    private long idleMinutes;
+}
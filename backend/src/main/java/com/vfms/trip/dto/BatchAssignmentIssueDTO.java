@@ -0,0 +1,14 @@
+package com.vfms.trip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+// A trip the batch run could not assign, with the reason
+@Data
+@AllArgsConstructor
+public class BatchAssignmentIssueDTO {
+    private UUID tripId;
+    private String reason;
+}
@@ -0,0 +1,21 @@
+package com.vfms.trip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Outcome of a batch assignment run. In dry-run mode the assignments are only a plan and nothing is saved.
+@Data
+@AllArgsConstructor
+public class BatchAssignmentResultDTO {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean dryRun;
+    private int tripsConsidered;
+    private List<BatchAssignmentDTO> assignments;
+    private List<BatchAssignmentIssueDTO> unassigned;
+    private long totalIdleMinutes;
+    private long solveMillis;
+}
@@ -0,0 +1,21 @@
+package com.vfms.trip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Free resources for one dispatch window. Qualification depends only on the vehicle category, so every listed
+// driver can be paired with every listed vehicle; pairCount is the size of that matrix.
+@Data
+@AllArgsConstructor
+public class DispatchAvailabilityDTO {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String vehicleCategory;
+    private String vehicleType;
+    private List<VehicleOptionDTO> vehicles;
+    private List<DriverOptionDTO> drivers;
+    private long pairCount;
+}
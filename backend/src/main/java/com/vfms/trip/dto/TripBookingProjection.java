@@ -0,0 +1,13 @@
+package com.vfms.trip.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Lightweight view of a trip's resource booking, used to rebuild the in-memory conflict index
+public interface TripBookingProjection {
+    UUID getId();
+    Long getAssignedVehicleId();
+    UUID getAssignedDriverId();
+    LocalDateTime getDepartureTime();
+    LocalDateTime getReturnTime();
+}
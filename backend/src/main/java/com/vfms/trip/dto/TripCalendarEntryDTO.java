@@ -0,0 +1,20 @@
+package com.vfms.trip.dto;
+
+import com.vfms.trip.enums.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Lightweight calendar view of a trip; only the fields the calendar UI renders
+@Data
+@AllArgsConstructor
+public class TripCalendarEntryDTO {
+    private UUID id;
+    private String purpose;
+    private String destination;
+    private LocalDateTime departureTime;
+    private LocalDateTime returnTime;
+    private TripStatus status;
+}
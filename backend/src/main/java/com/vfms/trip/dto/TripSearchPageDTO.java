@@ -0,0 +1,17 @@
+package com.vfms.trip.dto;
+
+import com.vfms.trip.entity.TripRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// One keyset page of trip search results; totalCount is only populated when explicitly requested
+@Data
+@AllArgsConstructor
+public class TripSearchPageDTO {
+    private List<TripRequest> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long totalCount;
+}
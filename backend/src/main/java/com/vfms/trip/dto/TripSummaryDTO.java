@@ -0,0 +1,68 @@
+package com.vfms.trip.dto;
+
+import com.vfms.trip.enums.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+// List view of a trip, selected straight from JPQL. Carries the approval notes (the rejection reason shown to
+// requesters) but leaves out the approver and audit columns; detail views still load the full TripRequest.
+@Data
+@AllArgsConstructor
+public class TripSummaryDTO {
+    private UUID id;
+    private UUID requesterId;
+    private String purpose;
+    private String destination;
+    private LocalDateTime departureTime;
+    private LocalDateTime returnTime;
+    private Integer passengerCount;
+    private TripStatus status;
+    private Long assignedVehicleId;
+    private UUID assignedDriverId;
+    private String approvalNotes;
+    private LocalDateTime createdAt;
+
+    // Field names accepted by the "fields" query parameter, in response order
+    private static final Map<String, Function<TripSummaryDTO, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", TripSummaryDTO::getId);
+        FIELDS.put("requesterId", TripSummaryDTO::getRequesterId);
+        FIELDS.put("purpose", TripSummaryDTO::getPurpose);
+        FIELDS.put("destination", TripSummaryDTO::getDestination);
+        FIELDS.put("departureTime", TripSummaryDTO::getDepartureTime);
+        FIELDS.put("returnTime", TripSummaryDTO::getReturnTime);
+        FIELDS.put("passengerCount", TripSummaryDTO::getPassengerCount);
+        FIELDS.put("status", TripSummaryDTO::getStatus);
+        FIELDS.put("assignedVehicleId", TripSummaryDTO::getAssignedVehicleId);
+        FIELDS.put("assignedDriverId", TripSummaryDTO::getAssignedDriverId);
+        FIELDS.put("approvalNotes", TripSummaryDTO::getApprovalNotes);
+        FIELDS.put("createdAt", TripSummaryDTO::getCreatedAt);
+    }
+
+    // Keeps only the requested fields of each summary; unknown names are rejected so typos don't silently drop data
+    public static List<Map<String, Object>> select(List<TripSummaryDTO> summaries, Collection<String> fields) {
+        for (String field : fields) {
+            if (!FIELDS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown trip field: " + field + ". Allowed: " + FIELDS.keySet());
+            }
+        }
+        return summaries.stream().map(summary -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            FIELDS.forEach((name, getter) -> {
+                if (fields.contains(name)) {
+                    row.put(name, getter.apply(summary));
+                }
+            });
+            return row;
+        }).toList();
+    }
+}
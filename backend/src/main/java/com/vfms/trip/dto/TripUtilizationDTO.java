@@ -0,0 +1,21 @@
+package com.vfms.trip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One pre-aggregated day of utilization for a vehicle or driver. Idle time is the time between the first trip
+// starting and the last trip ending that day which was not spent on a trip.
+@Data
+@AllArgsConstructor
+public class TripUtilizationDTO {
+    private LocalDate day;
+    private String resourceType;
+    private String resourceId;
+    private int tripCount;
+    private BigDecimal hoursOnTrip;
+    private BigDecimal distanceKm;
+    private BigDecimal idleHours;
+}
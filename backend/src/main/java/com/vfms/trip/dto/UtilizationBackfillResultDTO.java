@@ -0,0 +1,12 @@
+package com.vfms.trip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UtilizationBackfillResultDTO {
+    private int tripsApplied;
+    private int chunks;
+    private long elapsedMillis;
+}
@@ -0,0 +1,64 @@
+package com.vfms.trip.entity;
+
+import com.vfms.trip.enums.TripEventType;
+import com.vfms.trip.enums.TripStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Append-only record of one trip lifecycle transition, mapped to the "trip_events" table. Rows are never updated;
+// the trip's history is the ordered list of its events.
+@Entity
+@Table(name = "trip_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trip_id", nullable = false)
+    private UUID tripId;
+
+    // Trip version written by this transition, so events of one trip are totally ordered
+    @Column(name = "trip_version", nullable = false)
+    private Long tripVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private TripEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 20)
+    private TripStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 20)
+    private TripStatus toStatus;
+
+    // Resource assignment after the transition, plus the driver it replaced (if any)
+    @Column(name = "assigned_vehicle_id")
+    private Long assignedVehicleId;
+
+    @Column(name = "assigned_driver_id")
+    private UUID assignedDriverId;
+
+    @Column(name = "previous_driver_id")
+    private UUID previousDriverId;
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    @CreationTimestamp
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
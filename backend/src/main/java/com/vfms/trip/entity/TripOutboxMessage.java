@@ -0,0 +1,43 @@
+package com.vfms.trip.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Pending delivery of a trip event to in-process consumers, mapped to the "trip_outbox" table. Written in the same
+// transaction as the event itself, so an event is delivered if and only if its transition committed.
+@Entity
+@Table(name = "trip_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Null until a dispatcher has delivered the message
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -73,6 +73,11 @@ public class TripRequest {
     @Column(name = "end_time")
     private LocalDateTime endTime;
 
+    // Optimistic lock: every update checks and bumps this, so concurrent lifecycle transitions cannot overwrite each other
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     // Automatic audit timestamps managed by Hibernate
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
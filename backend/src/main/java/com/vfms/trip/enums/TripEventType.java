@@ -0,0 +1,17 @@
+package com.vfms.trip.enums;
+
+public enum TripEventType {
+    CREATED,
+    EDITED,
+    SUBMITTED,
+    APPROVED,
+    REJECTED,
+    DRIVER_ASSIGNED,
+    VEHICLE_ASSIGNED,
+    BATCH_ASSIGNED,
+    DRIVER_ACCEPTED,
+    DRIVER_REJECTED,
+    STARTED,
+    COMPLETED,
+    CANCELLED
+}
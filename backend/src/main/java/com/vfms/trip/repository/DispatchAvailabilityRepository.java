@@ -0,0 +1,160 @@
+package com.vfms.trip.repository;
+
+import com.vfms.trip.dto.DriverOptionDTO;
+import com.vfms.trip.dto.VehicleOptionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Native queries behind the dispatch availability matrix. Readiness, leave, licence and certification checks are
+// joined in one statement per resource type so the dispatch screen never loops over drivers in Java.
+@Repository
+@RequiredArgsConstructor
+public class DispatchAvailabilityRepository {
+
+    private static final String VEHICLES_SQL = """
+            SELECT v.id, v.brand, v.model, v.plate_number
+            FROM vehicles v
+            WHERE v.status = 'AVAILABLE' AND v.active = TRUE
+            """;
+
+    // Ready (valid licence and certifications), not inactive, no approved leave overlapping the window, and
+    // holding a valid licence of an accepted class that lasts until the window ends
+    private static final String DRIVERS_SQL = """
+            SELECT d.id::text AS id, d.first_name, d.last_name, d.employee_id
+            FROM drivers d
+            JOIN driver_readiness_cache r ON r.driver_id = d.id
+            WHERE d.status = 'ACTIVE'
+              AND r.license_valid = TRUE
+              AND r.all_certs_valid = TRUE
+              AND r.availability_status NOT IN (:excludedStatuses)
+              AND NOT EXISTS (
+                  SELECT 1 FROM driver_leaves l
+                  WHERE l.driver_id = d.id AND l.status = 'APPROVED'
+                    AND l.start_date <= :toDate AND l.end_date >= :fromDate)
+              AND EXISTS (
+                  SELECT 1 FROM driver_licenses dl
+                  WHERE dl.driver_id = d.id AND dl.status = 'VALID'
+                    AND dl.expiry_date >= :toDate AND dl.category IN (:licenseClasses))
+            """;
+
+    // Appended when the category needs certifications: the driver must hold every one of them
+    private static final String CERTIFICATIONS_CLAUSE = """
+              AND (SELECT COUNT(DISTINCT c.cert_type) FROM driver_certifications c
+                   WHERE c.driver_id = d.id AND c.status = 'VALID'
+                     AND (c.expiry_date IS NULL OR c.expiry_date >= :toDate)
+                     AND c.cert_type IN (:certTypes)) = :certCount
+            """;
+
+    // Every vehicle of a dispatchable type; schedulable marks the ones that can take new trips
+    private static final String ASSIGNMENT_VEHICLES_SQL = """
+            SELECT v.id, v.vehicle_type, v.seating_capacity,
+                   (v.status = 'AVAILABLE' AND v.active = TRUE AND v.seating_capacity IS NOT NULL) AS schedulable
+            FROM vehicles v
+            WHERE v.vehicle_type IN (:vehicleTypes)
+            """;
+
+    // Valid licence classes and certifications of every ready driver, one row per credential
+    private static final String READY_DRIVER_CREDENTIALS_SQL = """
+            SELECT d.id::text AS driver_id, r.availability_status, 'LICENSE' AS kind, dl.category AS code
+            FROM drivers d
+            JOIN driver_readiness_cache r ON r.driver_id = d.id
+            JOIN driver_licenses dl ON dl.driver_id = d.id
+            WHERE d.status = 'ACTIVE' AND r.license_valid = TRUE AND r.all_certs_valid = TRUE
+              AND r.availability_status <> 'INACTIVE'
+              AND dl.status = 'VALID' AND dl.expiry_date >= :toDate
+            UNION ALL
+            SELECT d.id::text, r.availability_status, 'CERTIFICATION', c.cert_type
+            FROM drivers d
+            JOIN driver_readiness_cache r ON r.driver_id = d.id
+            JOIN driver_certifications c ON c.driver_id = d.id
+            WHERE d.status = 'ACTIVE' AND r.license_valid = TRUE AND r.all_certs_valid = TRUE
+              AND r.availability_status <> 'INACTIVE'
+              AND c.status = 'VALID' AND (c.expiry_date IS NULL OR c.expiry_date >= :toDate)
+            """;
+
+    private static final String APPROVED_LEAVES_SQL = """
+            SELECT l.driver_id::text AS driver_id, l.start_date, l.end_date
+            FROM driver_leaves l
+            WHERE l.status = 'APPROVED' AND l.start_date <= :toDate AND l.end_date >= :fromDate
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<VehicleOptionDTO> findCandidateVehicles(String vehicleType) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = VEHICLES_SQL;
+        if (vehicleType != null) {
+            sql += " AND v.vehicle_type = :vehicleType";
+            params.addValue("vehicleType", vehicleType);
+        }
+        return jdbcTemplate.query(sql + " ORDER BY v.plate_number", params, (rs, i) -> new VehicleOptionDTO(
+                rs.getLong("id"),
+                rs.getString("brand"),
+                rs.getString("model"),
+                rs.getString("plate_number")));
+    }
+
+    public List<DriverOptionDTO> findReadyQualifiedDrivers(List<String> licenseClasses, List<String> certTypes,
+                                                           List<String> excludedStatuses,
+                                                           LocalDate fromDate, LocalDate toDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("licenseClasses", licenseClasses)
+                .addValue("excludedStatuses", excludedStatuses)
+                .addValue("fromDate", fromDate)
+                .addValue("toDate", toDate);
+        String sql = DRIVERS_SQL;
+        if (!certTypes.isEmpty()) {
+            sql += CERTIFICATIONS_CLAUSE;
+            params.addValue("certTypes", certTypes).addValue("certCount", certTypes.size());
+        }
+        return jdbcTemplate.query(sql + " ORDER BY d.first_name, d.last_name", params, (rs, i) -> new DriverOptionDTO(
+                rs.getString("id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("employee_id")));
+    }
+
+    public List<AssignmentVehicle> findAssignmentVehicles(List<String> vehicleTypes) {
+        return jdbcTemplate.query(ASSIGNMENT_VEHICLES_SQL, new MapSqlParameterSource("vehicleTypes", vehicleTypes),
+                (rs, i) -> new AssignmentVehicle(
+                        rs.getLong("id"),
+                        rs.getString("vehicle_type"),
+                        (Integer) rs.getObject("seating_capacity"),
+                        rs.getBoolean("schedulable")));
+    }
+
+    public List<DriverCredential> findReadyDriverCredentials(LocalDate toDate) {
+        return jdbcTemplate.query(READY_DRIVER_CREDENTIALS_SQL, new MapSqlParameterSource("toDate", toDate),
+                (rs, i) -> new DriverCredential(
+                        UUID.fromString(rs.getString("driver_id")),
+                        rs.getString("availability_status"),
+                        rs.getString("kind"),
+                        rs.getString("code")));
+    }
+
+    public List<DriverLeaveWindow> findApprovedLeaves(LocalDate fromDate, LocalDate toDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("fromDate", fromDate)
+                .addValue("toDate", toDate);
+        return jdbcTemplate.query(APPROVED_LEAVES_SQL, params, (rs, i) -> new DriverLeaveWindow(
+                UUID.fromString(rs.getString("driver_id")),
+                rs.getObject("start_date", LocalDate.class),
+                rs.getObject("end_date", LocalDate.class)));
+    }
+
+    public record AssignmentVehicle(Long id, String vehicleType, Integer seatingCapacity, boolean schedulable) {
+    }
+
+    // kind is LICENSE (code = licence class) or CERTIFICATION (code = certification type)
+    public record DriverCredential(UUID driverId, String availabilityStatus, String kind, String code) {
+    }
+
+    public record DriverLeaveWindow(UUID driverId, LocalDate startDate, LocalDate endDate) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.vfms.trip.repository;
+
+import com.vfms.trip.entity.TripEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TripEventRepository extends JpaRepository<TripEvent, Long> {
+
+    List<TripEvent> findByTripIdOrderByIdAsc(UUID tripId);
+}
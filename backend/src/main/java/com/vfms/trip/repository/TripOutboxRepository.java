@@ -0,0 +1,29 @@
+package com.vfms.trip.repository;
+
+import com.vfms.trip.entity.TripOutboxMessage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TripOutboxRepository extends JpaRepository<TripOutboxMessage, Long> {
+
+    @Query("SELECT m FROM TripOutboxMessage m WHERE m.dispatchedAt IS NULL AND m.attempts < :maxAttempts " +
+            "ORDER BY m.id")
+    List<TripOutboxMessage> findPending(@Param("maxAttempts") int maxAttempts, Limit limit);
+
+    // Conditional claim: only one dispatcher (on any node) gets 1 back for a given message
+    @Modifying
+    @Query("UPDATE TripOutboxMessage m SET m.dispatchedAt = :now WHERE m.id = :id AND m.dispatchedAt IS NULL")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE TripOutboxMessage m SET m.attempts = m.attempts + 1, m.lastError = :error WHERE m.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+}
@@ -1,59 +1,80 @@
 package com.vfms.trip.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.vfms.trip.dto.TripBookingProjection;
+import com.vfms.trip.dto.TripCalendarEntryDTO;
+import com.vfms.trip.dto.TripSummaryDTO;
 import com.vfms.trip.entity.TripRequest;
 import com.vfms.trip.enums.TripStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface TripRequestRepository extends JpaRepository<TripRequest, UUID> {
+public interface TripRequestRepository extends JpaRepository<TripRequest, UUID>, JpaSpecificationExecutor<TripRequest> {
+
+    // List views select only the summary columns, so no TripRequest entities are hydrated
+    String SUMMARY_SELECT = "SELECT new com.vfms.trip.dto.TripSummaryDTO(t.id, t.requesterId, t.purpose, " +
+            "t.destination, t.departureTime, t.returnTime, t.passengerCount, t.status, t.assignedVehicleId, " +
+            "t.assignedDriverId, t.approvalNotes, t.createdAt) FROM TripRequest t ";
+
+    @Query(SUMMARY_SELECT + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TripSummaryDTO> findAllSummaries();
 
     // Get all trips by a specific requester
-    List<TripRequest> findByRequesterIdOrderByCreatedAtDesc(UUID requesterId);
+    @Query(SUMMARY_SELECT + "WHERE t.requesterId = :requesterId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TripSummaryDTO> findSummariesByRequester(@Param("requesterId") UUID requesterId);
 
     // Get all trips by status
-    List<TripRequest> findByStatusOrderByCreatedAtDesc(TripStatus status);
+    @Query(SUMMARY_SELECT + "WHERE t.status = :status ORDER BY t.createdAt DESC, t.id DESC")
+    List<TripSummaryDTO> findSummariesByStatus(@Param("status") TripStatus status);
 
     // Get all trips assigned to a driver
-    List<TripRequest> findByAssignedDriverIdOrderByDepartureTimeAsc(UUID driverId);
+    @Query(SUMMARY_SELECT + "WHERE t.assignedDriverId = :driverId ORDER BY t.departureTime, t.id")
+    List<TripSummaryDTO> findSummariesByDriver(@Param("driverId") UUID driverId);
 
     // Get trips by driver and status (upcoming trips)
-    List<TripRequest> findByAssignedDriverIdAndStatusOrderByDepartureTimeAsc(
-            UUID driverId, TripStatus status);
+    @Query(SUMMARY_SELECT + "WHERE t.assignedDriverId = :driverId AND t.status = :status " +
+            "ORDER BY t.departureTime, t.id")
+    List<TripSummaryDTO> findSummariesByDriverAndStatus(@Param("driverId") UUID driverId,
+                                                        @Param("status") TripStatus status);
 
     // Get trips by requester and multiple statuses (active trips)
-    List<TripRequest> findByRequesterIdAndStatusInOrderByDepartureTimeAsc(
-            UUID requesterId, List<TripStatus> statuses);
-
-    // Get trips between two dates (calendar view)
-    List<TripRequest> findByDepartureTimeBetweenOrderByDepartureTimeAsc(
-            LocalDateTime start, LocalDateTime end);
-
-    // Check for vehicle double booking
-    @Query("SELECT t FROM TripRequest t WHERE t.assignedVehicleId = :vehicleId " +
-            "AND t.status IN ('APPROVED', 'ONGOING') " +
-            "AND t.departureTime < :returnTime " +
-            "AND t.returnTime > :departureTime")
-    List<TripRequest> findConflictingVehicleBookings(
-            @Param("vehicleId") Long vehicleId,
-            @Param("departureTime") LocalDateTime departureTime,
-            @Param("returnTime") LocalDateTime returnTime);
-
-    // Check for driver double booking
-    @Query("SELECT t FROM TripRequest t WHERE t.assignedDriverId = :driverId " +
-            "AND t.status IN ('APPROVED', 'ONGOING') " +
-            "AND t.departureTime < :returnTime " +
-            "AND t.returnTime > :departureTime")
-    List<TripRequest> findConflictingDriverBookings(
-            @Param("driverId") UUID driverId,
-            @Param("departureTime") LocalDateTime departureTime,
-            @Param("returnTime") LocalDateTime returnTime);
+    @Query(SUMMARY_SELECT + "WHERE t.requesterId = :requesterId AND t.status IN :statuses " +
+            "ORDER BY t.departureTime, t.id")
+    List<TripSummaryDTO> findSummariesByRequesterAndStatusIn(@Param("requesterId") UUID requesterId,
+                                                             @Param("statuses") Collection<TripStatus> statuses);
+
+    // Calendar entries for trips departing in [start, end), without the heavy text columns
+    @Query("SELECT new com.vfms.trip.dto.TripCalendarEntryDTO(t.id, t.purpose, t.destination, " +
+            "t.departureTime, t.returnTime, t.status) FROM TripRequest t " +
+            "WHERE t.departureTime >= :start AND t.departureTime < :end " +
+            "ORDER BY t.departureTime, t.id")
+    List<TripCalendarEntryDTO> findCalendarEntries(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    // Resource bookings of every trip currently holding a vehicle or driver (conflict index rebuild)
+    @Query("SELECT t.id AS id, t.assignedVehicleId AS assignedVehicleId, t.assignedDriverId AS assignedDriverId, " +
+            "t.departureTime AS departureTime, t.returnTime AS returnTime FROM TripRequest t " +
+            "WHERE t.status IN :statuses " +
+            "AND (t.assignedVehicleId IS NOT NULL OR t.assignedDriverId IS NOT NULL)")
+    List<TripBookingProjection> findActiveBookings(@Param("statuses") Collection<TripStatus> statuses);
+
+    // Approved trips still missing a vehicle or driver, in departure order (batch assignment)
+    @Query("SELECT t FROM TripRequest t WHERE t.status = com.vfms.trip.enums.TripStatus.APPROVED " +
+            "AND (t.assignedVehicleId IS NULL OR t.assignedDriverId IS NULL) " +
+            "AND t.departureTime >= :from AND t.departureTime < :to " +
+            "ORDER BY t.departureTime, t.id")
+    List<TripRequest> findUnassignedApproved(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 
     @Query("SELECT t FROM TripRequest t WHERE t.assignedDriverId = :driverId " +
            "AND t.status = com.vfms.trip.enums.TripStatus.ONGOING")
@@ -0,0 +1,49 @@
+package com.vfms.trip.repository;
+
+import com.vfms.trip.entity.TripRequest;
+import com.vfms.trip.enums.TripStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+// Reusable search predicates for trip requests; each returns null when its filter is absent so they compose freely
+public final class TripRequestSpecifications {
+
+    private TripRequestSpecifications() {
+    }
+
+    // Case-insensitive substring match, served by the trigram index on lower(destination)
+    public static Specification<TripRequest> destinationContains(String destination) {
+        if (destination == null || destination.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(destination.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("destination")), pattern, '\\');
+    }
+
+    public static Specification<TripRequest> hasStatus(TripStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<TripRequest> hasRequester(UUID requesterId) {
+        return requesterId == null ? null : (root, query, cb) -> cb.equal(root.get("requesterId"), requesterId);
+    }
+
+    // Keyset predicate for (createdAt DESC, id DESC) ordering: rows strictly after the cursor position
+    public static Specification<TripRequest> createdBefore(LocalDateTime createdAt, UUID id) {
+        if (createdAt == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.get("id"), id)));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
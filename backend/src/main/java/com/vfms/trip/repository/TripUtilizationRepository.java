@@ -0,0 +1,145 @@
+package com.vfms.trip.repository;
+
+import com.vfms.trip.dto.TripUtilizationDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Native statements behind the daily utilization rollup. Rows are only ever incremented with upserts, so
+// concurrent writers (completion events and backfill chunks) never overwrite each other's totals.
+@Repository
+@RequiredArgsConstructor
+public class TripUtilizationRepository {
+
+    // Ledger of trips already folded into the rollup; inserting is what claims a trip
+    private static final String MARK_APPLIED_SQL = """
+            INSERT INTO trip_utilization_applied (trip_id) VALUES (:tripId)
+            ON CONFLICT (trip_id) DO NOTHING
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO trip_utilization_daily
+                (resource_type, resource_id, day, trip_count, trip_minutes, distance_km, first_start, last_end)
+            VALUES (:resourceType, :resourceId, :day, :tripCount, :tripMinutes, :distanceKm, :firstStart, :lastEnd)
+            ON CONFLICT (resource_type, resource_id, day) DO UPDATE SET
+                trip_count   = trip_utilization_daily.trip_count + EXCLUDED.trip_count,
+                trip_minutes = trip_utilization_daily.trip_minutes + EXCLUDED.trip_minutes,
+                distance_km  = trip_utilization_daily.distance_km + EXCLUDED.distance_km,
+                first_start  = LEAST(trip_utilization_daily.first_start, EXCLUDED.first_start),
+                last_end     = GREATEST(trip_utilization_daily.last_end, EXCLUDED.last_end)
+            """;
+
+    // Keyset page of completed trips the rollup has not seen yet
+    private static final String UNAPPLIED_COMPLETED_SQL = """
+            SELECT t.id::text AS id, t.vehicle_id, t.driver_id::text AS driver_id,
+                   t.start_time, t.end_time, t.distance_km
+            FROM trip_requests t
+            WHERE t.status = 'COMPLETED' AND t.start_time IS NOT NULL AND t.end_time IS NOT NULL
+              AND t.id > :afterId
+              AND NOT EXISTS (SELECT 1 FROM trip_utilization_applied a WHERE a.trip_id = t.id)
+            ORDER BY t.id
+            LIMIT :limit
+            """;
+
+    private static final String DAILY_SQL = """
+            SELECT u.day, u.resource_type, u.resource_id, u.trip_count, u.trip_minutes, u.distance_km,
+                   GREATEST(EXTRACT(EPOCH FROM (u.last_end - u.first_start)) / 60 - u.trip_minutes, 0) AS idle_minutes
+            FROM trip_utilization_daily u
+            WHERE u.resource_type = :resourceType AND u.day >= :fromDate AND u.day <= :toDate
+            """;
+
+    private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record CompletedTripRow(UUID id, Long vehicleId, UUID driverId, LocalDateTime startTime,
+                                   LocalDateTime endTime, BigDecimal distanceKm) {
+    }
+
+    public record DailyIncrement(String resourceType, String resourceId, LocalDate day, int tripCount,
+                                 long tripMinutes, BigDecimal distanceKm, LocalDateTime firstStart,
+                                 LocalDateTime lastEnd) {
+    }
+
+    // Returns the subset of trips this call claimed; the others were applied before
+    public List<UUID> markApplied(List<UUID> tripIds) {
+        SqlParameterSource[] batch = tripIds.stream()
+                .map(id -> new MapSqlParameterSource("tripId", id))
+                .toArray(SqlParameterSource[]::new);
+        int[] counts = jdbcTemplate.batchUpdate(MARK_APPLIED_SQL, batch);
+        List<UUID> claimed = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                claimed.add(tripIds.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    public void increment(List<DailyIncrement> increments) {
+        SqlParameterSource[] batch = increments.stream()
+                .map(inc -> new MapSqlParameterSource()
+                        .addValue("resourceType", inc.resourceType())
+                        .addValue("resourceId", inc.resourceId())
+                        .addValue("day", inc.day())
+                        .addValue("tripCount", inc.tripCount())
+                        .addValue("tripMinutes", inc.tripMinutes())
+                        .addValue("distanceKm", inc.distanceKm())
+                        .addValue("firstStart", Timestamp.valueOf(inc.firstStart()))
+                        .addValue("lastEnd", Timestamp.valueOf(inc.lastEnd())))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    public List<CompletedTripRow> findUnappliedCompleted(UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(UNAPPLIED_COMPLETED_SQL, params, (rs, i) -> {
+            String driverId = rs.getString("driver_id");
+            return new CompletedTripRow(
+                    UUID.fromString(rs.getString("id")),
+                    (Long) rs.getObject("vehicle_id", Long.class),
+                    driverId == null ? null : UUID.fromString(driverId),
+                    rs.getTimestamp("start_time").toLocalDateTime(),
+                    rs.getTimestamp("end_time").toLocalDateTime(),
+                    rs.getBigDecimal("distance_km"));
+        });
+    }
+
+    public List<TripUtilizationDTO> findDaily(String resourceType, String resourceId, LocalDate fromDate,
+                                              LocalDate toDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("resourceType", resourceType)
+                .addValue("fromDate", fromDate)
+                .addValue("toDate", toDate);
+        String sql = DAILY_SQL;
+        if (resourceId != null) {
+            sql += " AND u.resource_id = :resourceId";
+            params.addValue("resourceId", resourceId);
+        }
+        return jdbcTemplate.query(sql + " ORDER BY u.day, u.resource_id", params, (rs, i) -> new TripUtilizationDTO(
+                rs.getDate("day").toLocalDate(),
+                rs.getString("resource_type"),
+                rs.getString("resource_id"),
+                rs.getInt("trip_count"),
+                toHours(rs.getBigDecimal("trip_minutes")),
+                rs.getBigDecimal("distance_km"),
+                toHours(rs.getBigDecimal("idle_minutes"))));
+    }
+
+    private static BigDecimal toHours(BigDecimal minutes) {
+        return minutes.divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,166 @@
+package com.vfms.trip.service;
+
+import com.vfms.dsm.entity.DriverAvailability;
+import com.vfms.dsm.entity.DriverCertification;
+import com.vfms.dsm.entity.DriverLicense;
+import com.vfms.dsm.service.DriverCapabilities;
+import com.vfms.dsm.service.DriverQualificationService;
+import com.vfms.trip.dto.BatchAssignmentDTO;
+import com.vfms.trip.dto.BatchAssignmentIssueDTO;
+import com.vfms.trip.dto.BatchAssignmentResultDTO;
+import com.vfms.trip.entity.TripRequest;
+import com.vfms.trip.repository.DispatchAvailabilityRepository;
+import com.vfms.trip.repository.DispatchAvailabilityRepository.AssignmentVehicle;
+import com.vfms.trip.repository.DispatchAvailabilityRepository.DriverCredential;
+import com.vfms.trip.repository.DispatchAvailabilityRepository.DriverLeaveWindow;
+import com.vfms.trip.repository.TripRequestRepository;
+import com.vfms.vehicle.VehicleType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Assigns vehicles and drivers to every approved-but-unassigned trip in a window in one run. Loads the candidate
+// resources with a handful of set-based queries, lets BatchAssignmentSolver plan the assignment, and then either
+// returns the plan (dry run) or applies it trip by trip through TripRequestService.
+@Service
+@RequiredArgsConstructor
+public class BatchAssignmentService {
+
+    // Qualification category a driver needs for each vehicle type; types without one are not batch dispatched
+    private static final Map<VehicleType, String> DISPATCH_CATEGORIES = new EnumMap<>(Map.of(
+            VehicleType.CAR, "LIGHT",
+            VehicleType.SUV, "LIGHT",
+            VehicleType.VAN, "LIGHT",
+            VehicleType.BUS, "PASSENGER"));
+
+    private final TripRequestRepository tripRepository;
+    private final DispatchAvailabilityRepository dispatchRepository;
+    private final BookingConflictIndex bookingIndex;
+    private final TripRequestService tripService;
+    private final DriverQualificationService qualificationService;
+
+    public BatchAssignmentResultDTO assign(LocalDateTime from, LocalDateTime to, boolean dryRun) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Batch window end must be after its start");
+        }
+        long started = System.nanoTime();
+        List<TripRequest> trips = tripRepository.findUnassignedApproved(from, to);
+        if (trips.isEmpty()) {
+            return new BatchAssignmentResultDTO(from, to, dryRun, 0, List.of(), List.of(), 0, 0);
+        }
+        LocalDate firstDay = trips.get(0).getDepartureTime().toLocalDate();
+        LocalDate lastDay = trips.stream()
+                .map(t -> t.getReturnTime().toLocalDate())
+                .max(LocalDate::compareTo)
+                .orElse(firstDay);
+
+        Map<Long, String> vehicleCategories = new HashMap<>();
+        List<BatchAssignmentSolver.VehicleSlot> vehicles = new ArrayList<>();
+        List<String> dispatchTypes = DISPATCH_CATEGORIES.keySet().stream().map(Enum::name).toList();
+        for (AssignmentVehicle vehicle : dispatchRepository.findAssignmentVehicles(dispatchTypes)) {
+            String category = DISPATCH_CATEGORIES.get(VehicleType.valueOf(vehicle.vehicleType()));
+            vehicleCategories.put(vehicle.id(), category);
+            if (vehicle.schedulable()) {
+                vehicles.add(new BatchAssignmentSolver.VehicleSlot(vehicle.id(), category, vehicle.seatingCapacity()));
+            }
+        }
+
+        BatchAssignmentSolver.Plan plan = BatchAssignmentSolver.solve(
+                trips.stream().map(BatchAssignmentService::toSlot).toList(),
+                vehicles,
+                loadDrivers(firstDay, lastDay, Set.copyOf(vehicleCategories.values())),
+                vehicleCategories,
+                new BatchAssignmentSolver.ExternalBookings() {
+                    @Override
+                    public boolean vehicleBusy(Long vehicleId, LocalDateTime start, LocalDateTime end, UUID tripId) {
+                        return bookingIndex.hasVehicleConflict(vehicleId, start, end, tripId);
+                    }
+
+                    @Override
+                    public boolean driverBusy(UUID driverId, LocalDateTime start, LocalDateTime end, UUID tripId) {
+                        return bookingIndex.hasDriverConflict(driverId, start, end, tripId);
+                    }
+                });
+        long solveMillis = (System.nanoTime() - started) / 1_000_000;
+
+        if (dryRun) {
+            return new BatchAssignmentResultDTO(from, to, true, trips.size(), plan.assignments(),
+                    plan.unassigned(), plan.totalIdleMinutes(), solveMillis);
+        }
+
+        // Apply each planned assignment on its own so one stale conflict doesn't undo the rest of the batch
+        List<BatchAssignmentDTO> applied = new ArrayList<>();
+        List<BatchAssignmentIssueDTO> unassigned = new ArrayList<>(plan.unassigned());
+        long idle = 0;
+        for (BatchAssignmentDTO assignment : plan.assignments()) {
+            try {
+                tripService.applyBatchAssignment(assignment.getTripId(), assignment.getVehicleId(), assignment.getDriverId());
+                applied.add(assignment);
+                idle += assignment.getIdleMinutes();
+            } catch (RuntimeException e) {
+                unassigned.add(new BatchAssignmentIssueDTO(assignment.getTripId(), e.getMessage()));
+            }
+        }
+        return new BatchAssignmentResultDTO(from, to, false, trips.size(), applied, unassigned, idle, solveMillis);
+    }
+
+    private List<BatchAssignmentSolver.DriverSlot> loadDrivers(LocalDate fromDate, LocalDate toDate,
+                                                               Set<String> categories) {
+        // Capability bitsets over the credentials still valid at the end of the window
+        Map<UUID, Long> capabilities = new HashMap<>();
+        Map<UUID, List<BatchAssignmentSolver.LeaveWindow>> leaves = new HashMap<>();
+        LocalDate today = LocalDate.now();
+        for (DriverCredential credential : dispatchRepository.findReadyDriverCredentials(toDate)) {
+            capabilities.merge(credential.driverId(), credentialBit(credential), (a, b) -> a | b);
+            // A driver marked ON_LEAVE without a leave record is treated as away for today only
+            if (DriverAvailability.AvailabilityStatus.ON_LEAVE.name().equals(credential.availabilityStatus())) {
+                leaves.computeIfAbsent(credential.driverId(), id -> new ArrayList<>())
+                        .add(new BatchAssignmentSolver.LeaveWindow(today, today));
+            }
+        }
+        for (DriverLeaveWindow leave : dispatchRepository.findApprovedLeaves(fromDate, toDate)) {
+            leaves.computeIfAbsent(leave.driverId(), id -> new ArrayList<>())
+                    .add(new BatchAssignmentSolver.LeaveWindow(leave.startDate(), leave.endDate()));
+        }
+
+        List<BatchAssignmentSolver.DriverSlot> drivers = new ArrayList<>();
+        List<DriverCapabilities.Requirement> requirements = categories.stream()
+                .map(qualificationService::requirement)
+                .toList();
+        capabilities.forEach((driverId, bits) -> {
+            Set<String> qualified = new HashSet<>();
+            for (DriverCapabilities.Requirement requirement : requirements) {
+                if (requirement.isMetBy(bits)) {
+                    qualified.add(requirement.vehicleCategory());
+                }
+            }
+            if (!qualified.isEmpty()) {
+                drivers.add(new BatchAssignmentSolver.DriverSlot(driverId, qualified,
+                        leaves.getOrDefault(driverId, List.of())));
+            }
+        });
+        return drivers;
+    }
+
+    private static long credentialBit(DriverCredential credential) {
+        return "LICENSE".equals(credential.kind())
+                ? DriverCapabilities.licenseBit(DriverLicense.LicenseCategory.valueOf(credential.code()))
+                : DriverCapabilities.certBit(DriverCertification.CertificationType.valueOf(credential.code()));
+    }
+
+    private static BatchAssignmentSolver.TripSlot toSlot(TripRequest trip) {
+        int passengers = trip.getPassengerCount() == null ? 1 : trip.getPassengerCount();
+        return new BatchAssignmentSolver.TripSlot(trip.getId(), trip.getDepartureTime(), trip.getReturnTime(),
+                passengers, trip.getAssignedVehicleId(), trip.getAssignedDriverId());
+    }
+}
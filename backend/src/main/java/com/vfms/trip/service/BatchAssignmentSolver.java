@@ -0,0 +1,262 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.dto.BatchAssignmentDTO;
+import com.vfms.trip.dto.BatchAssignmentIssueDTO;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+// Computes a non-overlapping vehicle and driver assignment for a batch of trips.
+// Trips are routed to the smallest vehicle category that can seat them, drivers are split between categories by
+// qualification and demand, and each category is then solved independently (in parallel) with best-fit interval
+// partitioning: trips are taken in departure order and each one goes to the resource that became free most recently
+// before it departs, which keeps idle gaps short and leaves unused resources for later trips.
+final class BatchAssignmentSolver {
+
+    private static final LocalDateTime NEVER_USED = LocalDateTime.MIN;
+
+    record TripSlot(UUID tripId, LocalDateTime departure, LocalDateTime returnTime, int passengers,
+                    Long fixedVehicleId, UUID fixedDriverId) {
+    }
+
+    record VehicleSlot(Long id, String category, int seats) {
+    }
+
+    record DriverSlot(UUID id, Set<String> categories, List<LeaveWindow> leaves) {
+
+        boolean onLeaveDuring(TripSlot trip) {
+            LocalDate start = trip.departure().toLocalDate();
+            LocalDate end = trip.returnTime().toLocalDate();
+            for (LeaveWindow leave : leaves) {
+                if (!leave.start().isAfter(end) && !leave.end().isBefore(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    record LeaveWindow(LocalDate start, LocalDate end) {
+    }
+
+    // Bookings that already exist outside the batch (e.g. trips assigned by hand)
+    interface ExternalBookings {
+        boolean vehicleBusy(Long vehicleId, LocalDateTime start, LocalDateTime end, UUID tripId);
+
+        boolean driverBusy(UUID driverId, LocalDateTime start, LocalDateTime end, UUID tripId);
+    }
+
+    record Plan(List<BatchAssignmentDTO> assignments, List<BatchAssignmentIssueDTO> unassigned, long totalIdleMinutes) {
+    }
+
+    private BatchAssignmentSolver() {
+    }
+
+    // vehicleCategories covers every known vehicle, including ones not offered for scheduling, so trips with a
+    // vehicle already fixed can still be routed to its category
+    static Plan solve(List<TripSlot> trips, List<VehicleSlot> vehicles, List<DriverSlot> drivers,
+                      Map<Long, String> vehicleCategories, ExternalBookings external) {
+        Map<String, List<VehicleSlot>> vehiclesByCategory = new LinkedHashMap<>();
+        vehicles.stream()
+                .sorted(Comparator.comparingInt(VehicleSlot::seats).thenComparing(VehicleSlot::id))
+                .forEach(v -> vehiclesByCategory.computeIfAbsent(v.category(), c -> new ArrayList<>()).add(v));
+
+        // Smallest categories first, so a trip never takes a bus when a car would do
+        List<String> categoryOrder = vehiclesByCategory.keySet().stream()
+                .sorted(Comparator.comparingInt((String c) -> maxSeats(vehiclesByCategory.get(c)))
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+
+        List<BatchAssignmentIssueDTO> unassigned = new ArrayList<>();
+        Map<String, List<TripSlot>> tripsByCategory = new LinkedHashMap<>();
+        for (TripSlot trip : trips) {
+            String category = route(trip, categoryOrder, vehiclesByCategory, vehicleCategories);
+            if (category == null) {
+                unassigned.add(new BatchAssignmentIssueDTO(trip.tripId(), trip.fixedVehicleId() != null
+                        ? "Assigned vehicle has no dispatch category"
+                        : "No available vehicle seats " + trip.passengers() + " passengers"));
+            } else {
+                tripsByCategory.computeIfAbsent(category, c -> new ArrayList<>()).add(trip);
+            }
+        }
+
+        Map<String, List<DriverSlot>> driversByCategory = partitionDrivers(drivers, tripsByCategory);
+
+        List<Plan> partials = tripsByCategory.entrySet().parallelStream()
+                .map(e -> solveCategory(e.getKey(), e.getValue(),
+                        vehiclesByCategory.getOrDefault(e.getKey(), List.of()),
+                        driversByCategory.getOrDefault(e.getKey(), List.of()),
+                        external))
+                .toList();
+
+        List<BatchAssignmentDTO> assignments = new ArrayList<>();
+        long totalIdle = 0;
+        for (Plan partial : partials) {
+            assignments.addAll(partial.assignments());
+            unassigned.addAll(partial.unassigned());
+            totalIdle += partial.totalIdleMinutes();
+        }
+        return new Plan(assignments, unassigned, totalIdle);
+    }
+
+    private static String route(TripSlot trip, List<String> categoryOrder,
+                                Map<String, List<VehicleSlot>> vehiclesByCategory,
+                                Map<Long, String> vehicleCategories) {
+        if (trip.fixedVehicleId() != null) {
+            return vehicleCategories.get(trip.fixedVehicleId());
+        }
+        for (String category : categoryOrder) {
+            if (maxSeats(vehiclesByCategory.get(category)) >= trip.passengers()) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    // Every driver joins exactly one category so the categories can be solved without sharing state. Drivers
+    // qualified for a single category go there; the rest are handed one by one to the category with the highest
+    // remaining demand per driver.
+    private static Map<String, List<DriverSlot>> partitionDrivers(List<DriverSlot> drivers,
+                                                                  Map<String, List<TripSlot>> tripsByCategory) {
+        Map<String, Integer> demand = new HashMap<>();
+        tripsByCategory.forEach((category, trips) ->
+                demand.put(category, (int) trips.stream().filter(t -> t.fixedDriverId() == null).count()));
+
+        Map<String, List<DriverSlot>> result = new HashMap<>();
+        List<DriverSlot> flexible = new ArrayList<>();
+        for (DriverSlot driver : drivers) {
+            List<String> usable = driver.categories().stream().filter(demand::containsKey).toList();
+            if (usable.size() == 1) {
+                result.computeIfAbsent(usable.get(0), c -> new ArrayList<>()).add(driver);
+            } else if (usable.size() > 1) {
+                flexible.add(driver);
+            }
+        }
+        flexible.sort(Comparator.comparing(DriverSlot::id));
+        for (DriverSlot driver : flexible) {
+            String target = driver.categories().stream()
+                    .filter(demand::containsKey)
+                    .max(Comparator.comparingDouble((String c) -> demandPerDriver(demand.get(c),
+                                    result.getOrDefault(c, List.of()).size()))
+                            .thenComparing(Comparator.<String>reverseOrder()))
+                    .orElseThrow();
+            result.computeIfAbsent(target, c -> new ArrayList<>()).add(driver);
+        }
+        return result;
+    }
+
+    // A category with demand but no drivers yet always wins
+    private static double demandPerDriver(int demand, int drivers) {
+        return drivers == 0 ? Double.POSITIVE_INFINITY : demand / (double) drivers;
+    }
+
+    private static Plan solveCategory(String category, List<TripSlot> trips, List<VehicleSlot> vehicles,
+                                      List<DriverSlot> drivers, ExternalBookings external) {
+        Pool<Long> vehiclePool = new Pool<>();
+        Map<Long, VehicleSlot> vehicleById = new HashMap<>();
+        for (VehicleSlot vehicle : vehicles) {
+            vehiclePool.add(new Resource<>(vehicle.id(), vehicle.seats(), NEVER_USED));
+            vehicleById.put(vehicle.id(), vehicle);
+        }
+        Pool<UUID> driverPool = new Pool<>();
+        Map<UUID, DriverSlot> driverById = new HashMap<>();
+        for (DriverSlot driver : drivers) {
+            driverPool.add(new Resource<>(driver.id(), 0, NEVER_USED));
+            driverById.put(driver.id(), driver);
+        }
+
+        List<TripSlot> ordered = new ArrayList<>(trips);
+        ordered.sort(Comparator.comparing(TripSlot::departure).thenComparing(TripSlot::tripId));
+
+        List<BatchAssignmentDTO> assignments = new ArrayList<>();
+        List<BatchAssignmentIssueDTO> unassigned = new ArrayList<>();
+        long totalIdle = 0;
+        for (TripSlot trip : ordered) {
+            Resource<Long> vehicle = null;
+            if (trip.fixedVehicleId() == null) {
+                vehicle = vehiclePool.bestFit(trip.departure(), v ->
+                        vehicleById.get(v.id()).seats() >= trip.passengers()
+                                && !external.vehicleBusy(v.id(), trip.departure(), trip.returnTime(), trip.tripId()));
+                if (vehicle == null) {
+                    unassigned.add(new BatchAssignmentIssueDTO(trip.tripId(), "No free " + category + " vehicle"));
+                    continue;
+                }
+            }
+            Resource<UUID> driver = null;
+            if (trip.fixedDriverId() == null) {
+                driver = driverPool.bestFit(trip.departure(), d ->
+                        !driverById.get(d.id()).onLeaveDuring(trip)
+                                && !external.driverBusy(d.id(), trip.departure(), trip.returnTime(), trip.tripId()));
+                if (driver == null) {
+                    unassigned.add(new BatchAssignmentIssueDTO(trip.tripId(),
+                            "No free driver qualified for " + category));
+                    continue;
+                }
+            }
+
+            long idle = 0;
+            if (vehicle != null) {
+                idle = vehicle.freeAt() == NEVER_USED ? 0
+                        : Duration.between(vehicle.freeAt(), trip.departure()).toMinutes();
+                vehiclePool.occupy(vehicle, trip.returnTime());
+            }
+            if (driver != null) {
+                driverPool.occupy(driver, trip.returnTime());
+            }
+            totalIdle += idle;
+            assignments.add(new BatchAssignmentDTO(trip.tripId(), category,
+                    vehicle != null ? vehicle.id() : trip.fixedVehicleId(),
+                    driver != null ? driver.id() : trip.fixedDriverId(),
+                    idle));
+        }
+        return new Plan(assignments, unassigned, totalIdle);
+    }
+
+    private static int maxSeats(List<VehicleSlot> vehicles) {
+        return vehicles.stream().mapToInt(VehicleSlot::seats).max().orElse(0);
+    }
+
+    private record Resource<K extends Comparable<K>>(K id, int seats, LocalDateTime freeAt) {
+    }
+
+    // Resources ordered by the time they become free. Among resources free at the same time the one with the most
+    // seats sorts first, so walking backwards from a departure yields the shortest gap and then the smallest vehicle.
+    private static final class Pool<K extends Comparable<K>> {
+
+        private final TreeSet<Resource<K>> byFreeAt = new TreeSet<>(
+                Comparator.<Resource<K>, LocalDateTime>comparing(Resource::freeAt)
+                        .thenComparing(Resource::seats, Comparator.reverseOrder())
+                        .thenComparing(Resource::id, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        void add(Resource<K> resource) {
+            byFreeAt.add(resource);
+        }
+
+        Resource<K> bestFit(LocalDateTime departure, Predicate<Resource<K>> eligible) {
+            // Integer.MIN_VALUE seats (and a null id) sort the probe after every resource free at the departure instant
+            Resource<K> probe = new Resource<>(null, Integer.MIN_VALUE, departure);
+            for (Resource<K> candidate : byFreeAt.headSet(probe, true).descendingSet()) {
+                if (eligible.test(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        void occupy(Resource<K> resource, LocalDateTime until) {
+            byFreeAt.remove(resource);
+            byFreeAt.add(new Resource<>(resource.id(), resource.seats(), until));
+        }
+    }
+}
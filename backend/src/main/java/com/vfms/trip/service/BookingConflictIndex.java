@@ -0,0 +1,242 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.dto.TripBookingProjection;
+import com.vfms.trip.entity.TripRequest;
+import com.vfms.trip.enums.TripStatus;
+import com.vfms.trip.repository.TripRequestRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// In-memory per-vehicle and per-driver booking timelines used to detect double-booking without querying trip_requests.
+// Rebuilt from the database at startup and periodically (to pick up writes from other nodes), and kept current by
+// TripRequestService after every lifecycle transition. The trip_requests exclusion constraints remain the final
+// guarantee when several nodes assign concurrently.
+@Slf4j
+@Component
+public class BookingConflictIndex {
+
+    // Statuses in which a trip holds its vehicle and driver
+    public static final Set<TripStatus> BLOCKING_STATUSES =
+            EnumSet.of(TripStatus.APPROVED, TripStatus.DRIVER_CONFIRMED, TripStatus.ONGOING);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final TripRequestRepository repository;
+    private final Lock[] vehicleLocks = newStripes();
+    private final Lock[] driverLocks = newStripes();
+
+    // Rebuilds take the write lock so an update applied mid-rebuild cannot be lost in the swap
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Map<Long, Timeline> vehicleTimelines = new ConcurrentHashMap<>();
+    private final Map<UUID, Timeline> driverTimelines = new ConcurrentHashMap<>();
+    private final Map<UUID, Booking> bookingsByTrip = new ConcurrentHashMap<>();
+
+    public BookingConflictIndex(TripRequestRepository repository) {
+        this.repository = repository;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${trip.booking-index.refresh-ms:300000}",
+            initialDelayString = "${trip.booking-index.refresh-ms:300000}")
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            List<TripBookingProjection> rows = repository.findActiveBookings(BLOCKING_STATUSES);
+            vehicleTimelines.clear();
+            driverTimelines.clear();
+            bookingsByTrip.clear();
+            for (TripBookingProjection row : rows) {
+                add(new Booking(row.getId(), row.getAssignedVehicleId(), row.getAssignedDriverId(),
+                        row.getDepartureTime(), row.getReturnTime()));
+            }
+            log.debug("Booking conflict index rebuilt with {} active trips", rows.size());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    // Runs the action while holding the stripe locks for the given resources, so check-then-assign is atomic per resource.
+    // Vehicle locks are always taken before driver locks to keep the acquisition order deadlock-free.
+    public <T> T withResourceLocks(Long vehicleId, UUID driverId, Supplier<T> action) {
+        Lock vehicleLock = vehicleId == null ? null : vehicleLocks[stripe(vehicleId)];
+        Lock driverLock = driverId == null ? null : driverLocks[stripe(driverId)];
+        if (vehicleLock != null) {
+            vehicleLock.lock();
+        }
+        try {
+            if (driverLock != null) {
+                driverLock.lock();
+            }
+            try {
+                return action.get();
+            } finally {
+                if (driverLock != null) {
+                    driverLock.unlock();
+                }
+            }
+        } finally {
+            if (vehicleLock != null) {
+                vehicleLock.unlock();
+            }
+        }
+    }
+
+    public boolean hasVehicleConflict(Long vehicleId, LocalDateTime start, LocalDateTime end, UUID excludeTripId) {
+        return hasConflict(vehicleTimelines.get(vehicleId), start, end, excludeTripId);
+    }
+
+    public boolean hasDriverConflict(UUID driverId, LocalDateTime start, LocalDateTime end, UUID excludeTripId) {
+        return hasConflict(driverTimelines.get(driverId), start, end, excludeTripId);
+    }
+
+    // Re-indexes a trip after it was saved: drops its previous booking and re-adds it if it still holds resources
+    public void apply(TripRequest trip) {
+        rebuildLock.readLock().lock();
+        try {
+            Booking previous = bookingsByTrip.remove(trip.getId());
+            if (previous != null) {
+                remove(previous);
+            }
+            if (BLOCKING_STATUSES.contains(trip.getStatus())) {
+                add(new Booking(trip.getId(), trip.getAssignedVehicleId(), trip.getAssignedDriverId(),
+                        trip.getDepartureTime(), trip.getReturnTime()));
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private boolean hasConflict(Timeline timeline, LocalDateTime start, LocalDateTime end, UUID excludeTripId) {
+        if (timeline == null) {
+            return false;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            return timeline.overlaps(start, end, excludeTripId);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void add(Booking booking) {
+        if (booking.vehicleId() == null && booking.driverId() == null) {
+            return;
+        }
+        bookingsByTrip.put(booking.tripId(), booking);
+        // Adding inside compute keeps this atomic with remove() dropping a timeline that became empty
+        if (booking.vehicleId() != null) {
+            vehicleTimelines.compute(booking.vehicleId(), (id, t) -> Timeline.with(t, booking));
+        }
+        if (booking.driverId() != null) {
+            driverTimelines.compute(booking.driverId(), (id, t) -> Timeline.with(t, booking));
+        }
+    }
+
+    private void remove(Booking booking) {
+        if (booking.vehicleId() != null) {
+            vehicleTimelines.computeIfPresent(booking.vehicleId(), (id, t) -> t.remove(booking) ? null : t);
+        }
+        if (booking.driverId() != null) {
+            driverTimelines.computeIfPresent(booking.driverId(), (id, t) -> t.remove(booking) ? null : t);
+        }
+    }
+
+    private static Lock[] newStripes() {
+        Lock[] stripes = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % LOCK_STRIPES;
+    }
+
+    record Booking(UUID tripId, Long vehicleId, UUID driverId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    // Bookings of one resource ordered by start time. Assignments keep the intervals disjoint, which lets a conflict
+    // check stop at the first booking ending before the probe window (O(log n)). Legacy overlapping rows loaded on
+    // rebuild clear the disjoint flag and fall back to a scan of the earlier bookings.
+    static final class Timeline {
+
+        private static final UUID MIN_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+        private static final Comparator<Booking> BY_START =
+                Comparator.comparing(Booking::start).thenComparing(Booking::tripId);
+
+        private final TreeSet<Booking> bookings = new TreeSet<>(BY_START);
+        private boolean disjoint = true;
+
+        static Timeline with(Timeline timeline, Booking booking) {
+            Timeline target = timeline == null ? new Timeline() : timeline;
+            target.add(booking);
+            return target;
+        }
+
+        synchronized void add(Booking booking) {
+            if (disjoint && overlaps(booking.start(), booking.end(), booking.tripId())) {
+                disjoint = false;
+            }
+            bookings.add(booking);
+        }
+
+        // Returns true when the timeline is left empty
+        synchronized boolean remove(Booking booking) {
+            bookings.remove(booking);
+            if (!disjoint) {
+                disjoint = isDisjoint();
+            }
+            return bookings.isEmpty();
+        }
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end, UUID excludeTripId) {
+            // Only bookings starting before the window ends can overlap it; walk them from the latest start backwards
+            Iterator<Booking> candidates = bookings.headSet(new Booking(MIN_UUID, null, null, end, end), false)
+                    .descendingIterator();
+            while (candidates.hasNext()) {
+                Booking candidate = candidates.next();
+                if (candidate.end().isAfter(start)) {
+                    if (!candidate.tripId().equals(excludeTripId)) {
+                        return true;
+                    }
+                } else if (disjoint) {
+                    // Every earlier booking ends before this one starts, so none can reach the window
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private boolean isDisjoint() {
+            Booking previous = null;
+            for (Booking booking : bookings) {
+                if (previous != null && previous.end().isAfter(booking.start())) {
+                    return false;
+                }
+                previous = booking;
+            }
+            return true;
+        }
+    }
+}
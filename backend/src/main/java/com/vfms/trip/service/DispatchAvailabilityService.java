@@ -0,0 +1,68 @@
+package com.vfms.trip.service;
+
+import com.vfms.dsm.entity.DriverAvailability;
+import com.vfms.dsm.service.DriverQualificationService;
+import com.vfms.trip.dto.DispatchAvailabilityDTO;
+import com.vfms.trip.dto.DriverOptionDTO;
+import com.vfms.trip.dto.VehicleOptionDTO;
+import com.vfms.trip.repository.DispatchAvailabilityRepository;
+import com.vfms.vehicle.VehicleType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Builds the dispatch availability matrix in one request: readiness, leave and qualification filtering run in SQL,
+// and time-window conflicts are answered by the in-memory booking index instead of per-resource queries.
+@Service
+@RequiredArgsConstructor
+public class DispatchAvailabilityService {
+
+    private final DispatchAvailabilityRepository repository;
+    private final BookingConflictIndex bookingIndex;
+    private final DriverQualificationService qualificationService;
+
+    public DispatchAvailabilityDTO getAvailability(LocalDateTime from, LocalDateTime to,
+                                                   String vehicleCategory, VehicleType vehicleType) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Dispatch window end must be after its start");
+        }
+        String category = vehicleCategory == null ? "" : vehicleCategory.trim().toUpperCase(Locale.ROOT);
+        List<String> licenseClasses = qualificationService.requiredLicenseClasses(category).stream()
+                .map(Enum::name)
+                .toList();
+        if (licenseClasses.isEmpty()) {
+            throw new IllegalArgumentException("Unknown vehicle category: " + vehicleCategory);
+        }
+        List<String> certTypes = qualificationService.requiredCertifications(category).stream()
+                .map(Enum::name)
+                .toList();
+
+        List<VehicleOptionDTO> vehicles = repository.findCandidateVehicles(
+                        vehicleType == null ? null : vehicleType.name()).stream()
+                .filter(v -> !bookingIndex.hasVehicleConflict(v.getId(), from, to, null))
+                .toList();
+        List<DriverOptionDTO> drivers = repository.findReadyQualifiedDrivers(
+                        licenseClasses, certTypes, excludedStatuses(from), from.toLocalDate(), to.toLocalDate()).stream()
+                .filter(d -> !bookingIndex.hasDriverConflict(UUID.fromString(d.getId()), from, to, null))
+                .toList();
+
+        return new DispatchAvailabilityDTO(from, to, category,
+                vehicleType == null ? null : vehicleType.name(),
+                vehicles, drivers, (long) vehicles.size() * drivers.size());
+    }
+
+    // The manual availability status reflects today only: ON_LEAVE blocks windows starting today, while future
+    // windows rely on the approved leave records instead
+    private static List<String> excludedStatuses(LocalDateTime from) {
+        if (from.toLocalDate().isAfter(LocalDate.now())) {
+            return List.of(DriverAvailability.AvailabilityStatus.INACTIVE.name());
+        }
+        return List.of(DriverAvailability.AvailabilityStatus.INACTIVE.name(),
+                DriverAvailability.AvailabilityStatus.ON_LEAVE.name());
+    }
+}
@@ -0,0 +1,92 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.dto.TripCalendarEntryDTO;
+import com.vfms.trip.repository.TripRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Month-bucketed read cache for the trip calendar. Each bucket holds the lightweight entries of trips departing in
+// that month plus a content ETag. Buckets are dropped when a trip in them changes, and also expire after a TTL so
+// changes made on other nodes show up eventually.
+@Component
+public class TripCalendarCache {
+
+    public record CalendarMonth(YearMonth month, List<TripCalendarEntryDTO> entries, String etag, long loadedAtMillis) {
+    }
+
+    private final TripRequestRepository repository;
+    private final long ttlMillis;
+    private final LinkedHashMap<YearMonth, CalendarMonth> months;
+    // Bumped on every eviction; a load that raced with one is returned but not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TripCalendarCache(
+            TripRequestRepository repository,
+            @Value("${trip.calendar.cache.max-months:24}") int maxMonths,
+            @Value("${trip.calendar.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.repository = repository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.months = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearMonth, CalendarMonth> eldest) {
+                return size() > maxMonths;
+            }
+        };
+    }
+
+    public CalendarMonth get(YearMonth month) {
+        synchronized (this) {
+            CalendarMonth cached = months.get(month);
+            if (cached != null && System.currentTimeMillis() - cached.loadedAtMillis() < ttlMillis) {
+                return cached;
+            }
+        }
+        long generation = invalidations.get();
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        List<TripCalendarEntryDTO> entries = repository.findCalendarEntries(start, start.plusMonths(1));
+        CalendarMonth loaded = new CalendarMonth(month, entries, etagOf(month, entries), System.currentTimeMillis());
+        synchronized (this) {
+            if (invalidations.get() == generation) {
+                months.put(month, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        synchronized (this) {
+            invalidations.incrementAndGet();
+            if (event.departureTime() != null) {
+                months.remove(YearMonth.from(event.departureTime()));
+            }
+            if (event.previousDepartureTime() != null) {
+                months.remove(YearMonth.from(event.previousDepartureTime()));
+            }
+        }
+    }
+
+    // Hash of the rendered fields, so equal content yields the same ETag on every node and across restarts
+    private static String etagOf(YearMonth month, List<TripCalendarEntryDTO> entries) {
+        StringBuilder content = new StringBuilder(month.toString());
+        for (TripCalendarEntryDTO entry : entries) {
+            content.append('\n').append(entry.getId())
+                    .append('|').append(entry.getStatus())
+                    .append('|').append(entry.getDepartureTime())
+                    .append('|').append(entry.getReturnTime())
+                    .append('|').append(entry.getDestination())
+                    .append('|').append(entry.getPurpose());
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
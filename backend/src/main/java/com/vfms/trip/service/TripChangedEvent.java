@@ -0,0 +1,17 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.entity.TripRequest;
+import com.vfms.trip.enums.TripStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Published by TripRequestService after every saved trip change. previousDepartureTime is the departure before the
+// change (null for new trips), so listeners keyed by time can drop both the old and the new position.
+public record TripChangedEvent(UUID tripId, TripStatus status, LocalDateTime departureTime,
+                               LocalDateTime previousDepartureTime) {
+
+    public static TripChangedEvent of(TripRequest trip, LocalDateTime previousDepartureTime) {
+        return new TripChangedEvent(trip.getId(), trip.getStatus(), trip.getDepartureTime(), previousDepartureTime);
+    }
+}
@@ -0,0 +1,49 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.entity.TripEvent;
+import com.vfms.trip.entity.TripOutboxMessage;
+import com.vfms.trip.entity.TripRequest;
+import com.vfms.trip.enums.TripEventType;
+import com.vfms.trip.enums.TripStatus;
+import com.vfms.trip.repository.TripEventRepository;
+import com.vfms.trip.repository.TripOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+// Appends trip events and their outbox messages. Must run inside the transaction that saves the transition, so the
+// trip row, its event and the pending delivery either all commit or all roll back.
+@Component
+@RequiredArgsConstructor
+public class TripEventLog {
+
+    private final TripEventRepository eventRepository;
+    private final TripOutboxRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public TripEvent append(TripEventType type, TripStatus fromStatus, UUID previousDriverId, TripRequest trip,
+                            String notes) {
+        TripEvent event = eventRepository.save(TripEvent.builder()
+                .tripId(trip.getId())
+                .tripVersion(trip.getVersion())
+                .eventType(type)
+                .fromStatus(fromStatus)
+                .toStatus(trip.getStatus())
+                .assignedVehicleId(trip.getAssignedVehicleId())
+                .assignedDriverId(trip.getAssignedDriverId())
+                .previousDriverId(Objects.equals(previousDriverId, trip.getAssignedDriverId()) ? null : previousDriverId)
+                .notes(notes)
+                .build());
+        outboxRepository.save(TripOutboxMessage.builder().eventId(event.getId()).build());
+        return event;
+    }
+
+    public List<TripEvent> history(UUID tripId) {
+        return eventRepository.findByTripIdOrderByIdAsc(tripId);
+    }
+}
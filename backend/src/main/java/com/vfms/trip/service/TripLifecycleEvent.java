@@ -0,0 +1,30 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.entity.TripEvent;
+import com.vfms.trip.enums.TripEventType;
+import com.vfms.trip.enums.TripStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Delivered by TripOutboxDispatcher for every committed trip transition, in event order. Delivery is at-least-once
+// (a failed consumer makes the whole message retry), so consumers must be idempotent.
+public record TripLifecycleEvent(Long eventId, UUID tripId, long tripVersion, TripEventType type,
+                                 TripStatus fromStatus, TripStatus toStatus, Long assignedVehicleId,
+                                 UUID assignedDriverId, UUID previousDriverId, LocalDateTime occurredAt) {
+
+    public static TripLifecycleEvent of(TripEvent event) {
+        return new TripLifecycleEvent(event.getId(), event.getTripId(), event.getTripVersion(), event.getEventType(),
+                event.getFromStatus(), event.getToStatus(), event.getAssignedVehicleId(), event.getAssignedDriverId(),
+                event.getPreviousDriverId(), event.getOccurredAt());
+    }
+
+    // Drivers whose workload may have changed: the one now assigned and the one the transition removed
+    public boolean touchesDriver(UUID driverId) {
+        return driverId != null && (driverId.equals(assignedDriverId) || driverId.equals(previousDriverId));
+    }
+
+    public boolean statusChanged() {
+        return fromStatus != toStatus;
+    }
+}
@@ -0,0 +1,39 @@
+package com.vfms.trip.service;
+
+import com.vfms.dsm.entity.NotificationLog;
+import com.vfms.dsm.repository.NotificationLogRepository;
+import com.vfms.trip.enums.TripEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Records a notification for each trip transition someone needs to hear about. Runs inside the outbox dispatch
+// transaction, so a notification is logged exactly when its outbox message is marked delivered.
+@Component
+@RequiredArgsConstructor
+public class TripNotificationListener {
+
+    private static final String ENTITY_TYPE = "TRIP";
+    private static final Set<TripEventType> NOTIFIED = EnumSet.of(
+            TripEventType.APPROVED, TripEventType.REJECTED, TripEventType.DRIVER_ASSIGNED,
+            TripEventType.VEHICLE_ASSIGNED, TripEventType.BATCH_ASSIGNED, TripEventType.DRIVER_ACCEPTED,
+            TripEventType.DRIVER_REJECTED, TripEventType.STARTED, TripEventType.COMPLETED, TripEventType.CANCELLED);
+
+    private final NotificationLogRepository notificationLogRepository;
+
+    @EventListener
+    public void onTripLifecycle(TripLifecycleEvent event) {
+        if (!NOTIFIED.contains(event.type())) {
+            return;
+        }
+        notificationLogRepository.save(NotificationLog.builder()
+                .entityType(ENTITY_TYPE)
+                .entityId(event.tripId())
+                .notificationType("TRIP_" + event.type().name())
+                .message("Trip " + event.tripId() + " is now " + event.toStatus())
+                .build());
+    }
+}
@@ -0,0 +1,114 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.entity.TripOutboxMessage;
+import com.vfms.trip.repository.TripEventRepository;
+import com.vfms.trip.repository.TripOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Delivers committed trip events from the outbox to in-process listeners as TripLifecycleEvent.
+// A dispatch run is kicked off on the async pool right after each trip commit, with bursts coalesced into a single
+// run. Messages left from before a restart are dispatched once the application is ready, and the scheduled poll picks
+// up anything a kick missed (rejected task, message written by another node).
+// Each message is claimed, delivered and marked in one transaction, so listeners that write to the database commit
+// together with the claim, and a failing listener rolls the claim back to be retried later.
+@Slf4j
+@Component
+public class TripOutboxDispatcher {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final TripOutboxRepository outboxRepository;
+    private final TripEventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    public TripOutboxDispatcher(TripOutboxRepository outboxRepository, TripEventRepository eventRepository,
+                                ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                                @Qualifier("taskExecutor") TaskExecutor taskExecutor) {
+        this.outboxRepository = outboxRepository;
+        this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        kick();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        kick();
+    }
+
+    private void kick() {
+        if (!dispatchQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                dispatchQueued.set(false);
+                dispatchPending();
+            });
+        } catch (RuntimeException e) {
+            // Pool is saturated; the scheduled poll will deliver the message
+            dispatchQueued.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trip.outbox.poll-ms:10000}", initialDelayString = "${trip.outbox.poll-ms:10000}")
+    public void dispatchPending() {
+        dispatchLock.lock();
+        try {
+            List<TripOutboxMessage> batch;
+            do {
+                batch = outboxRepository.findPending(MAX_ATTEMPTS, Limit.of(BATCH_SIZE));
+                for (TripOutboxMessage message : batch) {
+                    dispatch(message);
+                }
+            } while (batch.size() == BATCH_SIZE);
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private void dispatch(TripOutboxMessage message) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Another node (or an earlier run) already delivered it
+                if (outboxRepository.claim(message.getId(), LocalDateTime.now()) == 0) {
+                    return;
+                }
+                eventRepository.findById(message.getEventId())
+                        .map(TripLifecycleEvent::of)
+                        .ifPresent(eventPublisher::publishEvent);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Trip outbox message {} failed (attempt {}): {}", message.getId(), message.getAttempts() + 1,
+                    e.getMessage());
+            String error = String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxRepository.recordFailure(message.getId(), error.substring(0, Math.min(error.length(), 500))));
+        }
+    }
+}
@@ -14,15 +14,48 @@ import com.vfms.trip.dto.VehicleOptionDTO;
 import com.vfms.trip.dto.DriverOptionDTO;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import com.vfms.trip.dto.TripSearchCursor;
+import com.vfms.trip.dto.TripSearchPageDTO;
+import com.vfms.trip.dto.TripSummaryDTO;
+import com.vfms.trip.repository.TripRequestSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import java.time.YearMonth;
+import java.util.function.Function;
+import com.vfms.common.exception.ConflictException;
+import com.vfms.common.cache.ReferenceDataCache;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.vfms.trip.entity.TripEvent;
+import com.vfms.trip.enums.TripEventType;
+import java.util.Objects;
 
 // Core business logic for managing the lifecycle of trip requests, including scheduling, approvals, and resource assignment.
 @Service
 @RequiredArgsConstructor
 public class TripRequestService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_TRANSITION_ATTEMPTS = 5;
+    private static final String VEHICLE_OVERLAP_CONSTRAINT = "trip_requests_vehicle_no_overlap";
+    private static final String DRIVER_OVERLAP_CONSTRAINT = "trip_requests_driver_no_overlap";
+    private static final String VEHICLE_CONFLICT_MESSAGE = "Vehicle is already booked for this time slot";
+    private static final String DRIVER_CONFLICT_MESSAGE = "Driver is already assigned for this time slot";
+    private static final Sort SEARCH_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     @PersistenceContext
     private EntityManager entityManager;
     private final TripRequestRepository repository;
+    private final BookingConflictIndex bookingIndex;
+    private final TripCalendarCache calendarCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TripEventLog eventLog;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate transactionTemplate;
 
     public TripRequest createTrip(CreateTripRequestDTO dto) {
         // Validate that the trip spans a valid, logical time window
@@ -40,50 +73,54 @@ public class TripRequestService {
                 .distanceKm(dto.getDistanceKm())
                 .status(TripStatus.NEW)
                 .build();
-        return repository.save(trip);
+        return transactionTemplate.execute(status -> {
+            TripRequest saved = persist(trip, null);
+            eventLog.append(TripEventType.CREATED, null, null, saved, null);
+            return saved;
+        });
     }
 
-    public List<TripRequest> getAllTrips() {
-        return repository.findAll();
+    public List<TripSummaryDTO> getAllTrips() {
+        return repository.findAllSummaries();
     }
 
-    public List<TripRequest> getTripsByStatus(TripStatus status) {
-        return repository.findByStatusOrderByCreatedAtDesc(status);
+    public List<TripSummaryDTO> getTripsByStatus(TripStatus status) {
+        return repository.findSummariesByStatus(status);
     }
 
-    // Using native SQL queries here to efficiently fetch lightweight DTOs directly from cross-domain tables
-    public List<VehicleOptionDTO> getAvailableVehicles() {
-        List<Object[]> rows = entityManager.createNativeQuery(
-                "SELECT id, brand, model, plate_number FROM vehicles WHERE status = 'AVAILABLE'"
-        ).getResultList();
-
-        return rows.stream().map(row -> new VehicleOptionDTO(
-                ((Number) row[0]).longValue(),
-                (String) row[1],
-                (String) row[2],
-                (String) row[3]
-        )).toList();
+    // Using native SQL queries here to efficiently fetch lightweight DTOs directly from cross-domain tables.
+    // The option lists are served from the shared reference-data cache and only reloaded after vehicle/driver writes.
+    @SuppressWarnings("unchecked")
+    public ReferenceDataCache.Entry<List<VehicleOptionDTO>> getAvailableVehicles() {
+        return referenceDataCache.get("trip.available-vehicles", List.of(ReferenceDataCache.VEHICLES), () -> {
+            List<Object[]> rows = entityManager.createNativeQuery(
+                    "SELECT id, brand, model, plate_number FROM vehicles WHERE status = 'AVAILABLE'"
+            ).getResultList();
+
+            return rows.stream().map(row -> new VehicleOptionDTO(
+                    ((Number) row[0]).longValue(),
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3]
+            )).toList();
+        });
     }
 
-    @SuppressWarnings("unchecked")
-    public List<DriverOptionDTO> getAvailableDrivers() {
-        List<Object[]> rows = entityManager.createNativeQuery(
-                "SELECT id::text, first_name, last_name, employee_id FROM drivers WHERE status = 'ACTIVE'"
-        ).getResultList();
+    public ReferenceDataCache.Entry<List<DriverOptionDTO>> getAvailableDrivers() {
+        return referenceDataCache.get("trip.available-drivers", List.of(ReferenceDataCache.DRIVERS),
+                () -> queryDriverOptions(
+                        "SELECT id::text, first_name, last_name, employee_id FROM drivers WHERE status = 'ACTIVE'"));
+    }
 
-        return rows.stream().map(row -> new DriverOptionDTO(
-                (String) row[0],
-                (String) row[1],
-                (String) row[2],
-                (String) row[3]
-        )).toList();
+    public ReferenceDataCache.Entry<List<DriverOptionDTO>> getAllDrivers() {
+        return referenceDataCache.get("trip.all-drivers", List.of(ReferenceDataCache.DRIVERS),
+                () -> queryDriverOptions(
+                        "SELECT id::text, first_name, last_name, employee_id FROM drivers ORDER BY first_name"));
     }
 
     @SuppressWarnings("unchecked")
-    public List<DriverOptionDTO> getAllDrivers() {
-        List<Object[]> rows = entityManager.createNativeQuery(
-                "SELECT id::text, first_name, last_name, employee_id FROM drivers ORDER BY first_name"
-        ).getResultList();
+    private List<DriverOptionDTO> queryDriverOptions(String sql) {
+        List<Object[]> rows = entityManager.createNativeQuery(sql).getResultList();
 
         return rows.stream().map(row -> new DriverOptionDTO(
                 (String) row[0],
@@ -97,8 +134,8 @@ public class TripRequestService {
         return findById(tripId);
     }
 
-    public List<TripRequest> getTripsByRequester(UUID requesterId) {
-        return repository.findByRequesterIdOrderByCreatedAtDesc(requesterId);
+    public List<TripSummaryDTO> getTripsByRequester(UUID requesterId) {
+        return repository.findSummariesByRequester(requesterId);
     }
 
     private TripRequest findById(UUID id) {
@@ -107,180 +144,310 @@ public class TripRequestService {
     }
 
     // --- Trip Lifecycle Management ---
+    // Each transition re-reads the trip, validates the current state and saves it with its @Version. If another
+    // request changed the trip in between, the save fails and the whole transition is retried against the fresh
+    // state, so the state check always sees the latest committed status and no update is silently overwritten.
+    // The same transaction appends the transition to the trip event log and queues it in the outbox.
 
     public TripRequest editTrip(UUID tripId, CreateTripRequestDTO dto) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.NEW) {
-            throw new RuntimeException("Only NEW trips can be edited");
-        }
         if (dto.getReturnTime().isBefore(dto.getDepartureTime()) ||
                 dto.getReturnTime().isEqual(dto.getDepartureTime())) {
             throw new RuntimeException("Return time must be after departure time");
         }
-        trip.setPurpose(dto.getPurpose());
-        trip.setDestination(dto.getDestination());
-        trip.setDepartureTime(dto.getDepartureTime());
-        trip.setReturnTime(dto.getReturnTime());
-        trip.setPassengerCount(dto.getPassengerCount());
-        trip.setDistanceKm(dto.getDistanceKm());
-        return repository.save(trip);
+        return transition(tripId, TripEventType.EDITED, trip -> {
+            if (trip.getStatus() != TripStatus.NEW) {
+                throw new RuntimeException("Only NEW trips can be edited");
+            }
+            LocalDateTime previousDeparture = trip.getDepartureTime();
+            trip.setPurpose(dto.getPurpose());
+            trip.setDestination(dto.getDestination());
+            trip.setDepartureTime(dto.getDepartureTime());
+            trip.setReturnTime(dto.getReturnTime());
+            trip.setPassengerCount(dto.getPassengerCount());
+            trip.setDistanceKm(dto.getDistanceKm());
+            return persist(trip, previousDeparture);
+        });
     }
 
     public TripRequest submitTrip(UUID tripId) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.NEW) {
-            throw new RuntimeException("Only NEW trips can be submitted");
-        }
-        trip.setStatus(TripStatus.SUBMITTED);
-        return repository.save(trip);
+        return transition(tripId, TripEventType.SUBMITTED, trip -> {
+            if (trip.getStatus() != TripStatus.NEW) {
+                throw new RuntimeException("Only NEW trips can be submitted");
+            }
+            trip.setStatus(TripStatus.SUBMITTED);
+            return persist(trip, trip.getDepartureTime());
+        });
     }
 
     public TripRequest approveTrip(UUID tripId, ApprovalDTO dto) {
-        TripRequest trip = findById(tripId);
-        // Allows re-approval if a previously assigned driver rejected the trip
-        if (trip.getStatus() != TripStatus.SUBMITTED && trip.getStatus() != TripStatus.DRIVER_REJECTED) {
-            throw new RuntimeException("Only SUBMITTED or DRIVER_REJECTED trips can be approved");
-        }
-        trip.setStatus(TripStatus.APPROVED);
-        trip.setApproverId(dto.getApproverId());
-        trip.setApprovalNotes(dto.getNotes());
-        trip.setAssignedVehicleId(dto.getAssignedVehicleId());
-        trip.setAssignedDriverId(dto.getAssignedDriverId());
-        return repository.save(trip);
+        return bookingIndex.withResourceLocks(dto.getAssignedVehicleId(), dto.getAssignedDriverId(), () ->
+                transition(tripId, TripEventType.APPROVED, trip -> {
+                    // Allows re-approval if a previously assigned driver rejected the trip
+                    if (trip.getStatus() != TripStatus.SUBMITTED && trip.getStatus() != TripStatus.DRIVER_REJECTED) {
+                        throw new RuntimeException("Only SUBMITTED or DRIVER_REJECTED trips can be approved");
+                    }
+                    // Approval puts the trip into a blocking status, so the resources it names must be free
+                    if (dto.getAssignedVehicleId() != null) {
+                        ensureVehicleAvailable(trip, dto.getAssignedVehicleId());
+                    }
+                    if (dto.getAssignedDriverId() != null) {
+                        ensureDriverAvailable(trip, dto.getAssignedDriverId());
+                    }
+                    trip.setStatus(TripStatus.APPROVED);
+                    trip.setApproverId(dto.getApproverId());
+                    trip.setApprovalNotes(dto.getNotes());
+                    trip.setAssignedVehicleId(dto.getAssignedVehicleId());
+                    trip.setAssignedDriverId(dto.getAssignedDriverId());
+                    return saveBooking(trip);
+                }));
     }
 
     public TripRequest rejectTrip(UUID tripId, ApprovalDTO dto) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.SUBMITTED) {
-            throw new RuntimeException("Only SUBMITTED trips can be rejected");
-        }
-        trip.setStatus(TripStatus.REJECTED);
-        trip.setApproverId(dto.getApproverId());
-        trip.setApprovalNotes(dto.getNotes());
-        return repository.save(trip);
+        return transition(tripId, TripEventType.REJECTED, trip -> {
+            if (trip.getStatus() != TripStatus.SUBMITTED) {
+                throw new RuntimeException("Only SUBMITTED trips can be rejected");
+            }
+            trip.setStatus(TripStatus.REJECTED);
+            trip.setApproverId(dto.getApproverId());
+            trip.setApprovalNotes(dto.getNotes());
+            return persist(trip, trip.getDepartureTime());
+        });
     }
 
     public TripRequest assignDriver(UUID tripId, ApprovalDTO dto) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.APPROVED) {
-            throw new RuntimeException("Only APPROVED trips can have a driver assigned");
-        }
-        // Prevent driver double-booking
-        List<TripRequest> conflicts = repository.findConflictingDriverBookings(
-                dto.getAssignedDriverId(),
-                trip.getDepartureTime(),
-                trip.getReturnTime());
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("Driver is already assigned for this time slot");
-        }
-        trip.setAssignedDriverId(dto.getAssignedDriverId());
-        return repository.save(trip);
+        return bookingIndex.withResourceLocks(null, dto.getAssignedDriverId(), () ->
+                transition(tripId, TripEventType.DRIVER_ASSIGNED, trip -> {
+                    if (trip.getStatus() != TripStatus.APPROVED) {
+                        throw new RuntimeException("Only APPROVED trips can have a driver assigned");
+                    }
+                    // Prevent driver double-booking
+                    ensureDriverAvailable(trip, dto.getAssignedDriverId());
+                    trip.setAssignedDriverId(dto.getAssignedDriverId());
+                    return saveBooking(trip);
+                }));
     }
 
     public TripRequest assignVehicle(UUID tripId, ApprovalDTO dto) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.APPROVED) {
-            throw new RuntimeException("Only APPROVED trips can have a vehicle assigned");
-        }
-        // Prevent vehicle double-booking
-        List<TripRequest> conflicts = repository.findConflictingVehicleBookings(
-                dto.getAssignedVehicleId(),
-                trip.getDepartureTime(),
-                trip.getReturnTime());
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("Vehicle is already booked for this time slot");
-        }
-        trip.setAssignedVehicleId(dto.getAssignedVehicleId());
-        return repository.save(trip);
+        return bookingIndex.withResourceLocks(dto.getAssignedVehicleId(), null, () ->
+                transition(tripId, TripEventType.VEHICLE_ASSIGNED, trip -> {
+                    if (trip.getStatus() != TripStatus.APPROVED) {
+                        throw new RuntimeException("Only APPROVED trips can have a vehicle assigned");
+                    }
+                    // Prevent vehicle double-booking
+                    ensureVehicleAvailable(trip, dto.getAssignedVehicleId());
+                    trip.setAssignedVehicleId(dto.getAssignedVehicleId());
+                    return saveBooking(trip);
+                }));
+    }
+
+    // Applies one batch-planned assignment, filling only the resources the trip is still missing. Re-checks
+    // conflicts under the resource locks because bookings may have changed since the plan was computed.
+    public TripRequest applyBatchAssignment(UUID tripId, Long vehicleId, UUID driverId) {
+        return bookingIndex.withResourceLocks(vehicleId, driverId, () ->
+                transition(tripId, TripEventType.BATCH_ASSIGNED, trip -> {
+                    if (trip.getStatus() != TripStatus.APPROVED) {
+                        throw new RuntimeException("Only APPROVED trips can be batch assigned");
+                    }
+                    if (trip.getAssignedVehicleId() == null && vehicleId != null) {
+                        ensureVehicleAvailable(trip, vehicleId);
+                        trip.setAssignedVehicleId(vehicleId);
+                    }
+                    if (trip.getAssignedDriverId() == null && driverId != null) {
+                        ensureDriverAvailable(trip, driverId);
+                        trip.setAssignedDriverId(driverId);
+                    }
+                    return saveBooking(trip);
+                }));
     }
 
     public TripRequest driverAcceptTrip(UUID tripId) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.APPROVED) {
-            throw new RuntimeException("Only APPROVED trips can be accepted by driver");
-        }
-        trip.setStatus(TripStatus.DRIVER_CONFIRMED);
-        return repository.save(trip);
+        return transition(tripId, TripEventType.DRIVER_ACCEPTED, trip -> {
+            if (trip.getStatus() != TripStatus.APPROVED) {
+                throw new RuntimeException("Only APPROVED trips can be accepted by driver");
+            }
+            trip.setStatus(TripStatus.DRIVER_CONFIRMED);
+            return saveBooking(trip);
+        });
     }
 
     public TripRequest driverRejectTrip(UUID tripId, ApprovalDTO dto) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.APPROVED) {
-            throw new RuntimeException("Only APPROVED trips can be rejected by driver");
-        }
-        // Clear assignment so administrative staff can cleanly reassign a different driver/vehicle
-        trip.setStatus(TripStatus.DRIVER_REJECTED);
-        trip.setApprovalNotes("Driver rejected: " + dto.getNotes());
-        trip.setAssignedDriverId(null);
-        trip.setAssignedVehicleId(null);
-        return repository.save(trip);
+        return transition(tripId, TripEventType.DRIVER_REJECTED, trip -> {
+            if (trip.getStatus() != TripStatus.APPROVED) {
+                throw new RuntimeException("Only APPROVED trips can be rejected by driver");
+            }
+            // Clear assignment so administrative staff can cleanly reassign a different driver/vehicle
+            trip.setStatus(TripStatus.DRIVER_REJECTED);
+            trip.setApprovalNotes("Driver rejected: " + dto.getNotes());
+            trip.setAssignedDriverId(null);
+            trip.setAssignedVehicleId(null);
+            return saveBooking(trip);
+        });
     }
 
     public TripRequest startTrip(UUID tripId) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.DRIVER_CONFIRMED) {
-            throw new RuntimeException("Only DRIVER_CONFIRMED trips can be started");
-        }
-        trip.setStatus(TripStatus.ONGOING);
-        trip.setStartTime(LocalDateTime.now());
-        return repository.save(trip);
+        return transition(tripId, TripEventType.STARTED, trip -> {
+            if (trip.getStatus() != TripStatus.DRIVER_CONFIRMED) {
+                throw new RuntimeException("Only DRIVER_CONFIRMED trips can be started");
+            }
+            trip.setStatus(TripStatus.ONGOING);
+            trip.setStartTime(LocalDateTime.now());
+            return saveBooking(trip);
+        });
     }
 
     public TripRequest completeTrip(UUID tripId) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() != TripStatus.ONGOING) {
-            throw new RuntimeException("Only ONGOING trips can be completed");
-        }
-        trip.setStatus(TripStatus.COMPLETED);
-        trip.setEndTime(LocalDateTime.now());
-        return repository.save(trip);
+        return transition(tripId, TripEventType.COMPLETED, trip -> {
+            if (trip.getStatus() != TripStatus.ONGOING) {
+                throw new RuntimeException("Only ONGOING trips can be completed");
+            }
+            trip.setStatus(TripStatus.COMPLETED);
+            trip.setEndTime(LocalDateTime.now());
+            return saveBooking(trip);
+        });
     }
 
     public TripRequest cancelTrip(UUID tripId, UUID cancelledBy, String reason) {
-        TripRequest trip = findById(tripId);
-        if (trip.getStatus() == TripStatus.COMPLETED ||
-                trip.getStatus() == TripStatus.CANCELLED) {
-            throw new RuntimeException("Cannot cancel a completed or already cancelled trip");
+        return transition(tripId, TripEventType.CANCELLED, trip -> {
+            if (trip.getStatus() == TripStatus.COMPLETED ||
+                    trip.getStatus() == TripStatus.CANCELLED) {
+                throw new RuntimeException("Cannot cancel a completed or already cancelled trip");
+            }
+            trip.setStatus(TripStatus.CANCELLED);
+            trip.setApprovalNotes(reason);
+            return saveBooking(trip);
+        });
+    }
+
+    // Runs one transition in its own transaction, together with its event log and outbox rows
+    private TripRequest transition(UUID tripId, TripEventType type, Function<TripRequest, TripRequest> change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    TripRequest trip = findById(tripId);
+                    TripStatus fromStatus = trip.getStatus();
+                    UUID previousDriverId = trip.getAssignedDriverId();
+                    String previousNotes = trip.getApprovalNotes();
+                    TripRequest saved = change.apply(trip);
+                    // Notes are overwritten in place on the trip, so the log keeps each new value
+                    String notes = Objects.equals(previousNotes, saved.getApprovalNotes()) ? null : saved.getApprovalNotes();
+                    eventLog.append(type, fromStatus, previousDriverId, saved, notes);
+                    return saved;
+                });
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_TRANSITION_ATTEMPTS) {
+                    throw new ConflictException("Trip was changed by another request, please retry");
+                }
+            }
+        }
+    }
+
+    private void ensureDriverAvailable(TripRequest trip, UUID driverId) {
+        if (bookingIndex.hasDriverConflict(driverId, trip.getDepartureTime(), trip.getReturnTime(), trip.getId())) {
+            throw new RuntimeException(DRIVER_CONFLICT_MESSAGE);
+        }
+    }
+
+    private void ensureVehicleAvailable(TripRequest trip, Long vehicleId) {
+        if (bookingIndex.hasVehicleConflict(vehicleId, trip.getDepartureTime(), trip.getReturnTime(), trip.getId())) {
+            throw new RuntimeException(VEHICLE_CONFLICT_MESSAGE);
+        }
+    }
+
+    // Every trip write goes through here so listeners (e.g. the calendar cache) see each change
+    private TripRequest persist(TripRequest trip, LocalDateTime previousDeparture) {
+        // Flush so version conflicts and constraint violations surface here rather than at commit
+        TripRequest saved = repository.saveAndFlush(trip);
+        eventPublisher.publishEvent(TripChangedEvent.of(saved, previousDeparture));
+        return saved;
+    }
+
+    // Saves a trip whose bookings may have changed and re-indexes it once the transaction commits, so a rolled-back
+    // or retried transition never leaves a phantom booking in the index. Booking transitions commit while still
+    // holding the resource locks, so no other check on the same vehicle or driver can run before the index is
+    // updated. A booking written concurrently by another node is caught by the exclusion constraints and reported
+    // like a local conflict.
+    private TripRequest saveBooking(TripRequest trip) {
+        TripRequest saved;
+        try {
+            saved = persist(trip, trip.getDepartureTime());
+        } catch (DataIntegrityViolationException e) {
+            String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (detail.contains(VEHICLE_OVERLAP_CONSTRAINT)) {
+                throw new RuntimeException(VEHICLE_CONFLICT_MESSAGE);
+            }
+            if (detail.contains(DRIVER_OVERLAP_CONSTRAINT)) {
+                throw new RuntimeException(DRIVER_CONFLICT_MESSAGE);
+            }
+            throw e;
         }
-        trip.setStatus(TripStatus.CANCELLED);
-        trip.setApprovalNotes(reason);
-        return repository.save(trip);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bookingIndex.apply(saved);
+                }
+            });
+        } else {
+            bookingIndex.apply(saved);
+        }
+        return saved;
     }
 
     // --- Queries and Reporting ---
 
-    public List<TripRequest> getTripsByDriver(UUID driverId) {
-        return repository.findByAssignedDriverIdOrderByDepartureTimeAsc(driverId);
+    public List<TripSummaryDTO> getTripsByDriver(UUID driverId) {
+        return repository.findSummariesByDriver(driverId);
     }
 
-    public List<TripRequest> getUpcomingTripsByDriver(UUID driverId) {
-        return repository.findByAssignedDriverIdAndStatusOrderByDepartureTimeAsc(
-                driverId, TripStatus.APPROVED);
+    public List<TripSummaryDTO> getUpcomingTripsByDriver(UUID driverId) {
+        return repository.findSummariesByDriverAndStatus(driverId, TripStatus.APPROVED);
     }
 
-    public List<TripRequest> getRequesterTripHistory(UUID requesterId) {
-        return repository.findByRequesterIdOrderByCreatedAtDesc(requesterId);
+    public List<TripSummaryDTO> getRequesterTripHistory(UUID requesterId) {
+        return repository.findSummariesByRequester(requesterId);
     }
 
-    public List<TripRequest> getRequesterActiveTrips(UUID requesterId) {
-        return repository.findByRequesterIdAndStatusInOrderByDepartureTimeAsc(
+    public List<TripSummaryDTO> getRequesterActiveTrips(UUID requesterId) {
+        return repository.findSummariesByRequesterAndStatusIn(
                 requesterId, List.of(TripStatus.NEW, TripStatus.SUBMITTED, TripStatus.APPROVED, TripStatus.ONGOING));
     }
 
-    public List<TripRequest> getTripsForCalendar(int year, int month) {
-        LocalDateTime start = LocalDateTime.of(year, month, 1, 0, 0);
-        LocalDateTime end = start.plusMonths(1).minusSeconds(1);
-        return repository.findByDepartureTimeBetweenOrderByDepartureTimeAsc(start, end);
+    public List<TripEvent> getTripHistory(UUID tripId) {
+        findById(tripId);
+        return eventLog.history(tripId);
+    }
+
+    public TripCalendarCache.CalendarMonth getCalendarMonth(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12");
+        }
+        return calendarCache.get(YearMonth.of(year, month));
     }
 
-    public List<TripRequest> searchTrips(String destination, TripStatus status, UUID requesterId) {
-        // Fetches all records and performs in-memory filtering based on provided parameters
-        List<TripRequest> all = repository.findAll();
-        return all.stream()
-                .filter(t -> destination == null || t.getDestination().toLowerCase().contains(destination.toLowerCase()))
-                .filter(t -> status == null || t.getStatus() == status)
-                .filter(t -> requesterId == null || t.getRequesterId().equals(requesterId))
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .toList();
+    // Filters, ordering and paging all run in the database; the extra row fetched beyond pageSize tells us if another page exists
+    public TripSearchPageDTO searchTrips(String destination, TripStatus status, UUID requesterId,
+                                         String cursor, int pageSize, boolean includeTotal) {
+        int size = Math.min(Math.max(pageSize, 1), MAX_SEARCH_PAGE_SIZE);
+        Specification<TripRequest> filters = Specification.where(TripRequestSpecifications.destinationContains(destination))
+                .and(TripRequestSpecifications.hasStatus(status))
+                .and(TripRequestSpecifications.hasRequester(requesterId));
+
+        Specification<TripRequest> pageFilter = filters;
+        if (cursor != null && !cursor.isBlank()) {
+            TripSearchCursor position = TripSearchCursor.decode(cursor);
+            pageFilter = filters.and(TripRequestSpecifications.createdBefore(position.createdAt(), position.id()));
+        }
+
+        List<TripRequest> rows = repository.findBy(pageFilter, query -> query
+                .sortBy(SEARCH_ORDER)
+                .limit(size + 1)
+                .all());
+
+        boolean hasMore = rows.size() > size;
+        List<TripRequest> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? TripSearchCursor.of(items.get(items.size() - 1)).encode() : null;
+        // COUNT(*) is opt-in because it scans every matching row regardless of page size
+        Long totalCount = includeTotal ? repository.count(filters) : null;
+        return new TripSearchPageDTO(items, nextCursor, hasMore, totalCount);
     }
 }
@@ -0,0 +1,86 @@
+package com.vfms.trip.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Turns completed trips into per-day utilization deltas for their vehicle and driver. A trip crossing midnight is
+// split at day boundaries and its distance apportioned by time. Deltas for the same resource and day are merged, and
+// the result is sorted by key so concurrent writers always upsert rollup rows in the same order.
+final class TripUtilizationCalculator {
+
+    static final String VEHICLE = "VEHICLE";
+    static final String DRIVER = "DRIVER";
+
+    record CompletedTrip(UUID tripId, Long vehicleId, UUID driverId, LocalDateTime startTime, LocalDateTime endTime,
+                         BigDecimal distanceKm) {
+    }
+
+    record Key(String resourceType, String resourceId, LocalDate day) {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::resourceType)
+                .thenComparing(Key::resourceId)
+                .thenComparing(Key::day);
+    }
+
+    record Delta(int tripCount, long tripMinutes, BigDecimal distanceKm, LocalDateTime firstStart,
+                 LocalDateTime lastEnd) {
+
+        Delta merge(Delta other) {
+            return new Delta(tripCount + other.tripCount, tripMinutes + other.tripMinutes,
+                    distanceKm.add(other.distanceKm),
+                    firstStart.isBefore(other.firstStart) ? firstStart : other.firstStart,
+                    lastEnd.isAfter(other.lastEnd) ? lastEnd : other.lastEnd);
+        }
+    }
+
+    private TripUtilizationCalculator() {
+    }
+
+    static Map<Key, Delta> contributions(List<CompletedTrip> trips) {
+        Map<Key, Delta> deltas = new TreeMap<>(Key.ORDER);
+        for (CompletedTrip trip : trips) {
+            if (trip.startTime() == null || trip.endTime() == null || trip.endTime().isBefore(trip.startTime())) {
+                continue;
+            }
+            long totalMinutes = Duration.between(trip.startTime(), trip.endTime()).toMinutes();
+            BigDecimal distance = trip.distanceKm() == null ? BigDecimal.ZERO : trip.distanceKm();
+            for (LocalDate day = trip.startTime().toLocalDate(); !day.isAfter(trip.endTime().toLocalDate());
+                 day = day.plusDays(1)) {
+                LocalDateTime from = max(trip.startTime(), day.atStartOfDay());
+                LocalDateTime to = min(trip.endTime(), day.plusDays(1).atStartOfDay());
+                long minutes = Duration.between(from, to).toMinutes();
+                // Skip the empty tail of a trip that ends exactly at midnight, but keep zero-length trips
+                if (minutes == 0 && totalMinutes > 0) {
+                    continue;
+                }
+                BigDecimal share = totalMinutes == 0 ? distance
+                        : distance.multiply(BigDecimal.valueOf(minutes))
+                                .divide(BigDecimal.valueOf(totalMinutes), 2, RoundingMode.HALF_UP);
+                Delta delta = new Delta(1, minutes, share, from, to);
+                if (trip.vehicleId() != null) {
+                    deltas.merge(new Key(VEHICLE, trip.vehicleId().toString(), day), delta, Delta::merge);
+                }
+                if (trip.driverId() != null) {
+                    deltas.merge(new Key(DRIVER, trip.driverId().toString(), day), delta, Delta::merge);
+                }
+            }
+        }
+        return deltas;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
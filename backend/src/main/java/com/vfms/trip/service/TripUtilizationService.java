@@ -0,0 +1,156 @@
+package com.vfms.trip.service;
+
+import com.vfms.common.exception.ConflictException;
+import com.vfms.trip.dto.TripUtilizationDTO;
+import com.vfms.trip.dto.UtilizationBackfillResultDTO;
+import com.vfms.trip.enums.TripEventType;
+import com.vfms.trip.repository.TripRequestRepository;
+import com.vfms.trip.repository.TripUtilizationRepository;
+import com.vfms.trip.repository.TripUtilizationRepository.CompletedTripRow;
+import com.vfms.trip.repository.TripUtilizationRepository.DailyIncrement;
+import com.vfms.trip.service.TripUtilizationCalculator.CompletedTrip;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Maintains the daily vehicle and driver utilization rollup. Each completed trip is folded in once, either by its
+// COMPLETED event or by the backfill, which walks historical trips in keyset chunks and applies them in parallel.
+// Dashboards read the rollup rows and never scan trip_requests.
+@Slf4j
+@Service
+public class TripUtilizationService {
+
+    private static final Set<String> RESOURCE_TYPES = Set.of(TripUtilizationCalculator.VEHICLE,
+            TripUtilizationCalculator.DRIVER);
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final TripUtilizationRepository utilizationRepository;
+    private final TripRequestRepository tripRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate rollupTransaction;
+    private final int chunkSize;
+    private final int backfillThreads;
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    public TripUtilizationService(TripUtilizationRepository utilizationRepository,
+                                  TripRequestRepository tripRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${trip.utilization.backfill.chunk-size:500}") int chunkSize,
+                                  @Value("${trip.utilization.backfill.threads:4}") int backfillThreads) {
+        this.utilizationRepository = utilizationRepository;
+        this.tripRepository = tripRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rollupTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.rollupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.backfillThreads = backfillThreads;
+    }
+
+    // Called from the outbox dispatch, but the rollup commits in its own transaction and a failure is only logged:
+    // a missing rollup table or a bad row must not roll back delivery for the other listeners. A trip whose rollup
+    // failed stays out of the applied ledger, so the next backfill folds it in.
+    @EventListener
+    public void onTripLifecycle(TripLifecycleEvent event) {
+        if (event.type() != TripEventType.COMPLETED) {
+            return;
+        }
+        try {
+            rollupTransaction.executeWithoutResult(status -> tripRepository.findById(event.tripId())
+                    .ifPresent(trip -> apply(List.of(new CompletedTrip(trip.getId(), trip.getAssignedVehicleId(),
+                            trip.getAssignedDriverId(), trip.getStartTime(), trip.getEndTime(),
+                            trip.getDistanceKm())))));
+        } catch (RuntimeException e) {
+            log.warn("Could not apply trip {} to the utilization rollup, the backfill will retry it: {}",
+                    event.tripId(), e.getMessage());
+        }
+    }
+
+    public UtilizationBackfillResultDTO backfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            throw new ConflictException("Utilization backfill is already running");
+        }
+        long started = System.nanoTime();
+        AtomicInteger applied = new AtomicInteger();
+        int chunks = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(backfillThreads);
+        // Bounds how many chunks are loaded but not yet applied
+        Semaphore inFlight = new Semaphore(backfillThreads * 2);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        try {
+            // The nil UUID sorts before every other id
+            UUID afterId = new UUID(0L, 0L);
+            List<CompletedTripRow> page;
+            do {
+                page = utilizationRepository.findUnappliedCompleted(afterId, chunkSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).id();
+                List<CompletedTrip> chunk = page.stream()
+                        .map(row -> new CompletedTrip(row.id(), row.vehicleId(), row.driverId(), row.startTime(),
+                                row.endTime(), row.distanceKm()))
+                        .toList();
+                inFlight.acquireUninterruptibly();
+                chunks++;
+                pending.add(CompletableFuture
+                        .runAsync(() -> applied.addAndGet(transactionTemplate.execute(status -> apply(chunk))), pool)
+                        .whenComplete((result, error) -> inFlight.release()));
+            } while (page.size() == chunkSize);
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdown();
+            backfillRunning.set(false);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Utilization backfill applied {} trips in {} chunks ({} ms)", applied.get(), chunks, elapsedMillis);
+        return new UtilizationBackfillResultDTO(applied.get(), chunks, elapsedMillis);
+    }
+
+    public List<TripUtilizationDTO> getDailyUtilization(String resourceType, String resourceId,
+                                                        LocalDate from, LocalDate to) {
+        String type = resourceType == null ? null : resourceType.toUpperCase();
+        if (!RESOURCE_TYPES.contains(type)) {
+            throw new IllegalArgumentException("Resource type must be VEHICLE or DRIVER");
+        }
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Utilization range end must not be before its start");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Utilization range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        return utilizationRepository.findDaily(type, resourceId, from, to);
+    }
+
+    // Claims the trips in the ledger first; trips some other writer already applied contribute nothing
+    private int apply(List<CompletedTrip> trips) {
+        List<UUID> claimed = utilizationRepository.markApplied(trips.stream().map(CompletedTrip::tripId).toList());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        Set<UUID> claimedIds = Set.copyOf(claimed);
+        Map<TripUtilizationCalculator.Key, TripUtilizationCalculator.Delta> deltas = TripUtilizationCalculator
+                .contributions(trips.stream().filter(t -> claimedIds.contains(t.tripId())).toList());
+        utilizationRepository.increment(deltas.entrySet().stream()
+                .map(e -> new DailyIncrement(e.getKey().resourceType(), e.getKey().resourceId(), e.getKey().day(),
+                        e.getValue().tripCount(), e.getValue().tripMinutes(), e.getValue().distanceKm(),
+                        e.getValue().firstStart(), e.getValue().lastEnd()))
+                .toList());
+        return claimed.size();
+    }
+}
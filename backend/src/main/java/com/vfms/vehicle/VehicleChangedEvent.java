@@ -0,0 +1,8 @@
+package com.vfms.vehicle;
+
+/**
+ * Published after a vehicle's identifying or availability data changes so that
+ * caches and lookup indexes in other modules can drop their copy.
+ */
+public record VehicleChangedEvent(Long vehicleId) {
+}
@@ -5,10 +5,12 @@ import com.vfms.vehicle.dto.VehicleRequestDto;
 import com.vfms.vehicle.dto.VehicleResponseDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -26,16 +28,30 @@ public class VehicleController {
                 .body(ApiResponse.success("Vehicle added successfully", vehicle));
     }
 
-    // Optional param keeps filtering on one endpoint rather than splitting into multiple routes
+    // Optional params keep filtering on one endpoint rather than splitting into multiple routes;
+    // updatedSince includes retired vehicles so incremental consumers can drop them
     @GetMapping
     public ResponseEntity<ApiResponse<List<VehicleResponseDto>>> getAllVehicles(
-            @RequestParam(required = false) VehicleStatus status) {
-        List<VehicleResponseDto> vehicles = (status != null)
-                ? vehicleService.getVehiclesByStatus(status)
-                : vehicleService.getAllVehicles();
+            @RequestParam(required = false) VehicleStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        List<VehicleResponseDto> vehicles;
+        if (updatedSince != null) {
+            vehicles = vehicleService.getVehiclesUpdatedSince(updatedSince);
+        } else if (status != null) {
+            vehicles = vehicleService.getVehiclesByStatus(status);
+        } else {
+            vehicles = vehicleService.getAllVehicles();
+        }
         return ResponseEntity.ok(ApiResponse.success("Vehicles retrieved", vehicles));
     }
 
+    // Bulk lookup so integrations can enrich many records with one round-trip
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<VehicleResponseDto>>> getVehiclesByIds(
+            @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(ApiResponse.success("Vehicles retrieved", vehicleService.getVehiclesByIds(ids)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<VehicleResponseDto>> getVehicleById(@PathVariable Long id) {
         VehicleResponseDto vehicle = vehicleService.getVehicleById(id);
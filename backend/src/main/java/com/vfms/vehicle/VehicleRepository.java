@@ -1,5 +1,7 @@
 package com.vfms.vehicle;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,6 +16,12 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     List<Vehicle> findByActiveTrue();
 
+    List<Vehicle> findByIdIn(Collection<Long> ids);
+
+    List<Vehicle> findByPlateNumberIn(Collection<String> plateNumbers);
+
+    List<Vehicle> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
     List<Vehicle> findByStatus(VehicleStatus status);
 
     List<Vehicle> findByStatusAndActiveTrue(VehicleStatus status);
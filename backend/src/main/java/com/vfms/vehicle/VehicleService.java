@@ -4,9 +4,12 @@ import com.vfms.common.exception.ResourceNotFoundException;
 import com.vfms.vehicle.dto.VehicleRequestDto;
 import com.vfms.vehicle.dto.VehicleResponseDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -14,6 +17,7 @@ import java.util.List;
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Checked in code rather than relying on the DB constraint to give callers a descriptive error
     @Transactional
@@ -37,7 +41,9 @@ public class VehicleService {
                 .revenueLicenseExpiryDate(request.getRevenueLicenseExpiryDate())
                 .build();
 
-        return mapToResponse(vehicleRepository.save(vehicle));
+        Vehicle saved = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(saved.getId()));
+        return mapToResponse(saved);
     }
 
     // Filters by active=true so retired vehicles are excluded from normal listings without requiring callers to pass an explicit filter
@@ -56,6 +62,14 @@ public class VehicleService {
                 .toList();
     }
 
+    // Inclusive bound so rows sharing the caller's watermark timestamp are not skipped
+    @Transactional(readOnly = true)
+    public List<VehicleResponseDto> getVehiclesUpdatedSince(LocalDateTime since) {
+        return vehicleRepository.findByUpdatedAtGreaterThanEqual(since).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public VehicleResponseDto getVehicleById(Long id) {
         Vehicle vehicle = vehicleRepository.findById(id)
@@ -63,6 +77,17 @@ public class VehicleService {
         return mapToResponse(vehicle);
     }
 
+    // Unknown IDs are skipped rather than failing the whole batch; callers match results by ID
+    @Transactional(readOnly = true)
+    public List<VehicleResponseDto> getVehiclesByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return vehicleRepository.findByIdIn(ids).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
     @Transactional
     public VehicleResponseDto updateVehicle(Long id, VehicleRequestDto request) {
         Vehicle vehicle = vehicleRepository.findById(id)
@@ -80,7 +105,9 @@ public class VehicleService {
         vehicle.setInsuranceExpiryDate(request.getInsuranceExpiryDate());
         vehicle.setRevenueLicenseExpiryDate(request.getRevenueLicenseExpiryDate());
 
-        return mapToResponse(vehicleRepository.save(vehicle));
+        Vehicle saved = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(saved.getId()));
+        return mapToResponse(saved);
     }
 
     // Both flags set together so the vehicle is excluded regardless of which filter is applied
@@ -92,7 +119,9 @@ public class VehicleService {
         vehicle.setActive(false);
         vehicle.setStatus(VehicleStatus.RETIRED);
 
-        return mapToResponse(vehicleRepository.save(vehicle));
+        Vehicle saved = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(saved.getId()));
+        return mapToResponse(saved);
     }
 
     @Transactional
@@ -102,7 +131,9 @@ public class VehicleService {
 
         vehicle.setStatus(newStatus);
 
-        return mapToResponse(vehicleRepository.save(vehicle));
+        Vehicle saved = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(saved.getId()));
+        return mapToResponse(saved);
     }
 
     private VehicleResponseDto mapToResponse(Vehicle v) {
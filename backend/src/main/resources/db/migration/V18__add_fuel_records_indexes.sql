@@ -0,0 +1,25 @@
+-- Indexes for the fuel_records read paths. Column order and sort direction
+-- follow the repository queries so PostgreSQL can read rows in index order
+-- instead of sorting, and the INCLUDE columns let misuse lookups run as
+-- index-only scans. Built CONCURRENTLY so existing tables stay writable.
+
+-- Per-vehicle history, efficiency timelines, misuse state (latest entries,
+-- ids on a date) and the LAG window in the analytics queries.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fuel_records_vehicle_date
+    ON fuel_records (vehicle_id, fuel_date DESC, created_at DESC)
+    INCLUDE (odometer_reading, id);
+
+-- Per-driver history and the driver filter of the date-range search.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fuel_records_driver_date
+    ON fuel_records (driver_id, fuel_date DESC, created_at DESC)
+    WHERE driver_id IS NOT NULL;
+
+-- Newest-first listing, keyset pagination, NDJSON export and fleet date ranges.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fuel_records_date_created
+    ON fuel_records (fuel_date DESC, created_at DESC, id DESC);
+
+-- Flagged entries are a small fraction of the table; a partial index keeps
+-- the review queue cheap without indexing every unflagged row.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fuel_records_flagged
+    ON fuel_records (fuel_date DESC, created_at DESC)
+    WHERE flagged_for_misuse = TRUE;
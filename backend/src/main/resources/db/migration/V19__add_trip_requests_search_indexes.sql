@@ -0,0 +1,22 @@
+-- Indexes for the trip search endpoint. Results are ordered newest first by
+-- (created_at, id) and paged by keyset, so each filter gets a composite index
+-- ending in that order. Built CONCURRENTLY so the table stays writable.
+
+-- Trigram matching lets the case-insensitive substring search on destination
+-- use an index instead of scanning every row.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trip_requests_destination_trgm
+    ON trip_requests USING gin (lower(destination) gin_trgm_ops);
+
+-- Status filter with keyset ordering.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trip_requests_status_created
+    ON trip_requests (status, created_at DESC, id DESC);
+
+-- Requester filter with keyset ordering.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trip_requests_requester_created
+    ON trip_requests (requester_id, created_at DESC, id DESC);
+
+-- Unfiltered newest-first listing.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trip_requests_created
+    ON trip_requests (created_at DESC, id DESC);
@@ -0,0 +1,17 @@
+-- Database-level guard against double-booking. A vehicle or driver may not
+-- hold two trips in a blocking status (APPROVED, DRIVER_CONFIRMED, ONGOING)
+-- whose [departure_time, return_time) windows overlap. This backs the
+-- in-memory conflict index when several application nodes assign at once.
+
+-- btree_gist provides the equality operator classes for bigint/uuid in GiST.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE trip_requests DROP CONSTRAINT IF EXISTS trip_requests_vehicle_no_overlap;
+ALTER TABLE trip_requests ADD CONSTRAINT trip_requests_vehicle_no_overlap
+    EXCLUDE USING gist (vehicle_id WITH =, tsrange(departure_time, return_time) WITH &&)
+    WHERE (vehicle_id IS NOT NULL AND status IN ('APPROVED', 'DRIVER_CONFIRMED', 'ONGOING'));
+
+ALTER TABLE trip_requests DROP CONSTRAINT IF EXISTS trip_requests_driver_no_overlap;
+ALTER TABLE trip_requests ADD CONSTRAINT trip_requests_driver_no_overlap
+    EXCLUDE USING gist (driver_id WITH =, tsrange(departure_time, return_time) WITH &&)
+    WHERE (driver_id IS NOT NULL AND status IN ('APPROVED', 'DRIVER_CONFIRMED', 'ONGOING'));
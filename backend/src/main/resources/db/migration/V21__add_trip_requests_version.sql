@@ -0,0 +1,6 @@
+-- Optimistic-lock version for trip_requests. Existing rows start at 0 so
+-- versioned updates can match them; new rows are versioned by Hibernate.
+ALTER TABLE trip_requests ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Covers schemas where the column was added as nullable by ddl-auto=update.
+UPDATE trip_requests SET version = 0 WHERE version IS NULL;
@@ -0,0 +1,29 @@
+-- Append-only trip lifecycle log. One row per committed transition, ordered
+-- per trip by trip_version.
+CREATE TABLE IF NOT EXISTS trip_events (
+    id                  BIGSERIAL PRIMARY KEY,
+    trip_id             UUID NOT NULL REFERENCES trip_requests(id),
+    trip_version        BIGINT NOT NULL,
+    event_type          VARCHAR(30) NOT NULL,
+    from_status         VARCHAR(20),
+    to_status           VARCHAR(20) NOT NULL,
+    assigned_vehicle_id BIGINT,
+    assigned_driver_id  UUID,
+    previous_driver_id  UUID,
+    notes               TEXT,
+    occurred_at         TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_trip_events_trip_version UNIQUE (trip_id, trip_version)
+);
+
+-- Transactional outbox: written with the event, drained by TripOutboxDispatcher.
+CREATE TABLE IF NOT EXISTS trip_outbox (
+    id            BIGSERIAL PRIMARY KEY,
+    event_id      BIGINT NOT NULL REFERENCES trip_events(id),
+    created_at    TIMESTAMP NOT NULL DEFAULT NOW(),
+    dispatched_at TIMESTAMP,
+    attempts      INT NOT NULL DEFAULT 0,
+    last_error    VARCHAR(500)
+);
+
+-- Keeps the dispatcher's pending scan small however large the delivered history grows.
+CREATE INDEX IF NOT EXISTS idx_trip_outbox_pending ON trip_outbox (id) WHERE dispatched_at IS NULL;
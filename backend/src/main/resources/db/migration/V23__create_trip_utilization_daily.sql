@@ -0,0 +1,23 @@
+-- Daily utilization per vehicle (resource_id = vehicle id) and driver
+-- (resource_id = driver UUID). Maintained incrementally from completed trips.
+CREATE TABLE IF NOT EXISTS trip_utilization_daily (
+    resource_type VARCHAR(10)   NOT NULL,
+    resource_id   VARCHAR(36)   NOT NULL,
+    day           DATE          NOT NULL,
+    trip_count    INT           NOT NULL DEFAULT 0,
+    trip_minutes  BIGINT        NOT NULL DEFAULT 0,
+    distance_km   NUMERIC(12,2) NOT NULL DEFAULT 0,
+    first_start   TIMESTAMP     NOT NULL,
+    last_end      TIMESTAMP     NOT NULL,
+    PRIMARY KEY (resource_type, resource_id, day)
+);
+
+-- Dashboards read a date range for one resource type across all resources.
+CREATE INDEX IF NOT EXISTS idx_trip_utilization_type_day ON trip_utilization_daily (resource_type, day);
+
+-- Trips already folded into the rollup, so completion events and the backfill
+-- never count the same trip twice.
+CREATE TABLE IF NOT EXISTS trip_utilization_applied (
+    trip_id    UUID PRIMARY KEY REFERENCES trip_requests(id),
+    applied_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,74 @@
+package com.vfms.common.cache;
+
+import com.vfms.dsm.service.DriverChangedEvent;
+import com.vfms.vehicle.VehicleChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReferenceDataCache Unit Tests")
+class ReferenceDataCacheTest {
+
+    private final ReferenceDataCache cache = new ReferenceDataCache(300);
+
+    @Test
+    @DisplayName("Should serve repeat reads from memory with a stable ETag")
+    void shouldReuseLoadedList() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ReferenceDataCache.Entry<List<String>> first = cache.get("vehicles", List.of(ReferenceDataCache.VEHICLES),
+                () -> { loads.incrementAndGet(); return List.of("CAB-1234"); });
+        ReferenceDataCache.Entry<List<String>> second = cache.get("vehicles", List.of(ReferenceDataCache.VEHICLES),
+                () -> { loads.incrementAndGet(); return List.of("CAB-1234"); });
+
+        assertEquals(1, loads.get());
+        assertEquals(first.etag(), second.etag());
+    }
+
+    @Test
+    @DisplayName("Should reload only the lists that read the changed table")
+    void shouldInvalidatePerTable() {
+        AtomicInteger vehicleLoads = new AtomicInteger();
+        AtomicInteger driverLoads = new AtomicInteger();
+        AtomicInteger formLoads = new AtomicInteger();
+        Runnable readAll = () -> {
+            cache.get("vehicles", List.of(ReferenceDataCache.VEHICLES), vehicleLoads::incrementAndGet);
+            cache.get("drivers", List.of(ReferenceDataCache.DRIVERS), driverLoads::incrementAndGet);
+            cache.get("form", List.of(ReferenceDataCache.VEHICLES, ReferenceDataCache.DRIVERS), formLoads::incrementAndGet);
+        };
+
+        readAll.run();
+        cache.onDriverChanged(new DriverChangedEvent(UUID.randomUUID()));
+        readAll.run();
+        cache.onVehicleChanged(new VehicleChangedEvent(1L));
+        readAll.run();
+
+        assertEquals(2, vehicleLoads.get());
+        assertEquals(2, driverLoads.get());
+        assertEquals(3, formLoads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a list loaded while its table was being written")
+    void shouldNotCacheRacingLoad() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("drivers", List.of(ReferenceDataCache.DRIVERS), () -> {
+            loads.incrementAndGet();
+            cache.invalidate(ReferenceDataCache.DRIVERS);
+            return List.of("stale");
+        });
+        List<String> fresh = cache.get("drivers", List.of(ReferenceDataCache.DRIVERS), () -> {
+            loads.incrementAndGet();
+            return List.of("fresh");
+        }).value();
+
+        assertEquals(2, loads.get());
+        assertEquals(List.of("fresh"), fresh);
+    }
+}
@@ -0,0 +1,123 @@
+package com.vfms.config.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Drives the factory against a local HTTP server whose status code each test sets, so the breaker and bulkhead are
+// exercised through real requests
+@DisplayName("GuardedClientHttpRequestFactory Unit Tests")
+class GuardedClientHttpRequestFactoryTest {
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger served = new AtomicInteger();
+    private GuardedClientHttpRequestFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            served.incrementAndGet();
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        OutboundHttpProperties.Target settings = new OutboundHttpProperties.Target();
+        settings.setFailureThreshold(2);
+        settings.setOpenStateMs(200);
+        settings.setMaxConcurrentCalls(1);
+        settings.setBulkheadWaitMs(10);
+        factory = new GuardedClientHttpRequestFactory("test", settings);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        factory.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive failures and fail fast without calling the target")
+    void shouldOpenAfterConsecutiveFailures() throws IOException {
+        status.set(500);
+        call();
+        call();
+        assertEquals("OPEN", factory.stats().getCircuitState());
+
+        assertThrows(ResourceAccessException.class, this::call);
+        assertEquals(2, served.get());
+        assertEquals(1, factory.stats().getShortCircuited());
+    }
+
+    @Test
+    @DisplayName("Should let one trial call through after the open period and close the circuit when it succeeds")
+    void shouldCloseAfterSuccessfulTrial() throws Exception {
+        status.set(500);
+        call();
+        call();
+        Thread.sleep(250);
+        assertEquals("HALF_OPEN", factory.stats().getCircuitState());
+
+        status.set(200);
+        assertEquals(200, call());
+        assertEquals("CLOSED", factory.stats().getCircuitState());
+        assertEquals(200, call());
+    }
+
+    @Test
+    @DisplayName("Should reopen the circuit when the half-open trial fails")
+    void shouldReopenAfterFailedTrial() throws Exception {
+        status.set(500);
+        call();
+        call();
+        Thread.sleep(250);
+
+        call();
+        assertEquals("OPEN", factory.stats().getCircuitState());
+        assertThrows(ResourceAccessException.class, this::call);
+        assertEquals(3, served.get());
+    }
+
+    @Test
+    @DisplayName("Should hold the bulkhead permit until the response is closed and reject calls beyond the limit")
+    void shouldRejectBeyondBulkheadUntilResponseClosed() throws IOException {
+        ClientHttpResponse open = factory.createRequest(uri(), HttpMethod.GET).execute();
+
+        assertThrows(ResourceAccessException.class, this::call);
+        assertEquals(1, factory.stats().getRejectedByBulkhead());
+
+        open.close();
+        assertEquals(200, call());
+        assertEquals(1, factory.stats().getAvailablePermits());
+    }
+
+    private int call() throws IOException {
+        try (ClientHttpResponse response = factory.createRequest(uri(), HttpMethod.GET).execute()) {
+            return response.getStatusCode().value();
+        }
+    }
+
+    private URI uri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+}
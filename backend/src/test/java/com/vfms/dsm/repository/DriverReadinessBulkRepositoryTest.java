@@ -0,0 +1,147 @@
+package com.vfms.dsm.repository;
+
+import com.vfms.dsm.entity.DriverAvailability;
+import com.vfms.dsm.repository.DriverReadinessBulkRepository.ListedReadiness;
+import com.vfms.dsm.repository.DriverReadinessBulkRepository.ReadinessRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the native readiness statements against H2 in PostgreSQL mode with the columns they reference, so a renamed
+// or misspelt column fails here rather than in the scheduled refresh
+@DisplayName("DriverReadinessBulkRepository SQL Tests")
+class DriverReadinessBulkRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+    private static final UUID ZERO = new UUID(0, 0);
+
+    private static final UUID READY = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID EXPIRED_LICENSE = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID EXPIRED_CERT = UUID.fromString("00000000-0000-0000-0000-000000000003");
+    private static final UUID DRIVING = UUID.fromString("00000000-0000-0000-0000-000000000004");
+    private static final UUID NO_LICENSE = UUID.fromString("00000000-0000-0000-0000-000000000005");
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbc;
+    private DriverReadinessBulkRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbc = new JdbcTemplate(database);
+        jdbc.execute("SET MODE PostgreSQL");
+        jdbc.execute("""
+            CREATE TABLE drivers (
+                id UUID PRIMARY KEY, employee_id VARCHAR(50), full_name VARCHAR(200), created_at TIMESTAMP)""");
+        jdbc.execute("""
+            CREATE TABLE driver_licenses (
+                id UUID PRIMARY KEY, driver_id UUID, status VARCHAR(20), expiry_date DATE, created_at TIMESTAMP)""");
+        jdbc.execute("CREATE TABLE driver_certifications (id UUID PRIMARY KEY, driver_id UUID, status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE driver_availability (driver_id UUID PRIMARY KEY, status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE trip_requests (id UUID PRIMARY KEY, driver_id UUID, vehicle_id UUID, status VARCHAR(20))");
+        jdbc.execute("""
+            CREATE TABLE driver_readiness_cache (
+                driver_id UUID PRIMARY KEY, license_valid BOOLEAN, all_certs_valid BOOLEAN,
+                availability_status VARCHAR(20), last_refreshed TIMESTAMP)""");
+        repository = new DriverReadinessBulkRepository(new NamedParameterJdbcTemplate(database));
+
+        for (UUID id : List.of(READY, EXPIRED_LICENSE, EXPIRED_CERT, DRIVING, NO_LICENSE)) {
+            jdbc.update("INSERT INTO drivers VALUES (?, ?, ?, CURRENT_TIMESTAMP)", id, "EMP-" + id, "Driver " + id);
+        }
+        license(READY, "VALID", TODAY.plusYears(1), "2026-01-01 00:00:00");
+        // The newest licence decides, even when an older one is still valid
+        license(EXPIRED_LICENSE, "VALID", TODAY.plusYears(1), "2025-01-01 00:00:00");
+        license(EXPIRED_LICENSE, "VALID", TODAY.minusDays(1), "2026-01-01 00:00:00");
+        license(EXPIRED_CERT, "VALID", TODAY.plusYears(1), "2026-01-01 00:00:00");
+        license(DRIVING, "VALID", TODAY.plusYears(1), "2026-01-01 00:00:00");
+        jdbc.update("INSERT INTO driver_certifications VALUES (?, ?, 'EXPIRED')", UUID.randomUUID(), EXPIRED_CERT);
+        jdbc.update("INSERT INTO driver_availability VALUES (?, 'ON_LEAVE')", EXPIRED_CERT);
+        jdbc.update("INSERT INTO driver_availability VALUES (?, 'AVAILABLE')", DRIVING);
+        jdbc.update("INSERT INTO trip_requests VALUES (?, ?, ?, 'ONGOING')", UUID.randomUUID(), DRIVING, UUID.randomUUID());
+        jdbc.update("INSERT INTO trip_requests VALUES (?, ?, ?, 'COMPLETED')", UUID.randomUUID(), READY, UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private void license(UUID driverId, String status, LocalDate expiry, String createdAt) {
+        jdbc.update("INSERT INTO driver_licenses VALUES (?, ?, ?, ?, CAST(? AS TIMESTAMP))",
+            UUID.randomUUID(), driverId, status, expiry, createdAt);
+    }
+
+    @Test
+    @DisplayName("Should derive licence, certification and trip-aware availability for a keyset page")
+    void shouldComputePage() {
+        Map<UUID, ReadinessRow> rows = repository.computePage(ZERO, 10, TODAY).stream()
+            .collect(Collectors.toMap(ReadinessRow::driverId, Function.identity()));
+
+        assertEquals(5, rows.size());
+        assertEquals(new ReadinessRow(READY, true, true, DriverAvailability.AvailabilityStatus.AVAILABLE), rows.get(READY));
+        assertFalse(rows.get(EXPIRED_LICENSE).licenseValid());
+        assertFalse(rows.get(EXPIRED_CERT).allCertsValid());
+        assertEquals(DriverAvailability.AvailabilityStatus.ON_LEAVE, rows.get(EXPIRED_CERT).availabilityStatus());
+        assertEquals(DriverAvailability.AvailabilityStatus.ON_TRIP, rows.get(DRIVING).availabilityStatus());
+        assertFalse(rows.get(NO_LICENSE).licenseValid());
+    }
+
+    @Test
+    @DisplayName("Should continue the keyset after the last driver id")
+    void shouldPageAfterLastId() {
+        List<ReadinessRow> first = repository.computePage(ZERO, 2, TODAY);
+        List<ReadinessRow> second = repository.computePage(first.get(1).driverId(), 10, TODAY);
+
+        assertEquals(List.of(READY, EXPIRED_LICENSE), first.stream().map(ReadinessRow::driverId).toList());
+        assertEquals(List.of(EXPIRED_CERT, DRIVING, NO_LICENSE), second.stream().map(ReadinessRow::driverId).toList());
+    }
+
+    @Test
+    @DisplayName("Should compute only the requested drivers")
+    void shouldComputeForDrivers() {
+        List<ReadinessRow> rows = repository.computeForDrivers(List.of(DRIVING, UUID.randomUUID()), TODAY);
+
+        assertEquals(1, rows.size());
+        assertEquals(DriverAvailability.AvailabilityStatus.ON_TRIP, rows.get(0).availabilityStatus());
+        assertTrue(rows.get(0).licenseValid());
+    }
+
+    @Test
+    @DisplayName("Should list every driver and filter readiness from the cache table")
+    void shouldListFromCache() {
+        jdbc.update("INSERT INTO driver_readiness_cache VALUES (?, TRUE, TRUE, 'AVAILABLE', CURRENT_TIMESTAMP)", READY);
+        jdbc.update("INSERT INTO driver_readiness_cache VALUES (?, FALSE, TRUE, 'AVAILABLE', CURRENT_TIMESTAMP)",
+            EXPIRED_LICENSE);
+
+        Page<ListedReadiness> all = repository.findListing(null, null, PageRequest.of(0, 10));
+        Page<ListedReadiness> ready = repository.findListing(true, DriverAvailability.AvailabilityStatus.AVAILABLE,
+            PageRequest.of(0, 10));
+        Page<ListedReadiness> notReady = repository.findListing(false, null, PageRequest.of(0, 10));
+
+        assertEquals(5, all.getTotalElements());
+        assertEquals(List.of(READY), ready.getContent().stream().map(ListedReadiness::driverId).toList());
+        assertEquals(4, notReady.getTotalElements());
+    }
+}
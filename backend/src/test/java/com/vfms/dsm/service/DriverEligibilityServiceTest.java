@@ -0,0 +1,121 @@
+package com.vfms.dsm.service;
+
+import com.vfms.dsm.dto.BatchEligibilityRequest;
+import com.vfms.dsm.dto.BatchEligibilityResponse;
+import com.vfms.dsm.dto.EligibilityCheckResponse;
+import com.vfms.dsm.entity.Driver;
+import com.vfms.dsm.entity.DriverAvailability;
+import com.vfms.dsm.entity.DriverCertification;
+import com.vfms.dsm.entity.DriverLicense;
+import com.vfms.dsm.repository.DriverAvailabilityRepository;
+import com.vfms.dsm.repository.DriverCertificationRepository;
+import com.vfms.dsm.repository.DriverInfractionRepository;
+import com.vfms.dsm.repository.DriverLicenseRepository;
+import com.vfms.dsm.repository.DriverRepository;
+import com.vfms.dsm.repository.VehicleLicenseRequirementRepository;
+import com.vfms.dsm.repository.VehicleLicenseRequirementRepository.RequirementRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DriverEligibilityService Unit Tests")
+class DriverEligibilityServiceTest {
+
+    @Mock private DriverRepository driverRepository;
+    @Mock private DriverAvailabilityRepository availabilityRepository;
+    @Mock private DriverLicenseRepository licenseRepository;
+    @Mock private DriverCertificationRepository certRepository;
+    @Mock private DriverInfractionRepository infractionRepository;
+    @Mock private VehicleLicenseRequirementRepository requirementRepository;
+
+    private DriverEligibilityService service;
+
+    @BeforeEach
+    void setUp() {
+        when(requirementRepository.findAll()).thenReturn(List.of(
+                new RequirementRow("LIGHT", List.of("B"), List.of()),
+                new RequirementRow("PASSENGER", List.of("D"), List.of("PASSENGER_TRANSPORT"))));
+        service = new DriverEligibilityService(driverRepository, availabilityRepository, licenseRepository,
+                certRepository, infractionRepository,
+                new DriverQualificationService(licenseRepository, certRepository, requirementRepository));
+    }
+
+    @Test
+    @DisplayName("Should check every driver and category with one query per table and explain each failure")
+    void shouldCheckBatchWithConstantQueries() {
+        Driver coachDriver = driver("EMP-1");
+        Driver onLeave = driver("EMP-2");
+        Driver blocked = driver("EMP-3");
+        when(driverRepository.findByEmployeeIdIn(anyCollection())).thenReturn(List.of(coachDriver, onLeave, blocked));
+        when(availabilityRepository.findAllById(any())).thenReturn(List.of(
+                availability(coachDriver, DriverAvailability.AvailabilityStatus.AVAILABLE),
+                availability(onLeave, DriverAvailability.AvailabilityStatus.ON_LEAVE),
+                availability(blocked, DriverAvailability.AvailabilityStatus.AVAILABLE)));
+        when(licenseRepository.findByDriver_IdIn(anyCollection())).thenReturn(List.of(
+                license(coachDriver, DriverLicense.LicenseCategory.B),
+                license(coachDriver, DriverLicense.LicenseCategory.D),
+                license(onLeave, DriverLicense.LicenseCategory.B),
+                license(blocked, DriverLicense.LicenseCategory.B)));
+        when(certRepository.findByDriver_IdIn(anyCollection())).thenReturn(List.of(DriverCertification.builder()
+                .driver(coachDriver)
+                .certType(DriverCertification.CertificationType.PASSENGER_TRANSPORT)
+                .build()));
+        when(infractionRepository.findDriverIdsWithOpenInfractions(anyCollection(), any(), any()))
+                .thenReturn(List.of(blocked.getId()));
+
+        BatchEligibilityResponse response = service.checkEligibility(new BatchEligibilityRequest(
+                List.of("EMP-1", "EMP-2", "EMP-3", "EMP-404", "EMP-1"), List.of("LIGHT", "passenger"),
+                LocalDate.of(2026, 6, 1)));
+
+        List<EligibilityCheckResponse> results = response.getResults();
+        assertEquals(8, results.size());
+        assertEquals(2, response.getEligibleCount());
+        assertTrue(results.get(0).isEligible());
+        assertTrue(results.get(1).isEligible());
+        assertTrue(results.get(2).getReasons().contains("Driver is not available: ON_LEAVE"));
+        assertTrue(results.get(3).getReasons().contains("Missing required certification: PASSENGER_TRANSPORT"));
+        assertEquals(List.of("Driver has unresolved critical infractions"), results.get(4).getReasons());
+        assertEquals("EMP-404", results.get(6).getEmployeeId());
+        assertNull(results.get(6).getDriverId());
+        assertFalse(results.get(7).isEligible());
+
+        verify(driverRepository, times(1)).findByEmployeeIdIn(anyCollection());
+        verify(availabilityRepository, times(1)).findAllById(any());
+        verify(licenseRepository, times(1)).findByDriver_IdIn(anyCollection());
+        verify(certRepository, times(1)).findByDriver_IdIn(anyCollection());
+        verify(infractionRepository, times(1)).findDriverIdsWithOpenInfractions(anyCollection(), any(), any());
+        verifyNoMoreInteractions(driverRepository, availabilityRepository, licenseRepository, certRepository,
+                infractionRepository);
+    }
+
+    private static Driver driver(String employeeId) {
+        return Driver.builder().id(UUID.randomUUID()).employeeId(employeeId).build();
+    }
+
+    private static DriverAvailability availability(Driver driver, DriverAvailability.AvailabilityStatus status) {
+        return DriverAvailability.builder().driverId(driver.getId()).driver(driver).status(status).build();
+    }
+
+    private static DriverLicense license(Driver driver, DriverLicense.LicenseCategory category) {
+        return DriverLicense.builder().driver(driver).category(category).build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.vfms.dsm.service;
+
+import com.vfms.dsm.dto.QualificationCheckResponse;
+import com.vfms.dsm.entity.Driver;
+import com.vfms.dsm.entity.DriverCertification;
+import com.vfms.dsm.entity.DriverLicense;
+import com.vfms.dsm.repository.DriverCertificationRepository;
+import com.vfms.dsm.repository.DriverLicenseRepository;
+import com.vfms.dsm.repository.VehicleLicenseRequirementRepository;
+import com.vfms.dsm.repository.VehicleLicenseRequirementRepository.RequirementRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DriverQualificationService Unit Tests")
+class DriverQualificationServiceTest {
+
+    @Mock private DriverLicenseRepository licenseRepository;
+    @Mock private DriverCertificationRepository certRepository;
+    @Mock private VehicleLicenseRequirementRepository requirementRepository;
+
+    private DriverQualificationService service;
+
+    private final Driver tanker = Driver.builder().id(UUID.randomUUID()).build();
+    private final Driver heavyOnly = Driver.builder().id(UUID.randomUUID()).build();
+    private final Driver expiredHazmat = Driver.builder().id(UUID.randomUUID()).build();
+
+    @BeforeEach
+    void setUp() {
+        service = new DriverQualificationService(licenseRepository, certRepository, requirementRepository);
+    }
+
+    @Test
+    @DisplayName("Should answer qualification scans from requirements in the table and today's valid credentials")
+    void shouldScanCapabilityIndex() {
+        stubRequirements();
+        stubCredentials();
+
+        assertEquals(List.of(tanker.getId()), service.findQualifiedDrivers("tanker"));
+        assertEquals(Set.of(tanker.getId(), heavyOnly.getId(), expiredHazmat.getId()),
+                Set.copyOf(service.findQualifiedDrivers("MEDIUM")));
+
+        QualificationCheckResponse check = service.checkQualification(expiredHazmat.getId(), "TANKER");
+        assertFalse(check.isQualified());
+        assertEquals(List.of("Missing required certification: HAZMAT"), check.getReasons());
+        assertTrue(service.checkQualification(tanker.getId(), "TANKER").isQualified());
+        assertThrows(IllegalArgumentException.class, () -> service.findQualifiedDrivers("SPACESHIP"));
+
+        // The index is built once and reused across checks
+        verify(licenseRepository, times(1)).findByStatus(DriverLicense.LicenseStatus.VALID);
+        verify(certRepository, times(1)).findByStatus(DriverCertification.CertStatus.VALID);
+    }
+
+    @Test
+    @DisplayName("Should mark drivers on credential writes and recompute them together on the next read")
+    void shouldRecomputeChangedDriversOnRead() {
+        stubRequirements();
+        stubCredentials();
+        assertFalse(service.findQualifiedDrivers("TANKER").contains(heavyOnly.getId()));
+
+        when(licenseRepository.findByDriver_IdIn(anyCollection()))
+                .thenReturn(List.of(license(heavyOnly, DriverLicense.LicenseCategory.CE)));
+        when(certRepository.findByDriver_IdIn(anyCollection()))
+                .thenReturn(List.of(cert(heavyOnly, DriverCertification.CertificationType.HAZMAT, null)));
+        service.onCredentialsChanged(new DriverCredentialsChangedEvent(heavyOnly.getId()));
+        service.onCredentialsChanged(new DriverCredentialsChangedEvent(heavyOnly.getId()));
+        verify(licenseRepository, never()).findByDriver_IdIn(anyCollection());
+
+        assertTrue(service.findQualifiedDrivers("TANKER").contains(heavyOnly.getId()));
+        assertTrue(service.findQualifiedDrivers("TANKER").contains(heavyOnly.getId()));
+        verify(licenseRepository, times(1)).findByDriver_IdIn(List.of(heavyOnly.getId()));
+    }
+
+    @Test
+    @DisplayName("Should propagate a failure to read the requirements table")
+    void shouldPropagateRequirementReadFailure() {
+        when(requirementRepository.findAll()).thenThrow(new DataAccessResourceFailureException("no table"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> service.requiredLicenseClasses("PASSENGER"));
+    }
+
+    private void stubRequirements() {
+        when(requirementRepository.findAll()).thenReturn(List.of(
+                new RequirementRow("MEDIUM", List.of("C", "CE"), List.of()),
+                new RequirementRow("TANKER", List.of("CE"), List.of("HAZMAT"))));
+    }
+
+    private void stubCredentials() {
+        List<DriverLicense> licenses = new ArrayList<>();
+        for (Driver driver : List.of(tanker, heavyOnly, expiredHazmat)) {
+            licenses.add(license(driver, DriverLicense.LicenseCategory.CE));
+        }
+        when(licenseRepository.findByStatus(DriverLicense.LicenseStatus.VALID)).thenReturn(licenses);
+        when(certRepository.findByStatus(DriverCertification.CertStatus.VALID)).thenReturn(List.of(
+                cert(tanker, DriverCertification.CertificationType.HAZMAT, LocalDate.now().plusYears(1)),
+                cert(expiredHazmat, DriverCertification.CertificationType.HAZMAT, LocalDate.now().minusDays(1))));
+    }
+
+    private static DriverLicense license(Driver driver, DriverLicense.LicenseCategory category) {
+        return DriverLicense.builder().driver(driver).category(category).expiryDate(LocalDate.now().plusYears(2)).build();
+    }
+
+    private static DriverCertification cert(Driver driver, DriverCertification.CertificationType type,
+                                            LocalDate expiry) {
+        return DriverCertification.builder().driver(driver).certType(type).expiryDate(expiry).build();
+    }
+}
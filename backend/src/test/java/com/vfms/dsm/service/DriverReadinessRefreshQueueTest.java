@@ -0,0 +1,175 @@
+package com.vfms.dsm.service;
+
+import com.vfms.trip.enums.TripEventType;
+import com.vfms.trip.enums.TripStatus;
+import com.vfms.trip.service.TripLifecycleEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DriverReadinessRefreshQueue Unit Tests")
+class DriverReadinessRefreshQueueTest {
+
+    @Mock private DriverReadinessService readinessService;
+    @Mock private TaskScheduler taskScheduler;
+
+    // Tasks handed to the async pool; run explicitly so each test controls when the drain happens
+    private final List<Runnable> submitted = new ArrayList<>();
+    private DriverReadinessRefreshQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new DriverReadinessRefreshQueue(readinessService, submitted::add, taskScheduler);
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of invalidations into one drain that refreshes each driver once")
+    @SuppressWarnings("unchecked")
+    void shouldDeduplicateAndCoalesce() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        queue.onReadinessInvalidated(new DriverReadinessInvalidatedEvent(first));
+        queue.onReadinessInvalidated(new DriverReadinessInvalidatedEvent(first));
+        queue.onDriverChanged(new DriverChangedEvent(second));
+        queue.onReadinessInvalidated(new DriverReadinessInvalidatedEvent(first));
+
+        assertEquals(1, submitted.size());
+        submitted.get(0).run();
+
+        ArgumentCaptor<Collection<UUID>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(readinessService).refreshDrivers(batch.capture());
+        assertEquals(Set.of(first, second), Set.copyOf(batch.getValue()));
+        assertEquals(2, batch.getValue().size());
+        assertEquals(0, queue.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should refresh both drivers of a reassignment and ignore trip events that change neither")
+    void shouldFollowTripTransitions() {
+        UUID assigned = UUID.randomUUID();
+        UUID previous = UUID.randomUUID();
+
+        queue.onTripLifecycle(tripEvent(TripStatus.APPROVED, TripStatus.APPROVED, UUID.randomUUID(), null));
+        assertEquals(0, queue.pendingCount());
+
+        queue.onTripLifecycle(tripEvent(TripStatus.APPROVED, TripStatus.APPROVED, assigned, previous));
+        assertEquals(2, queue.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should keep drivers queued when a refresh fails and retry them on the next drain")
+    void shouldRetryFailedBatch() {
+        UUID driverId = UUID.randomUUID();
+        when(readinessService.refreshDrivers(any())).thenThrow(new RuntimeException("connection reset")).thenReturn(1);
+
+        queue.enqueue(driverId);
+        queue.drain();
+        assertEquals(1, queue.pendingCount());
+
+        queue.drain();
+        assertEquals(0, queue.pendingCount());
+        verify(readinessService, times(2)).refreshDrivers(any());
+    }
+
+    @Test
+    @DisplayName("Should schedule a retry kick after a failed batch and drain the driver when it fires")
+    void shouldKickAfterFailedBatch() {
+        UUID driverId = UUID.randomUUID();
+        when(readinessService.refreshDrivers(any())).thenThrow(new RuntimeException("connection reset")).thenReturn(1);
+
+        queue.enqueue(driverId);
+        submitted.remove(0).run();
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(retry.capture(), any(Instant.class));
+        retry.getValue().run();
+        assertEquals(1, submitted.size());
+        submitted.get(0).run();
+        assertEquals(0, queue.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should retry a kick the saturated pool rejected and kick again for an already pending driver")
+    void shouldRetryRejectedKick() {
+        UUID driverId = UUID.randomUUID();
+        List<Runnable> accepted = new ArrayList<>();
+        boolean[] saturated = {true};
+        queue = new DriverReadinessRefreshQueue(readinessService, task -> {
+            if (saturated[0]) {
+                throw new TaskRejectedException("pool full");
+            }
+            accepted.add(task);
+        }, taskScheduler);
+
+        queue.enqueue(driverId);
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        assertEquals(1, queue.pendingCount());
+
+        saturated[0] = false;
+        queue.enqueue(driverId);
+        assertEquals(1, accepted.size());
+        accepted.get(0).run();
+        verify(readinessService).refreshDrivers(List.of(driverId));
+    }
+
+    @Test
+    @DisplayName("Should drop drivers whose refresh keeps failing so they cannot hold the queue")
+    void shouldDropBatchAfterMaxAttempts() {
+        UUID driverId = UUID.randomUUID();
+        when(readinessService.refreshDrivers(any())).thenThrow(new RuntimeException("bad row"));
+
+        queue.enqueue(driverId);
+        for (int i = 1; i < DriverReadinessRefreshQueue.MAX_ATTEMPTS; i++) {
+            queue.drain();
+            assertEquals(1, queue.pendingCount());
+        }
+        queue.drain();
+
+        assertEquals(0, queue.pendingCount());
+        verify(readinessService, times(DriverReadinessRefreshQueue.MAX_ATTEMPTS)).refreshDrivers(any());
+
+        // A later invalidation starts the driver with a fresh attempt count
+        queue.enqueue(driverId);
+        queue.drain();
+        assertEquals(1, queue.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should not refresh anything for events without a driver")
+    void shouldIgnoreMissingDriver() {
+        queue.onReadinessInvalidated(new DriverReadinessInvalidatedEvent(null));
+        queue.drain();
+
+        assertEquals(0, submitted.size());
+        verifyNoInteractions(readinessService);
+    }
+
+    private static TripLifecycleEvent tripEvent(TripStatus from, TripStatus to, UUID assignedDriverId,
+                                                UUID previousDriverId) {
+        return new TripLifecycleEvent(1L, UUID.randomUUID(), 1L, TripEventType.DRIVER_ASSIGNED, from, to, null,
+                assignedDriverId, previousDriverId, LocalDateTime.now());
+    }
+}
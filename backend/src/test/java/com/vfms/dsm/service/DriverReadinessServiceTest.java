@@ -0,0 +1,138 @@
+package com.vfms.dsm.service;
+
+import com.vfms.dsm.dto.DriverReadinessResponse;
+import com.vfms.dsm.entity.DriverAvailability;
+import com.vfms.dsm.repository.DriverAvailabilityRepository;
+import com.vfms.dsm.repository.DriverCertificationRepository;
+import com.vfms.dsm.repository.DriverLicenseRepository;
+import com.vfms.dsm.repository.DriverReadinessBulkRepository;
+import com.vfms.dsm.repository.DriverReadinessBulkRepository.ListedReadiness;
+import com.vfms.dsm.repository.DriverReadinessBulkRepository.ReadinessRow;
+import com.vfms.dsm.repository.DriverReadinessCacheRepository;
+import com.vfms.dsm.repository.DriverRepository;
+import com.vfms.trip.repository.TripRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DriverReadinessService Unit Tests")
+class DriverReadinessServiceTest {
+
+    @Mock private DriverReadinessCacheRepository cacheRepository;
+    @Mock private DriverRepository driverRepository;
+    @Mock private DriverLicenseRepository licenseRepository;
+    @Mock private DriverCertificationRepository certRepository;
+    @Mock private DriverAvailabilityRepository availabilityRepository;
+    @Mock private TripRequestRepository tripRequestRepository;
+    @Mock private DriverReadinessBulkRepository bulkRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private DriverReadinessService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DriverReadinessService(cacheRepository, driverRepository, licenseRepository, certRepository,
+                availabilityRepository, tripRequestRepository, bulkRepository,
+                new TransactionTemplate(transactionManager), eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should refresh the fleet page by page, committing each page on its own")
+    void shouldRefreshAllDriversInChunks() {
+        List<ReadinessRow> firstPage = rows(DriverReadinessService.REFRESH_CHUNK_SIZE);
+        List<ReadinessRow> lastPage = rows(3);
+        UUID firstCursor = new UUID(0L, 0L);
+        UUID secondCursor = firstPage.get(firstPage.size() - 1).driverId();
+        when(bulkRepository.computePage(eq(firstCursor), eq(DriverReadinessService.REFRESH_CHUNK_SIZE), any()))
+                .thenReturn(firstPage);
+        when(bulkRepository.computePage(eq(secondCursor), eq(DriverReadinessService.REFRESH_CHUNK_SIZE), any()))
+                .thenReturn(lastPage);
+
+        int refreshed = service.refreshAllReadiness();
+
+        assertEquals(DriverReadinessService.REFRESH_CHUNK_SIZE + 3, refreshed);
+        verify(bulkRepository).upsert(eq(firstPage), any());
+        verify(bulkRepository).upsert(eq(lastPage), any());
+        verify(transactionManager, times(2)).commit(any());
+        verifyNoInteractions(driverRepository, licenseRepository, certRepository, availabilityRepository,
+                tripRequestRepository, cacheRepository);
+    }
+
+    @Test
+    @DisplayName("Should stop without writing when there are no drivers")
+    void shouldHandleEmptyFleet() {
+        when(bulkRepository.computePage(any(), eq(DriverReadinessService.REFRESH_CHUNK_SIZE), any()))
+                .thenReturn(List.of());
+
+        assertEquals(0, service.refreshAllReadiness());
+        verify(bulkRepository, times(0)).upsert(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should list readiness from the cache and queue missing or stale rows instead of refreshing inline")
+    void shouldQueueStaleRowsWhenListing() {
+        UUID fresh = UUID.randomUUID();
+        UUID stale = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest pageable = PageRequest.of(0, 10);
+        when(bulkRepository.findListing(null, DriverAvailability.AvailabilityStatus.AVAILABLE, pageable))
+                .thenReturn(new PageImpl<>(List.of(
+                        listed(fresh, true, now.minusMinutes(5)),
+                        listed(stale, false, now.minus(DriverReadinessService.STALE_AFTER).minusMinutes(1)),
+                        new ListedReadiness(missing, "EMP-3", "No Row", null, null, null, null)), pageable, 3));
+
+        Page<DriverReadinessResponse> page =
+                service.getAllReadiness(null, DriverAvailability.AvailabilityStatus.AVAILABLE, pageable);
+
+        assertEquals(3, page.getTotalElements());
+        assertTrue(page.getContent().get(0).isReady());
+        assertFalse(page.getContent().get(0).isStale());
+        assertTrue(page.getContent().get(1).isStale());
+        assertTrue(page.getContent().get(2).isStale());
+        assertFalse(page.getContent().get(2).isReady());
+        verify(eventPublisher).publishEvent(new DriverReadinessInvalidatedEvent(stale));
+        verify(eventPublisher).publishEvent(new DriverReadinessInvalidatedEvent(missing));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+        verifyNoInteractions(driverRepository, licenseRepository, certRepository, cacheRepository);
+    }
+
+    private static ListedReadiness listed(UUID driverId, boolean licenseValid, LocalDateTime refreshed) {
+        return new ListedReadiness(driverId, "EMP-" + driverId.toString().substring(0, 4), "Driver", licenseValid,
+                true, DriverAvailability.AvailabilityStatus.AVAILABLE, refreshed);
+    }
+
+    private static List<ReadinessRow> rows(int count) {
+        List<ReadinessRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new ReadinessRow(UUID.randomUUID(), true, true, DriverAvailability.AvailabilityStatus.AVAILABLE));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,79 @@
+package com.vfms.fuel.client;
+
+import com.vfms.common.exception.ResourceNotFoundException;
+import com.vfms.fuel.dto.VehicleDetailDto;
+import com.vfms.vehicle.VehicleChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VehiclePlateIndex Unit Tests")
+class VehiclePlateIndexTest {
+
+    private static final LocalDateTime LOADED_AT = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    @Mock
+    private VehicleApiClient vehicleApiClient;
+
+    @Mock
+    private ThreadPoolTaskExecutor refreshExecutor;
+
+    private VehiclePlateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehiclePlateIndex(vehicleApiClient, refreshExecutor, 300);
+        when(vehicleApiClient.getAllVehicles(null)).thenReturn(List.of(vehicle(1L, "ABC-1234", LOADED_AT)));
+        index.getVehicleByPlate("abc-1234");
+    }
+
+    @Test
+    @DisplayName("Should stay dirty when a vehicle changes while a refresh is fetching")
+    void shouldKeepChangeArrivingMidRefresh() {
+        VehicleDetailDto added = vehicle(2L, "XYZ-9876", LOADED_AT.plusMinutes(5));
+        index.onVehicleChanged(new VehicleChangedEvent(99L));
+        // The vehicle is committed while the first incremental fetch is in flight, so that fetch misses it
+        when(vehicleApiClient.getVehiclesUpdatedSince(LOADED_AT))
+                .thenAnswer(inv -> {
+                    index.onVehicleChanged(new VehicleChangedEvent(2L));
+                    return List.of();
+                })
+                .thenReturn(List.of(added));
+
+        assertThrows(ResourceNotFoundException.class, () -> index.getVehicleByPlate("XYZ-9876"));
+        assertEquals(added, index.getVehicleByPlate("XYZ-9876"));
+        verify(vehicleApiClient, times(2)).getVehiclesUpdatedSince(LOADED_AT);
+    }
+
+    @Test
+    @DisplayName("Should not refetch on a miss once every change has been refreshed")
+    void shouldNotRefreshWhenClean() {
+        index.onVehicleChanged(new VehicleChangedEvent(2L));
+        when(vehicleApiClient.getVehiclesUpdatedSince(LOADED_AT)).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> index.getVehicleByPlate("XYZ-9876"));
+        assertThrows(ResourceNotFoundException.class, () -> index.getVehicleByPlate("XYZ-9876"));
+        verify(vehicleApiClient, times(1)).getVehiclesUpdatedSince(any());
+    }
+
+    private static VehicleDetailDto vehicle(Long id, String plate, LocalDateTime updatedAt) {
+        return VehicleDetailDto.builder()
+                .id(id)
+                .plateNumber(plate)
+                .status("AVAILABLE")
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.vfms.fuel.service;
+
+import com.vfms.common.exception.ValidationException;
+import com.vfms.fuel.dto.FuelMonthlyTrendResponse;
+import com.vfms.fuel.repository.FuelAnalyticsRepository;
+import com.vfms.fuel.repository.FuelAnalyticsRepository.MonthlyTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FuelAnalyticsService Unit Tests")
+class FuelAnalyticsServiceTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2025, 2);
+
+    @Mock
+    private FuelAnalyticsRepository fuelAnalyticsRepository;
+
+    private FuelMonthlyTotalsCache cache;
+    private FuelAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FuelMonthlyTotalsCache();
+        service = new FuelAnalyticsService(fuelAnalyticsRepository, cache);
+    }
+
+    @Test
+    @DisplayName("getMonthlyTrend should fill empty months, compute deltas and reuse cached closed months")
+    void getMonthlyTrend_shouldCacheClosedMonths() {
+        when(fuelAnalyticsRepository.findMonthlyTotals(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 1)))
+                .thenReturn(List.of(
+                        new MonthlyTotals(JANUARY, new BigDecimal("100.00"), new BigDecimal("40.00"), 4, 1, 12.5),
+                        new MonthlyTotals(YearMonth.of(2025, 3), new BigDecimal("150.00"), new BigDecimal("50.00"), 5, 0, 11.0)));
+
+        List<FuelMonthlyTrendResponse> trend = service.getMonthlyTrend("2025-01-10", "2025-03-20");
+
+        assertEquals(3, trend.size());
+        assertEquals(0.25, trend.get(0).getFlaggedRatio());
+        assertNull(trend.get(0).getCostChange());
+        assertEquals(0, trend.get(1).getRecordCount());
+        assertEquals(new BigDecimal("-100.00"), trend.get(1).getCostChange());
+        assertEquals(new BigDecimal("150.00"), trend.get(2).getCostChange());
+
+        service.getMonthlyTrend("2025-01-01", "2025-03-31");
+        verify(fuelAnalyticsRepository, times(1)).findMonthlyTotals(any(), any());
+    }
+
+    @Test
+    @DisplayName("getMonthlyTrend should re-query only a closed month that received a new record")
+    void getMonthlyTrend_shouldReloadInvalidatedMonth() {
+        when(fuelAnalyticsRepository.findMonthlyTotals(any(), any())).thenReturn(List.of());
+        service.getMonthlyTrend("2025-01-01", "2025-02-28");
+
+        cache.onFuelRecordChanged(FuelRecordChangedEvent.modified(1L, LocalDate.of(2025, 2, 14)));
+        service.getMonthlyTrend("2025-01-01", "2025-02-28");
+
+        verify(fuelAnalyticsRepository).findMonthlyTotals(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+        assertNotNull(cache.get(JANUARY));
+        assertNotNull(cache.get(FEBRUARY));
+    }
+
+    @Test
+    @DisplayName("getVehicleMonthlyCosts should reject inverted ranges")
+    void getVehicleMonthlyCosts_shouldRejectInvertedRange() {
+        assertThrows(ValidationException.class,
+                () -> service.getVehicleMonthlyCosts("2025-03-01", "2025-01-01"));
+        verifyNoInteractions(fuelAnalyticsRepository);
+    }
+}
@@ -0,0 +1,183 @@
+package com.vfms.fuel.service;
+
+import com.vfms.common.exception.ValidationException;
+import com.vfms.dsm.repository.DriverRepository;
+import com.vfms.fuel.dto.FuelImportResult;
+import com.vfms.fuel.entity.FuelRecord;
+import com.vfms.vehicle.Vehicle;
+import com.vfms.vehicle.VehicleRepository;
+import com.vfms.vehicle.VehicleStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FuelImportService Unit Tests")
+class FuelImportServiceTest {
+
+    @Mock private VehicleRepository vehicleRepository;
+    @Mock private DriverRepository driverRepository;
+    @Mock private FuelMisuseService fuelMisuseService;
+    @Mock private VehicleMisuseStateCache vehicleMisuseStateCache;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private UserDetails userDetails;
+
+    @InjectMocks
+    private FuelImportService fuelImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fuelImportService, "chunkSize", 500);
+        when(userDetails.getUsername()).thenReturn("admin@vfms.com");
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("importRecords should batch-insert valid rows and report invalid rows individually")
+    @SuppressWarnings("unchecked")
+    void importRecords_shouldInsertValidRowsAndReportErrors() {
+        Vehicle vehicle = Vehicle.builder()
+                .id(101L)
+                .plateNumber("ABC-1234")
+                .status(VehicleStatus.AVAILABLE)
+                .active(true)
+                .build();
+        when(vehicleRepository.findByPlateNumberIn(anyCollection())).thenReturn(List.of(vehicle));
+        when(vehicleMisuseStateCache.entriesOn(101L, LocalDate.of(2026, 3, 1), null)).thenReturn(0L);
+        when(vehicleMisuseStateCache.previousOdometer(101L, null)).thenReturn(800.0);
+
+        String csv = """
+                Plate Number,Fuel Date,Quantity,Cost Per Litre,Odometer,Fuel Station
+                ABC-1234,2026-03-01,40,3.50,1000,"Depot A, North"
+                UNKNOWN-1,2026-03-01,40,3.50,1000,Depot A
+                ABC-1234,2026-03-01,abc,3.50,1100,Depot A
+                ABC-1234,2026-03-01,20,3.50,900,Depot A
+                """;
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "export.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        FuelImportResult result = fuelImportService.importRecords(file, userDetails);
+
+        assertEquals(4, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getRowNumber());
+        assertEquals(4, result.getErrors().get(1).getRowNumber());
+        verify(jdbcTemplate).batchUpdate(
+                startsWith("INSERT INTO fuel_records"),
+                argThat((Collection<FuelRecord> records) -> records.size() == 2),
+                eq(100),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(fuelMisuseService).evaluate(
+                argThat(record -> record.getOdometerReading() == 900.0), eq(1L), eq(1000.0));
+        verify(vehicleMisuseStateCache, times(1)).previousOdometer(101L, null);
+    }
+
+    @Test
+    @DisplayName("importRecords should retry a failed batch row by row and report only the rejected rows")
+    @SuppressWarnings("unchecked")
+    void importRecords_shouldRetryFailedBatchRowByRow() {
+        Vehicle vehicle = Vehicle.builder()
+                .id(101L)
+                .plateNumber("ABC-1234")
+                .status(VehicleStatus.AVAILABLE)
+                .active(true)
+                .build();
+        when(vehicleRepository.findByPlateNumberIn(anyCollection())).thenReturn(List.of(vehicle));
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO fuel_records"), anyCollection(), eq(100),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(inv -> {
+                    Collection<FuelRecord> records = inv.getArgument(1);
+                    if (records.size() > 1 || records.iterator().next().getOdometerReading() == 1100.0) {
+                        throw new DataIntegrityViolationException("value out of range");
+                    }
+                    return new int[][] {{1}};
+                });
+
+        String csv = """
+                Plate Number,Fuel Date,Quantity,Cost Per Litre,Odometer,Fuel Station
+                ABC-1234,2026-03-01,40,3.50,1000,Depot A
+                ABC-1234,3/2/2026,40,3.50,1100,Depot A
+                ABC-1234,2026-03-03,40,3.50,1200,Depot A
+                """;
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "export.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        FuelImportResult result = fuelImportService.importRecords(file, userDetails);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getRowNumber());
+    }
+
+    @Test
+    @DisplayName("importRecords should list every accepted date format when a date cannot be parsed")
+    void importRecords_shouldListAcceptedDateFormats() {
+        String csv = """
+                Plate Number,Fuel Date,Quantity,Cost Per Litre,Odometer,Fuel Station
+                ABC-1234,01.03.2026,40,3.50,1000,Depot A
+                """;
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "export.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        FuelImportResult result = fuelImportService.importRecords(file, userDetails);
+
+        assertEquals("Fuel date must be in yyyy-MM-dd, M/d/yyyy or M/d/yy format",
+                result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    @DisplayName("importRecords should let persistence failures propagate instead of reporting a bad file")
+    void importRecords_shouldNotWrapPersistenceErrors() {
+        when(vehicleRepository.findByPlateNumberIn(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        String csv = """
+                Plate Number,Fuel Date,Quantity,Cost Per Litre,Odometer,Fuel Station
+                ABC-1234,2026-03-01,40,3.50,1000,Depot A
+                """;
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "export.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> fuelImportService.importRecords(file, userDetails));
+    }
+
+    @Test
+    @DisplayName("importRecords should report an unreadable spreadsheet as a validation error")
+    void importRecords_shouldRejectCorruptSpreadsheet() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "export.xlsx", "application/octet-stream", "not a zip".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(ValidationException.class, () -> fuelImportService.importRecords(file, userDetails));
+    }
+}
@@ -1,7 +1,6 @@
 package com.vfms.fuel.service;
 
 import com.vfms.fuel.entity.FuelRecord;
-import com.vfms.fuel.repository.FuelRecordRepository;
 import com.vfms.vehicle.Vehicle;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,10 +11,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,7 +22,7 @@ import static org.mockito.Mockito.*;
 class FuelMisuseServiceTest {
 
     @Mock
-    private FuelRecordRepository fuelRecordRepository;
+    private VehicleMisuseStateCache vehicleMisuseStateCache;
 
     @InjectMocks
     private FuelMisuseService fuelMisuseService;
@@ -48,7 +47,7 @@ class FuelMisuseServiceTest {
         setField("maxEntriesPerDay", 2);
 
         FuelRecord record = baseRecord(BigDecimal.valueOf(10), 1000.0);
-        when(fuelRecordRepository.countByVehicleAndDate(any(), any())).thenReturn(2L);
+        when(vehicleMisuseStateCache.entriesOn(any(), any(), isNull())).thenReturn(2L);
 
         String reason = fuelMisuseService.checkForMisuse(record);
         assertNotNull(reason);
@@ -62,10 +61,9 @@ class FuelMisuseServiceTest {
         setField("maxEntriesPerDay", 3);
 
         FuelRecord record = baseRecord(BigDecimal.valueOf(10), 900.0);
-        FuelRecord prev = baseRecord(BigDecimal.valueOf(10), 1000.0);
 
-        when(fuelRecordRepository.countByVehicleAndDate(any(), any())).thenReturn(0L);
-        when(fuelRecordRepository.findLatestByVehicle(any())).thenReturn(List.of(prev));
+        when(vehicleMisuseStateCache.entriesOn(any(), any(), isNull())).thenReturn(0L);
+        when(vehicleMisuseStateCache.previousOdometer(any(), isNull())).thenReturn(1000.0);
 
         String reason = fuelMisuseService.checkForMisuse(record);
         assertNotNull(reason);
@@ -79,10 +77,9 @@ class FuelMisuseServiceTest {
         setField("maxEntriesPerDay", 3);
 
         FuelRecord record = baseRecord(BigDecimal.valueOf(10), 1000.0);
-        FuelRecord prev = baseRecord(BigDecimal.valueOf(10), 900.0);
 
-        when(fuelRecordRepository.countByVehicleAndDate(any(), any())).thenReturn(0L);
-        when(fuelRecordRepository.findLatestByVehicle(any())).thenReturn(List.of(prev));
+        when(vehicleMisuseStateCache.entriesOn(any(), any(), isNull())).thenReturn(0L);
+        when(vehicleMisuseStateCache.previousOdometer(any(), isNull())).thenReturn(900.0);
 
         String reason = fuelMisuseService.checkForMisuse(record);
         assertNull(reason);
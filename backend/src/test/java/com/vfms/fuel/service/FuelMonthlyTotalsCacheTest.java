@@ -0,0 +1,56 @@
+package com.vfms.fuel.service;
+
+import com.vfms.fuel.repository.FuelAnalyticsRepository.MonthlyTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FuelMonthlyTotalsCache Unit Tests")
+class FuelMonthlyTotalsCacheTest {
+
+    private static final YearMonth MARCH = YearMonth.now().minusMonths(6);
+
+    private FuelMonthlyTotalsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FuelMonthlyTotalsCache();
+        for (int i = 0; i < 3; i++) {
+            cache.put(MonthlyTotals.empty(MARCH.plusMonths(i)), cache.generation());
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop the changed month and every later month whose km/L may chain from it")
+    void shouldEvictChangedAndLaterMonths() {
+        cache.onFuelRecordChanged(FuelRecordChangedEvent.modified(1L, MARCH.plusMonths(1).atDay(15)));
+
+        assertNotNull(cache.get(MARCH));
+        assertNull(cache.get(MARCH.plusMonths(1)));
+        assertNull(cache.get(MARCH.plusMonths(2)));
+    }
+
+    @Test
+    @DisplayName("Should never cache the current month")
+    void shouldNotCacheCurrentMonth() {
+        cache.put(MonthlyTotals.empty(YearMonth.now()), cache.generation());
+
+        assertNull(cache.get(YearMonth.now()));
+    }
+
+    @Test
+    @DisplayName("Should not cache totals read before a change that committed while they were loading")
+    void shouldIgnorePutAfterInvalidation() {
+        YearMonth loading = MARCH.minusMonths(1);
+        long generation = cache.generation();
+
+        cache.onFuelRecordChanged(FuelRecordChangedEvent.modified(1L, loading.atDay(10)));
+        cache.put(MonthlyTotals.empty(loading), generation);
+
+        assertNull(cache.get(loading));
+    }
+}
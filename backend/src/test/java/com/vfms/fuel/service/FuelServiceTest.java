@@ -1,30 +1,44 @@
 package com.vfms.fuel.service;
 
+import com.vfms.common.cache.ReferenceDataCache;
 import com.vfms.common.exception.ResourceNotFoundException;
 import com.vfms.common.exception.ValidationException;
 import com.vfms.dsm.entity.Driver;
 import com.vfms.dsm.repository.DriverRepository;
-import com.vfms.fuel.client.VehicleApiClient;
 import com.vfms.fuel.dto.CreateFuelRecordRequest;
 import com.vfms.fuel.dto.FuelMetadataDriverProjection;
 import com.vfms.fuel.dto.FuelMetadataVehicleProjection;
+import com.vfms.fuel.dto.FuelOdometerReadingProjection;
+import com.vfms.fuel.dto.FuelRecordCursor;
+import com.vfms.fuel.dto.FuelRecordResponse;
 import com.vfms.fuel.dto.PatchFuelRecordRequest;
+import com.vfms.fuel.dto.VehicleDetailDto;
 import com.vfms.fuel.entity.FuelRecord;
 import com.vfms.fuel.repository.FuelRecordRepository;
 import com.vfms.vehicle.Vehicle;
 import com.vfms.vehicle.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,9 +53,12 @@ class FuelServiceTest {
     @Mock private FuelRecordRepository fuelRecordRepository;
     @Mock private VehicleRepository vehicleRepository;
     @Mock private DriverRepository driverRepository;
-    @Mock private VehicleApiClient vehicleApiClient;
+    @Mock private VehicleDetailEnrichmentService vehicleDetailEnrichmentService;
     @Mock private FuelStorageService fuelStorageService;
     @Mock private FuelMisuseService fuelMisuseService;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private ReferenceDataCache referenceDataCache = new ReferenceDataCache(300);
 
     @InjectMocks
     private FuelService fuelService;
@@ -49,6 +66,12 @@ class FuelServiceTest {
     @Mock
     private UserDetails userDetails;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     @DisplayName("createFuelRecord should throw 404 when vehicle does not exist in repository")
     void createFuelRecord_shouldThrowWhenVehicleIsMissing() {
@@ -60,6 +83,20 @@ class FuelServiceTest {
         verify(fuelRecordRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("createFuelRecord should not upload the receipt when the driver is invalid")
+    void createFuelRecord_shouldValidateBeforeUploading() {
+        CreateFuelRecordRequest req = baseCreateRequest();
+        Vehicle vehicle = Vehicle.builder().id(Long.valueOf(req.getVehicleId())).plateNumber("ABC-1234").build();
+        when(vehicleRepository.findById(Long.valueOf(req.getVehicleId()))).thenReturn(Optional.of(vehicle));
+        when(driverRepository.findById(req.getDriverId())).thenReturn(Optional.empty());
+        MultipartFile receipt = mock(MultipartFile.class);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> fuelService.createFuelRecord(req, receipt, userDetails));
+        verify(fuelStorageService, never()).uploadReceipt(any());
+    }
+
     @Test
     @DisplayName("createFuelRecord should save record, upload receipt, update vehicle odometer")
     void createFuelRecord_shouldSaveAndUpdateOdometer() {
@@ -94,6 +131,27 @@ class FuelServiceTest {
         assertNotNull(resp.getId());
         assertEquals(req.getVehicleId(), resp.getVehicleId());
         verify(vehicleRepository).save(argThat(v -> v.getOdometerReading().equals(req.getOdometerReading())));
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof FuelRecordChangedEvent changed && changed.appended()));
+    }
+
+    @Test
+    @DisplayName("createFuelRecord should delete the uploaded receipt when the record cannot be saved")
+    void createFuelRecord_shouldDeleteReceiptWhenPersistFails() {
+        CreateFuelRecordRequest req = baseCreateRequest();
+        MultipartFile receipt = mock(MultipartFile.class);
+        when(receipt.isEmpty()).thenReturn(false);
+        when(fuelStorageService.uploadReceipt(receipt)).thenReturn("https://example/receipt");
+        Vehicle vehicle = Vehicle.builder().id(Long.valueOf(req.getVehicleId())).plateNumber("ABC-1234").build();
+        Driver driver = Driver.builder().id(req.getDriverId()).fullName("Test Driver").build();
+        when(vehicleRepository.findById(Long.valueOf(req.getVehicleId()))).thenReturn(Optional.of(vehicle));
+        when(driverRepository.findById(req.getDriverId())).thenReturn(Optional.of(driver));
+        when(userDetails.getUsername()).thenReturn("admin@vfms.com");
+        when(fuelRecordRepository.save(any())).thenThrow(new DataIntegrityViolationException("constraint"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> fuelService.createFuelRecord(req, receipt, userDetails));
+        verify(fuelStorageService).deleteReceipt("https://example/receipt");
     }
 
     @Test
@@ -140,13 +198,14 @@ class FuelServiceTest {
         var unflagged = fuelService.unflagFuelRecord(id);
         assertFalse(unflagged.isFlaggedForMisuse());
         assertNull(unflagged.getFlagReason());
+        verify(eventPublisher, times(2)).publishEvent(FuelRecordChangedEvent.modified(202L, record.getFuelDate()));
     }
 
     @Test
     @DisplayName("deleteFuelRecord should throw 404 when record missing")
     void deleteFuelRecord_shouldThrowWhenMissing() {
         UUID id = UUID.randomUUID();
-        when(fuelRecordRepository.existsById(id)).thenReturn(false);
+        when(fuelRecordRepository.findById(id)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> fuelService.deleteFuelRecord(id));
     }
 
@@ -231,7 +290,7 @@ class FuelServiceTest {
         when(driverRepository.findFuelMetadataDrivers())
                 .thenReturn(List.of(unnamedDriver, namedDriver));
 
-        var metadata = fuelService.getFormMetadata();
+        var metadata = fuelService.getFormMetadata().value();
 
         assertEquals(2, metadata.getVehicles().size());
         assertEquals(String.valueOf(firstVehicleId), metadata.getVehicles().get(0).getId());
@@ -244,6 +303,108 @@ class FuelServiceTest {
         assertEquals("Zara Driver", metadata.getDrivers().get(1).getLabel());
     }
 
+    @Test
+    @DisplayName("forEachInDateRange should derive efficiency in one pass seeded by the preceding reading")
+    void forEachInDateRange_shouldComputeEfficiencyFromTimeline() {
+        Vehicle vehicle = Vehicle.builder().id(101L).plateNumber("A").brand("M").model("X").build();
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        FuelRecord first = timelineRecord(vehicle, from, 1200.0, "40.00");
+        FuelRecord second = timelineRecord(vehicle, from.plusDays(3), 1600.0, "20.00");
+
+        when(fuelRecordRepository.findVehicleIdsFueledBetween(from, from.plusDays(30))).thenReturn(List.of(101L));
+        when(fuelRecordRepository.findFleetTimelinePage(eq(from), eq(from.plusDays(30)), eq(from.minusDays(1)),
+                any(), any(), any(Limit.class)))
+                .thenReturn(List.of(first, second));
+        when(fuelRecordRepository.findPrecedingReadings(List.of(101L), from))
+                .thenReturn(List.of(odometerReading(101L, 1000.0)));
+
+        List<FuelRecordResponse> responses = new ArrayList<>();
+        fuelService.forEachInDateRange(from, from.plusDays(30), null, null, responses::add);
+
+        assertEquals(2, responses.size());
+        assertEquals(200.0, responses.get(0).getDistanceSinceLast());
+        assertEquals(5.0, responses.get(0).getEfficiencyKmPerLitre());
+        assertEquals(400.0, responses.get(1).getDistanceSinceLast());
+        assertEquals(20.0, responses.get(1).getEfficiencyKmPerLitre());
+        // A short page is the last one, and each read runs in its own transaction
+        verify(fuelRecordRepository, times(1)).findFleetTimelinePage(any(), any(), any(), any(), any(), any());
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("forEachInDateRange should skip other drivers' rows but still chain the vehicle's readings")
+    void forEachInDateRange_shouldFilterDriverRowsAfterChaining() {
+        Vehicle vehicle = Vehicle.builder().id(101L).plateNumber("A").brand("M").model("X").build();
+        Driver driver = Driver.builder().id(UUID.randomUUID()).build();
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        FuelRecord otherDriver = timelineRecord(vehicle, from, 1200.0, "40.00");
+        FuelRecord own = timelineRecord(vehicle, from.plusDays(3), 1600.0, "20.00");
+        own.setDriver(driver);
+
+        when(fuelRecordRepository.findVehicleIdsFueledByDriver(driver.getId(), from, from.plusDays(30)))
+                .thenReturn(List.of(101L));
+        when(fuelRecordRepository.findDriverVehiclesTimelinePage(eq(driver.getId()), eq(from), eq(from.plusDays(30)),
+                any(), any(), any(), any(Limit.class)))
+                .thenReturn(List.of(otherDriver, own));
+
+        List<FuelRecordResponse> responses = new ArrayList<>();
+        fuelService.forEachInDateRange(from, from.plusDays(30), null, driver.getId(), responses::add);
+
+        assertEquals(1, responses.size());
+        assertEquals(400.0, responses.get(0).getDistanceSinceLast());
+    }
+
+    @Test
+    @DisplayName("parseSearchDate should reject a malformed bound as a validation error")
+    void parseSearchDate_shouldRejectMalformedDate() {
+        assertEquals(LocalDate.of(2026, 1, 31), FuelService.parseSearchDate("2026-01-31", "from"));
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> FuelService.parseSearchDate("31/01/2026", "to"));
+        assertEquals("to must be a date in yyyy-MM-dd format", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("getRecordsPage should read one extra row and return a cursor for the next page")
+    void getRecordsPage_shouldReturnCursorWhenMoreRowsExist() {
+        Vehicle vehicle = Vehicle.builder().id(101L).plateNumber("A").brand("M").model("X").build();
+        LocalDate date = LocalDate.of(2026, 2, 1);
+        FuelRecord newest = timelineRecord(vehicle, date, 1300.0, "10.00");
+        FuelRecord middle = timelineRecord(vehicle, date.minusDays(1), 1200.0, "10.00");
+        FuelRecord oldest = timelineRecord(vehicle, date.minusDays(2), 1100.0, "10.00");
+        middle.setCreatedAt(LocalDateTime.of(2026, 1, 31, 8, 30));
+
+        when(fuelRecordRepository.findFirstPage(Limit.of(3))).thenReturn(List.of(newest, middle, oldest));
+
+        var page = fuelService.getRecordsPage(null, 2);
+
+        assertTrue(page.isHasMore());
+        assertEquals(2, page.getRecords().size());
+        FuelRecordCursor cursor = FuelRecordCursor.decode(page.getNextCursor());
+        assertEquals(middle.getId(), cursor.getId());
+        assertEquals(middle.getCreatedAt(), cursor.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("getAllRecordsWithRealTimeData should resolve vehicle details once per batch")
+    void getAllRecordsWithRealTimeData_shouldEnrichInOneBatch() {
+        Vehicle vehicle = Vehicle.builder().id(101L).plateNumber("OLD-1").brand("M").model("X").build();
+        LocalDate date = LocalDate.of(2026, 2, 1);
+        FuelRecord first = timelineRecord(vehicle, date, 1300.0, "10.00");
+        FuelRecord second = timelineRecord(vehicle, date.minusDays(1), 1200.0, "10.00");
+        VehicleDetailDto detail = VehicleDetailDto.builder()
+                .id(101L).plateNumber("NEW-1").make("Toyota").model("Hilux").build();
+
+        when(fuelRecordRepository.findAllNewestFirst()).thenReturn(List.of(first, second));
+        when(vehicleDetailEnrichmentService.resolve(List.of(101L, 101L))).thenReturn(Map.of(101L, detail));
+
+        var responses = fuelService.getAllRecordsWithRealTimeData();
+
+        assertEquals(2, responses.size());
+        assertTrue(responses.stream().allMatch(r -> "NEW-1".equals(r.getVehiclePlate())));
+        assertEquals("Toyota Hilux", responses.get(0).getVehicleMakeModel());
+        verify(vehicleDetailEnrichmentService, times(1)).resolve(any());
+    }
+
     private CreateFuelRecordRequest baseCreateRequest() {
         CreateFuelRecordRequest req = new CreateFuelRecordRequest();
         req.setVehicleId("101");
@@ -257,6 +418,32 @@ class FuelServiceTest {
         return req;
     }
 
+    private FuelRecord timelineRecord(Vehicle vehicle, LocalDate date, double odometer, String quantity) {
+        return FuelRecord.builder()
+                .id(UUID.randomUUID())
+                .vehicle(vehicle)
+                .fuelDate(date)
+                .quantity(new BigDecimal(quantity))
+                .costPerLitre(BigDecimal.ONE)
+                .totalCost(new BigDecimal(quantity))
+                .odometerReading(odometer)
+                .build();
+    }
+
+    private FuelOdometerReadingProjection odometerReading(Long vehicleId, Double odometer) {
+        return new FuelOdometerReadingProjection() {
+            @Override
+            public Long getVehicleId() {
+                return vehicleId;
+            }
+
+            @Override
+            public Double getOdometerReading() {
+                return odometer;
+            }
+        };
+    }
+
     private FuelMetadataVehicleProjection fuelMetadataVehicle(
             Long id,
             String plateNumber,
@@ -0,0 +1,96 @@
+package com.vfms.fuel.service;
+
+import com.vfms.fuel.dto.FuelMisuseEntryProjection;
+import com.vfms.fuel.repository.FuelRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VehicleMisuseStateCache Unit Tests")
+class VehicleMisuseStateCacheTest {
+
+    private static final Long VEHICLE_ID = 101L;
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private FuelRecordRepository fuelRecordRepository;
+
+    private VehicleMisuseStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VehicleMisuseStateCache(fuelRecordRepository, 10);
+    }
+
+    @Test
+    @DisplayName("Should load state once and roll it forward from appended records")
+    void shouldRollStateForwardWithoutRequerying() {
+        UUID existing = UUID.randomUUID();
+        when(fuelRecordRepository.findLatestEntriesByVehicle(VEHICLE_ID, Limit.of(2)))
+                .thenReturn(List.of(entry(existing, DATE, 1000.0)));
+        when(fuelRecordRepository.findIdsByVehicleAndDate(VEHICLE_ID, DATE)).thenReturn(List.of(existing));
+
+        assertEquals(1000.0, cache.previousOdometer(VEHICLE_ID, null));
+        assertEquals(1, cache.entriesOn(VEHICLE_ID, DATE, null));
+
+        UUID appended = UUID.randomUUID();
+        cache.onFuelRecordChanged(new FuelRecordChangedEvent(
+                VEHICLE_ID, appended, DATE, LocalDateTime.of(2026, 3, 1, 12, 0), 1200.0, true));
+
+        assertEquals(1200.0, cache.previousOdometer(VEHICLE_ID, null));
+        assertEquals(1000.0, cache.previousOdometer(VEHICLE_ID, appended));
+        assertEquals(2, cache.entriesOn(VEHICLE_ID, DATE, null));
+        assertEquals(1, cache.entriesOn(VEHICLE_ID, DATE, appended));
+        verify(fuelRecordRepository, times(1)).findLatestEntriesByVehicle(VEHICLE_ID, Limit.of(2));
+        verify(fuelRecordRepository, times(1)).findIdsByVehicleAndDate(VEHICLE_ID, DATE);
+    }
+
+    @Test
+    @DisplayName("Should reload state after a record is edited or deleted")
+    void shouldReloadAfterModification() {
+        when(fuelRecordRepository.findLatestEntriesByVehicle(VEHICLE_ID, Limit.of(2))).thenReturn(List.of());
+
+        assertNull(cache.previousOdometer(VEHICLE_ID, null));
+        cache.onFuelRecordChanged(FuelRecordChangedEvent.modified(VEHICLE_ID, DATE));
+        assertNull(cache.previousOdometer(VEHICLE_ID, null));
+
+        verify(fuelRecordRepository, times(2)).findLatestEntriesByVehicle(VEHICLE_ID, Limit.of(2));
+    }
+
+    private FuelMisuseEntryProjection entry(UUID id, LocalDate date, double odometer) {
+        return new FuelMisuseEntryProjection() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDate getFuelDate() {
+                return date;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return LocalDateTime.of(2026, 3, 1, 8, 0);
+            }
+
+            @Override
+            public Double getOdometerReading() {
+                return odometer;
+            }
+        };
+    }
+}
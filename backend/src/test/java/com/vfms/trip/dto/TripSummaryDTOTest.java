@@ -0,0 +1,38 @@
+package com.vfms.trip.dto;
+
+import com.vfms.trip.enums.TripStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TripSummaryDTO Field Selection Tests")
+class TripSummaryDTOTest {
+
+    private static final TripSummaryDTO SUMMARY = new TripSummaryDTO(UUID.randomUUID(), UUID.randomUUID(),
+            "Site visit", "Kandy", LocalDateTime.of(2026, 6, 1, 8, 0), LocalDateTime.of(2026, 6, 1, 17, 0),
+            3, TripStatus.APPROVED, 7L, null, null, LocalDateTime.of(2026, 5, 20, 9, 0));
+
+    @Test
+    @DisplayName("Should keep only the requested fields in declaration order")
+    void shouldSelectRequestedFields() {
+        List<Map<String, Object>> rows = TripSummaryDTO.select(List.of(SUMMARY), Set.of("status", "id", "assignedDriverId"));
+
+        assertEquals(List.of("id", "status", "assignedDriverId"), List.copyOf(rows.get(0).keySet()));
+        assertEquals(SUMMARY.getId(), rows.get(0).get("id"));
+        assertEquals(TripStatus.APPROVED, rows.get(0).get("status"));
+        assertNull(rows.get(0).get("assignedDriverId"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or detail-only field names")
+    void shouldRejectUnknownFields() {
+        assertThrows(IllegalArgumentException.class, () -> TripSummaryDTO.select(List.of(SUMMARY), Set.of("approverId")));
+    }
+}
@@ -0,0 +1,182 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.dto.BatchAssignmentDTO;
+import com.vfms.trip.service.BatchAssignmentSolver.DriverSlot;
+import com.vfms.trip.service.BatchAssignmentSolver.ExternalBookings;
+import com.vfms.trip.service.BatchAssignmentSolver.LeaveWindow;
+import com.vfms.trip.service.BatchAssignmentSolver.Plan;
+import com.vfms.trip.service.BatchAssignmentSolver.TripSlot;
+import com.vfms.trip.service.BatchAssignmentSolver.VehicleSlot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BatchAssignmentSolver Unit Tests")
+class BatchAssignmentSolverTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 6, 1, 0, 0);
+    private static final ExternalBookings NO_BOOKINGS = new ExternalBookings() {
+        @Override
+        public boolean vehicleBusy(Long vehicleId, LocalDateTime start, LocalDateTime end, UUID tripId) {
+            return false;
+        }
+
+        @Override
+        public boolean driverBusy(UUID driverId, LocalDateTime start, LocalDateTime end, UUID tripId) {
+            return false;
+        }
+    };
+
+    @Test
+    @DisplayName("Should chain trips on the vehicle with the shortest idle gap and route large groups to buses")
+    void shouldPreferShortestGapAndSmallestCategory() {
+        TripSlot morning = trip(8, 10, 2);
+        TripSlot noon = trip(12, 14, 3);
+        TripSlot tour = trip(9, 17, 30);
+        UUID lightDriver = UUID.randomUUID();
+        UUID busDriver = UUID.randomUUID();
+
+        Plan plan = BatchAssignmentSolver.solve(
+                List.of(noon, tour, morning),
+                List.of(new VehicleSlot(1L, "LIGHT", 4), new VehicleSlot(2L, "LIGHT", 7),
+                        new VehicleSlot(3L, "PASSENGER", 40)),
+                List.of(driver(lightDriver, "LIGHT"), driver(busDriver, "LIGHT", "PASSENGER")),
+                Map.of(1L, "LIGHT", 2L, "LIGHT", 3L, "PASSENGER"),
+                NO_BOOKINGS);
+
+        Map<UUID, BatchAssignmentDTO> byTrip = byTrip(plan);
+        assertTrue(plan.unassigned().isEmpty());
+        // Both light trips fit the 4-seater, so the second one reuses it rather than opening the 7-seater
+        assertEquals(1L, byTrip.get(morning.tripId()).getVehicleId());
+        assertEquals(1L, byTrip.get(noon.tripId()).getVehicleId());
+        assertEquals(120, byTrip.get(noon.tripId()).getIdleMinutes());
+        assertEquals(lightDriver, byTrip.get(noon.tripId()).getDriverId());
+        assertEquals(3L, byTrip.get(tour.tripId()).getVehicleId());
+        assertEquals(busDriver, byTrip.get(tour.tripId()).getDriverId());
+    }
+
+    @Test
+    @DisplayName("Should skip drivers on leave and resources booked outside the batch")
+    void shouldRespectLeaveAndExternalBookings() {
+        TripSlot trip = trip(8, 12, 1);
+        UUID onLeave = UUID.randomUUID();
+        UUID booked = UUID.randomUUID();
+        UUID free = UUID.randomUUID();
+        ExternalBookings external = new ExternalBookings() {
+            @Override
+            public boolean vehicleBusy(Long vehicleId, LocalDateTime start, LocalDateTime end, UUID tripId) {
+                return vehicleId == 1L;
+            }
+
+            @Override
+            public boolean driverBusy(UUID driverId, LocalDateTime start, LocalDateTime end, UUID tripId) {
+                return driverId.equals(booked);
+            }
+        };
+
+        Plan plan = BatchAssignmentSolver.solve(
+                List.of(trip),
+                List.of(new VehicleSlot(1L, "LIGHT", 4), new VehicleSlot(2L, "LIGHT", 4)),
+                List.of(new DriverSlot(onLeave, Set.of("LIGHT"),
+                                List.of(new LeaveWindow(DAY.toLocalDate(), DAY.toLocalDate()))),
+                        driver(booked, "LIGHT"), driver(free, "LIGHT")),
+                Map.of(1L, "LIGHT", 2L, "LIGHT"),
+                external);
+
+        BatchAssignmentDTO assignment = plan.assignments().get(0);
+        assertEquals(2L, assignment.getVehicleId());
+        assertEquals(free, assignment.getDriverId());
+    }
+
+    @Test
+    @DisplayName("Should report trips no vehicle can seat and trips left without a driver")
+    void shouldReportUnassignableTrips() {
+        TripSlot tooBig = trip(8, 10, 12);
+        TripSlot first = trip(8, 10, 1);
+        TripSlot overlapping = trip(9, 11, 1);
+
+        Plan plan = BatchAssignmentSolver.solve(
+                List.of(tooBig, first, overlapping),
+                List.of(new VehicleSlot(1L, "LIGHT", 4), new VehicleSlot(2L, "LIGHT", 4)),
+                List.of(driver(UUID.randomUUID(), "LIGHT")),
+                Map.of(1L, "LIGHT", 2L, "LIGHT"),
+                NO_BOOKINGS);
+
+        assertEquals(1, plan.assignments().size());
+        assertEquals(first.tripId(), plan.assignments().get(0).getTripId());
+        assertEquals(2, plan.unassigned().size());
+    }
+
+    @Test
+    @DisplayName("Should produce a non-overlapping plan for 10k trips")
+    void shouldProduceValidPlanAtScale() {
+        Random random = new Random(42);
+        List<TripSlot> trips = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime departure = DAY.plusMinutes(random.nextInt(30 * 24 * 60));
+            trips.add(new TripSlot(UUID.randomUUID(), departure, departure.plusMinutes(30 + random.nextInt(480)),
+                    1 + random.nextInt(random.nextInt(10) == 0 ? 40 : 6), null, null));
+        }
+        List<VehicleSlot> vehicles = new ArrayList<>();
+        Map<Long, String> categories = new HashMap<>();
+        for (long id = 1; id <= 150; id++) {
+            boolean bus = id % 10 == 0;
+            vehicles.add(new VehicleSlot(id, bus ? "PASSENGER" : "LIGHT", bus ? 45 : 4 + (int) (id % 4)));
+            categories.put(id, bus ? "PASSENGER" : "LIGHT");
+        }
+        List<DriverSlot> drivers = new ArrayList<>();
+        for (int i = 0; i < 160; i++) {
+            drivers.add(i % 8 == 0 ? driver(UUID.randomUUID(), "LIGHT", "PASSENGER") : driver(UUID.randomUUID(), "LIGHT"));
+        }
+
+        Plan plan = BatchAssignmentSolver.solve(trips, vehicles, drivers, categories, NO_BOOKINGS);
+
+        assertEquals(trips.size(), plan.assignments().size() + plan.unassigned().size());
+        Map<UUID, TripSlot> tripById = trips.stream().collect(Collectors.toMap(TripSlot::tripId, Function.identity()));
+        Map<Long, VehicleSlot> vehicleById = vehicles.stream().collect(Collectors.toMap(VehicleSlot::id, Function.identity()));
+        assertNoOverlaps(plan, tripById, BatchAssignmentDTO::getVehicleId);
+        assertNoOverlaps(plan, tripById, BatchAssignmentDTO::getDriverId);
+        for (BatchAssignmentDTO assignment : plan.assignments()) {
+            assertTrue(vehicleById.get(assignment.getVehicleId()).seats() >= tripById.get(assignment.getTripId()).passengers());
+        }
+    }
+
+    private static <K> void assertNoOverlaps(Plan plan, Map<UUID, TripSlot> tripById,
+                                             Function<BatchAssignmentDTO, K> resource) {
+        Map<K, List<TripSlot>> byResource = new HashMap<>();
+        for (BatchAssignmentDTO assignment : plan.assignments()) {
+            byResource.computeIfAbsent(resource.apply(assignment), k -> new ArrayList<>())
+                    .add(tripById.get(assignment.getTripId()));
+        }
+        for (List<TripSlot> slots : byResource.values()) {
+            slots.sort((a, b) -> a.departure().compareTo(b.departure()));
+            for (int i = 1; i < slots.size(); i++) {
+                assertFalse(slots.get(i - 1).returnTime().isAfter(slots.get(i).departure()));
+            }
+        }
+    }
+
+    private static TripSlot trip(int fromHour, int toHour, int passengers) {
+        return new TripSlot(UUID.randomUUID(), DAY.plusHours(fromHour), DAY.plusHours(toHour), passengers, null, null);
+    }
+
+    private static DriverSlot driver(UUID id, String... categories) {
+        return new DriverSlot(id, Set.of(categories), List.of());
+    }
+
+    private static Map<UUID, BatchAssignmentDTO> byTrip(Plan plan) {
+        return plan.assignments().stream().collect(Collectors.toMap(BatchAssignmentDTO::getTripId, Function.identity()));
+    }
+}
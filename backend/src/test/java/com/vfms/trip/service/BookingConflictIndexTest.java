@@ -0,0 +1,102 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.dto.TripBookingProjection;
+import com.vfms.trip.entity.TripRequest;
+import com.vfms.trip.enums.TripStatus;
+import com.vfms.trip.repository.TripRequestRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingConflictIndex Unit Tests")
+class BookingConflictIndexTest {
+
+    private static final Long VEHICLE_ID = 7L;
+    private static final UUID DRIVER_ID = UUID.randomUUID();
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 5, 4, 9, 0);
+
+    @Mock
+    private TripRequestRepository repository;
+
+    @Test
+    @DisplayName("Should detect overlaps from rebuilt bookings and treat touching windows as free")
+    void shouldDetectOverlapsAfterRebuild() {
+        UUID tripId = UUID.randomUUID();
+        when(repository.findActiveBookings(any())).thenReturn(List.of(
+                booking(tripId, VEHICLE_ID, DRIVER_ID, NINE, NINE.plusHours(2))));
+        BookingConflictIndex index = new BookingConflictIndex(repository);
+        index.rebuild();
+
+        assertTrue(index.hasVehicleConflict(VEHICLE_ID, NINE.plusHours(1), NINE.plusHours(3), null));
+        assertTrue(index.hasDriverConflict(DRIVER_ID, NINE.minusHours(1), NINE.plusMinutes(1), null));
+        assertFalse(index.hasVehicleConflict(VEHICLE_ID, NINE.plusHours(2), NINE.plusHours(3), null));
+        assertFalse(index.hasVehicleConflict(VEHICLE_ID, NINE.minusHours(1), NINE, null));
+        assertFalse(index.hasVehicleConflict(VEHICLE_ID, NINE, NINE.plusHours(2), tripId));
+        assertFalse(index.hasVehicleConflict(99L, NINE, NINE.plusHours(2), null));
+    }
+
+    @Test
+    @DisplayName("Should add and release bookings as trips move through the lifecycle")
+    void shouldFollowLifecycleTransitions() {
+        when(repository.findActiveBookings(any())).thenReturn(List.of());
+        BookingConflictIndex index = new BookingConflictIndex(repository);
+        index.rebuild();
+
+        TripRequest trip = TripRequest.builder()
+                .id(UUID.randomUUID())
+                .departureTime(NINE)
+                .returnTime(NINE.plusHours(4))
+                .assignedVehicleId(VEHICLE_ID)
+                .assignedDriverId(DRIVER_ID)
+                .status(TripStatus.APPROVED)
+                .build();
+        index.apply(trip);
+        assertTrue(index.hasVehicleConflict(VEHICLE_ID, NINE.plusHours(1), NINE.plusHours(2), null));
+
+        // Reassigning the vehicle moves the booking to the new timeline
+        trip.setAssignedVehicleId(8L);
+        index.apply(trip);
+        assertFalse(index.hasVehicleConflict(VEHICLE_ID, NINE.plusHours(1), NINE.plusHours(2), null));
+        assertTrue(index.hasVehicleConflict(8L, NINE.plusHours(1), NINE.plusHours(2), null));
+
+        trip.setStatus(TripStatus.COMPLETED);
+        index.apply(trip);
+        assertFalse(index.hasVehicleConflict(8L, NINE.plusHours(1), NINE.plusHours(2), null));
+        assertFalse(index.hasDriverConflict(DRIVER_ID, NINE.plusHours(1), NINE.plusHours(2), null));
+    }
+
+    @Test
+    @DisplayName("Should still find conflicts hidden behind legacy overlapping bookings")
+    void shouldScanWhenLegacyBookingsOverlap() {
+        when(repository.findActiveBookings(any())).thenReturn(List.of(
+                booking(UUID.randomUUID(), VEHICLE_ID, null, NINE, NINE.plusHours(10)),
+                booking(UUID.randomUUID(), VEHICLE_ID, null, NINE.plusHours(1), NINE.plusHours(2))));
+        BookingConflictIndex index = new BookingConflictIndex(repository);
+        index.rebuild();
+
+        // The latest-starting booking ends before the window, but the long earlier one still covers it
+        assertTrue(index.hasVehicleConflict(VEHICLE_ID, NINE.plusHours(5), NINE.plusHours(6), null));
+    }
+
+    private static TripBookingProjection booking(UUID id, Long vehicleId, UUID driverId,
+                                                 LocalDateTime departure, LocalDateTime returnTime) {
+        return new TripBookingProjection() {
+            public UUID getId() { return id; }
+            public Long getAssignedVehicleId() { return vehicleId; }
+            public UUID getAssignedDriverId() { return driverId; }
+            public LocalDateTime getDepartureTime() { return departure; }
+            public LocalDateTime getReturnTime() { return returnTime; }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.vfms.trip.service;
+
+import com.vfms.dsm.entity.DriverCertification;
+import com.vfms.dsm.entity.DriverLicense;
+import com.vfms.dsm.service.DriverQualificationService;
+import com.vfms.trip.dto.DispatchAvailabilityDTO;
+import com.vfms.trip.dto.DriverOptionDTO;
+import com.vfms.trip.dto.VehicleOptionDTO;
+import com.vfms.trip.repository.DispatchAvailabilityRepository;
+import com.vfms.vehicle.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DispatchAvailabilityService Unit Tests")
+class DispatchAvailabilityServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.now().plusDays(3).withHour(8).withMinute(0);
+    private static final LocalDateTime TO = FROM.plusHours(6);
+
+    @Mock
+    private DispatchAvailabilityRepository repository;
+
+    @Mock
+    private BookingConflictIndex bookingIndex;
+
+    @Mock
+    private DriverQualificationService qualificationService;
+
+    @InjectMocks
+    private DispatchAvailabilityService service;
+
+    @Test
+    @DisplayName("Should drop booked resources and report the remaining pair matrix")
+    void shouldFilterBookedResources() {
+        UUID freeDriver = UUID.randomUUID();
+        UUID busyDriver = UUID.randomUUID();
+        when(qualificationService.requiredLicenseClasses("PASSENGER"))
+                .thenReturn(List.of(DriverLicense.LicenseCategory.D));
+        when(qualificationService.requiredCertifications("PASSENGER"))
+                .thenReturn(List.of(DriverCertification.CertificationType.PASSENGER_TRANSPORT));
+        when(repository.findCandidateVehicles("VAN")).thenReturn(List.of(
+                new VehicleOptionDTO(1L, "Toyota", "Hiace", "AB-1"),
+                new VehicleOptionDTO(2L, "Nissan", "Caravan", "AB-2")));
+        when(repository.findReadyQualifiedDrivers(eq(List.of("D")), eq(List.of("PASSENGER_TRANSPORT")),
+                eq(List.of("INACTIVE")), eq(FROM.toLocalDate()), eq(TO.toLocalDate())))
+                .thenReturn(List.of(
+                        new DriverOptionDTO(freeDriver.toString(), "Ann", "Perera", "E1"),
+                        new DriverOptionDTO(busyDriver.toString(), "Bo", "Silva", "E2")));
+        when(bookingIndex.hasVehicleConflict(1L, FROM, TO, null)).thenReturn(true);
+        when(bookingIndex.hasVehicleConflict(2L, FROM, TO, null)).thenReturn(false);
+        when(bookingIndex.hasDriverConflict(freeDriver, FROM, TO, null)).thenReturn(false);
+        when(bookingIndex.hasDriverConflict(busyDriver, FROM, TO, null)).thenReturn(true);
+
+        DispatchAvailabilityDTO result = service.getAvailability(FROM, TO, "passenger", VehicleType.VAN);
+
+        assertEquals("PASSENGER", result.getVehicleCategory());
+        assertEquals(List.of(2L), result.getVehicles().stream().map(VehicleOptionDTO::getId).toList());
+        assertEquals(List.of(freeDriver.toString()), result.getDrivers().stream().map(DriverOptionDTO::getId).toList());
+        assertEquals(1L, result.getPairCount());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown categories and empty windows before querying")
+    void shouldValidateInput() {
+        assertThrows(IllegalArgumentException.class, () -> service.getAvailability(FROM, TO, "SPACESHIP", null));
+        assertThrows(IllegalArgumentException.class, () -> service.getAvailability(TO, FROM, "LIGHT", null));
+        verify(repository, never()).findCandidateVehicles(any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.dto.TripCalendarEntryDTO;
+import com.vfms.trip.enums.TripStatus;
+import com.vfms.trip.repository.TripRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TripCalendarCache Unit Tests")
+class TripCalendarCacheTest {
+
+    private static final YearMonth MAY = YearMonth.of(2026, 5);
+    private static final YearMonth JUNE = YearMonth.of(2026, 6);
+
+    @Mock
+    private TripRequestRepository repository;
+
+    private TripCalendarCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TripCalendarCache(repository, 12, 300);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat reads of a month from the bucket with a stable ETag")
+    void shouldReuseBucket() {
+        TripCalendarEntryDTO entry = entry(MAY.atDay(3).atTime(9, 0), TripStatus.APPROVED);
+        when(repository.findCalendarEntries(start(MAY), start(JUNE))).thenReturn(List.of(entry));
+
+        TripCalendarCache.CalendarMonth first = cache.get(MAY);
+        TripCalendarCache.CalendarMonth second = cache.get(MAY);
+
+        assertSame(first, second);
+        assertEquals(List.of(entry), first.entries());
+        assertTrue(first.etag().startsWith("\""));
+        verify(repository, times(1)).findCalendarEntries(start(MAY), start(JUNE));
+    }
+
+    @Test
+    @DisplayName("Should drop both the old and new month when a trip moves and change the ETag on reload")
+    void shouldEvictOldAndNewMonth() {
+        TripCalendarEntryDTO approved = entry(MAY.atDay(3).atTime(9, 0), TripStatus.APPROVED);
+        TripCalendarEntryDTO ongoing = new TripCalendarEntryDTO(approved.getId(), approved.getPurpose(),
+                approved.getDestination(), approved.getDepartureTime(), approved.getReturnTime(), TripStatus.ONGOING);
+        when(repository.findCalendarEntries(start(MAY), start(JUNE)))
+                .thenReturn(List.of(approved))
+                .thenReturn(List.of(ongoing));
+        when(repository.findCalendarEntries(start(JUNE), start(JUNE.plusMonths(1)))).thenReturn(List.of());
+
+        String before = cache.get(MAY).etag();
+        cache.get(JUNE);
+        cache.onTripChanged(new TripChangedEvent(approved.getId(), TripStatus.ONGOING,
+                MAY.atDay(3).atTime(9, 0), JUNE.atDay(1).atTime(8, 0)));
+        String after = cache.get(MAY).etag();
+        cache.get(JUNE);
+
+        assertNotEquals(before, after);
+        verify(repository, times(2)).findCalendarEntries(start(MAY), start(JUNE));
+        verify(repository, times(2)).findCalendarEntries(start(JUNE), start(JUNE.plusMonths(1)));
+    }
+
+    private static LocalDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    private static TripCalendarEntryDTO entry(LocalDateTime departure, TripStatus status) {
+        return new TripCalendarEntryDTO(UUID.randomUUID(), "Site visit", "Kandy", departure, departure.plusHours(5), status);
+    }
+}
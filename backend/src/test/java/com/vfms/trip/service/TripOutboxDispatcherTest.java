@@ -0,0 +1,123 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.entity.TripEvent;
+import com.vfms.trip.entity.TripOutboxMessage;
+import com.vfms.trip.enums.TripEventType;
+import com.vfms.trip.enums.TripStatus;
+import com.vfms.trip.repository.TripEventRepository;
+import com.vfms.trip.repository.TripOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TripOutboxDispatcher Unit Tests")
+class TripOutboxDispatcherTest {
+
+    @Mock
+    private TripOutboxRepository outboxRepository;
+
+    @Mock
+    private TripEventRepository eventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TripOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new TripOutboxDispatcher(outboxRepository, eventRepository, eventPublisher,
+                new TransactionTemplate(transactionManager), Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should publish claimed messages as lifecycle events")
+    void shouldPublishClaimedMessages() {
+        TripEvent event = event(7L);
+        when(outboxRepository.findPending(anyInt(), any(Limit.class))).thenReturn(List.of(message(1L, 7L)));
+        when(outboxRepository.claim(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(event));
+
+        dispatcher.onTripChanged(new TripChangedEvent(event.getTripId(), TripStatus.APPROVED, null, null));
+
+        ArgumentCaptor<TripLifecycleEvent> published = ArgumentCaptor.forClass(TripLifecycleEvent.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertEquals(TripEventType.APPROVED, published.getValue().type());
+        assertEquals(event.getTripId(), published.getValue().tripId());
+        assertTrue(published.getValue().statusChanged());
+    }
+
+    @Test
+    @DisplayName("Should dispatch messages left from before a restart once the application is ready")
+    void shouldDispatchOnApplicationReady() {
+        when(outboxRepository.findPending(anyInt(), any(Limit.class))).thenReturn(List.of());
+
+        dispatcher.onApplicationReady();
+
+        verify(outboxRepository).findPending(anyInt(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Should skip messages another dispatcher already claimed")
+    void shouldSkipMessagesClaimedElsewhere() {
+        when(outboxRepository.findPending(anyInt(), any(Limit.class))).thenReturn(List.of(message(1L, 7L)));
+        when(outboxRepository.claim(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        dispatcher.dispatchPending();
+
+        verifyNoInteractions(eventPublisher, eventRepository);
+    }
+
+    @Test
+    @DisplayName("Should record a failed delivery so the message is retried")
+    void shouldRecordFailedDelivery() {
+        when(outboxRepository.findPending(anyInt(), any(Limit.class))).thenReturn(List.of(message(1L, 7L)));
+        when(outboxRepository.claim(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(event(7L)));
+        doThrow(new RuntimeException("readiness unavailable")).when(eventPublisher).publishEvent(any(Object.class));
+
+        dispatcher.dispatchPending();
+
+        verify(outboxRepository).recordFailure(1L, "readiness unavailable");
+        verify(transactionManager).rollback(any());
+    }
+
+    private static TripOutboxMessage message(Long id, Long eventId) {
+        return TripOutboxMessage.builder().id(id).eventId(eventId).build();
+    }
+
+    private static TripEvent event(Long id) {
+        return TripEvent.builder()
+                .id(id)
+                .tripId(UUID.randomUUID())
+                .tripVersion(2L)
+                .eventType(TripEventType.APPROVED)
+                .fromStatus(TripStatus.SUBMITTED)
+                .toStatus(TripStatus.APPROVED)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package com.vfms.trip.service;
+
+import com.vfms.common.exception.ConflictException;
+import com.vfms.trip.dto.ApprovalDTO;
+import com.vfms.trip.dto.CreateTripRequestDTO;
+import com.vfms.trip.entity.TripEvent;
+import com.vfms.trip.entity.TripRequest;
+import com.vfms.trip.enums.TripStatus;
+import com.vfms.trip.repository.TripEventRepository;
+import com.vfms.trip.repository.TripRequestRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "JWT_SECRET=testsecretkey12345678901234567890",
+    "CORS_ALLOWED_ORIGINS=http://localhost:3000",
+    "FRONTEND_URL=http://localhost:3000",
+    "MAIL_USERNAME=test@test.com",
+    "MAIL_PASSWORD=testpassword"
+})
+@DisplayName("TripRequestService Concurrency Stress Tests")
+class TripTransitionConcurrencyTest {
+
+    private static final int TRIPS = 500;
+    private static final int THREADS = 16;
+
+    private enum Action { APPROVE, REJECT, CANCEL, DRIVER_ACCEPT }
+
+    @Autowired
+    private TripRequestService tripService;
+
+    @Autowired
+    private TripRequestRepository repository;
+
+    @Autowired
+    private TripEventRepository eventRepository;
+
+    @Test
+    @DisplayName("Should never lose an update or reach an illegal state under thousands of competing transitions")
+    void shouldKeepTransitionsConsistentUnderContention() throws Exception {
+        List<UUID> tripIds = new ArrayList<>();
+        LocalDateTime departure = LocalDateTime.of(2030, 1, 1, 8, 0);
+        for (int i = 0; i < TRIPS; i++) {
+            CreateTripRequestDTO dto = new CreateTripRequestDTO();
+            dto.setRequesterId(UUID.randomUUID());
+            dto.setPurpose("Stress " + i);
+            dto.setDestination("Depot");
+            dto.setDepartureTime(departure.plusHours(i));
+            dto.setReturnTime(departure.plusHours(i + 1));
+            tripIds.add(tripService.submitTrip(tripService.createTrip(dto).getId()).getId());
+        }
+
+        // Every trip gets each competing action once, shuffled so the threads collide on the same rows
+        List<Map.Entry<UUID, Action>> work = new ArrayList<>();
+        for (UUID tripId : tripIds) {
+            for (Action action : Action.values()) {
+                work.add(Map.entry(tripId, action));
+            }
+        }
+        Collections.shuffle(work, new Random(7));
+
+        Map<UUID, Set<Action>> succeeded = new ConcurrentHashMap<>();
+        AtomicInteger exhausted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Map.Entry<UUID, Action> item : work) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        run(item.getKey(), item.getValue());
+                        succeeded.computeIfAbsent(item.getKey(), id -> ConcurrentHashMap.newKeySet()).add(item.getValue());
+                    } catch (ConflictException e) {
+                        exhausted.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // Expected: the transition was no longer legal once another action won
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (UUID tripId : tripIds) {
+            TripRequest trip = repository.findById(tripId).orElseThrow();
+            Set<Action> wins = succeeded.getOrDefault(tripId, Set.of());
+
+            assertFalse(wins.contains(Action.APPROVE) && wins.contains(Action.REJECT),
+                    "Trip was both approved and rejected");
+            if (wins.contains(Action.DRIVER_ACCEPT)) {
+                assertTrue(wins.contains(Action.APPROVE), "Driver accepted a trip that was never approved");
+            }
+            if (wins.contains(Action.CANCEL)) {
+                assertEquals(TripStatus.CANCELLED, trip.getStatus());
+            } else if (wins.contains(Action.REJECT)) {
+                assertEquals(TripStatus.REJECTED, trip.getStatus());
+            } else if (wins.contains(Action.DRIVER_ACCEPT)) {
+                assertEquals(TripStatus.DRIVER_CONFIRMED, trip.getStatus());
+            } else if (wins.contains(Action.APPROVE)) {
+                assertEquals(TripStatus.APPROVED, trip.getStatus());
+            } else {
+                assertEquals(TripStatus.SUBMITTED, trip.getStatus());
+            }
+            // Create is version 0 and submit version 1; every successful transition must add exactly one more
+            assertEquals(1 + wins.size(), trip.getVersion(), "A concurrent transition was overwritten");
+            // The event log holds exactly one entry per committed transition, in version order
+            List<TripEvent> history = eventRepository.findByTripIdOrderByIdAsc(tripId);
+            assertEquals(trip.getVersion() + 1, history.size());
+            for (int v = 0; v < history.size(); v++) {
+                assertEquals(v, history.get(v).getTripVersion());
+            }
+            assertEquals(trip.getStatus(), history.get(history.size() - 1).getToStatus());
+        }
+        // Retries should absorb almost all contention between four writers per trip
+        assertTrue(exhausted.get() < work.size() / 100, "Too many transitions gave up: " + exhausted.get());
+    }
+
+    private void run(UUID tripId, Action action) {
+        ApprovalDTO dto = new ApprovalDTO();
+        dto.setApproverId(UUID.randomUUID());
+        dto.setNotes(action.name());
+        switch (action) {
+            case APPROVE -> tripService.approveTrip(tripId, dto);
+            case REJECT -> tripService.rejectTrip(tripId, dto);
+            case CANCEL -> tripService.cancelTrip(tripId, dto.getApproverId(), "Stress cancel");
+            case DRIVER_ACCEPT -> tripService.driverAcceptTrip(tripId);
+        }
+    }
+}
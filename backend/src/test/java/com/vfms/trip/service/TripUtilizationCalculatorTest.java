@@ -0,0 +1,75 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.service.TripUtilizationCalculator.CompletedTrip;
+import com.vfms.trip.service.TripUtilizationCalculator.Delta;
+import com.vfms.trip.service.TripUtilizationCalculator.Key;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TripUtilizationCalculator Unit Tests")
+class TripUtilizationCalculatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 6, 1);
+    private static final UUID DRIVER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Test
+    @DisplayName("Should split a trip at midnight and apportion its distance by time")
+    void shouldSplitAcrossMidnight() {
+        CompletedTrip overnight = new CompletedTrip(UUID.randomUUID(), 5L, DRIVER,
+                DAY.atTime(21, 0), DAY.plusDays(1).atTime(3, 0), new BigDecimal("120"));
+
+        Map<Key, Delta> deltas = TripUtilizationCalculator.contributions(List.of(overnight));
+
+        Delta first = deltas.get(new Key(TripUtilizationCalculator.VEHICLE, "5", DAY));
+        Delta second = deltas.get(new Key(TripUtilizationCalculator.VEHICLE, "5", DAY.plusDays(1)));
+        assertEquals(180, first.tripMinutes());
+        assertEquals(180, second.tripMinutes());
+        assertEquals(0, new BigDecimal("60").compareTo(first.distanceKm()));
+        assertEquals(DAY.plusDays(1).atStartOfDay(), first.lastEnd());
+        assertEquals(4, deltas.size());
+    }
+
+    @Test
+    @DisplayName("Should merge trips of the same resource and day and track the working span")
+    void shouldMergeSameDay() {
+        CompletedTrip morning = new CompletedTrip(UUID.randomUUID(), 5L, null,
+                DAY.atTime(8, 0), DAY.atTime(10, 0), new BigDecimal("30"));
+        CompletedTrip afternoon = new CompletedTrip(UUID.randomUUID(), 5L, null,
+                DAY.atTime(14, 0), DAY.atTime(15, 30), null);
+
+        Delta delta = TripUtilizationCalculator.contributions(List.of(afternoon, morning))
+                .get(new Key(TripUtilizationCalculator.VEHICLE, "5", DAY));
+
+        assertEquals(2, delta.tripCount());
+        assertEquals(210, delta.tripMinutes());
+        assertEquals(0, new BigDecimal("30").compareTo(delta.distanceKm()));
+        assertEquals(DAY.atTime(8, 0), delta.firstStart());
+        assertEquals(DAY.atTime(15, 30), delta.lastEnd());
+    }
+
+    @Test
+    @DisplayName("Should skip trips without times and return keys in a stable order")
+    void shouldSkipIncompleteTripsAndOrderKeys() {
+        LocalDateTime start = DAY.atTime(9, 0);
+        CompletedTrip never = new CompletedTrip(UUID.randomUUID(), 1L, DRIVER, null, null, BigDecimal.TEN);
+        CompletedTrip later = new CompletedTrip(UUID.randomUUID(), 9L, null, start.plusDays(1), start.plusDays(1).plusHours(1), null);
+        CompletedTrip earlier = new CompletedTrip(UUID.randomUUID(), 2L, DRIVER, start, start.plusHours(1), null);
+
+        List<Key> keys = new ArrayList<>(TripUtilizationCalculator.contributions(List.of(never, later, earlier)).keySet());
+
+        assertEquals(List.of(
+                new Key(TripUtilizationCalculator.DRIVER, DRIVER.toString(), DAY),
+                new Key(TripUtilizationCalculator.VEHICLE, "2", DAY),
+                new Key(TripUtilizationCalculator.VEHICLE, "9", DAY.plusDays(1))), keys);
+    }
+}
@@ -0,0 +1,127 @@
+package com.vfms.trip.service;
+
+import com.vfms.trip.dto.UtilizationBackfillResultDTO;
+import com.vfms.trip.entity.TripRequest;
+import com.vfms.trip.enums.TripEventType;
+import com.vfms.trip.enums.TripStatus;
+import com.vfms.trip.repository.TripRequestRepository;
+import com.vfms.trip.repository.TripUtilizationRepository;
+import com.vfms.trip.repository.TripUtilizationRepository.CompletedTripRow;
+import com.vfms.trip.repository.TripUtilizationRepository.DailyIncrement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TripUtilizationService Unit Tests")
+class TripUtilizationServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 6, 1, 8, 0);
+
+    @Mock
+    private TripUtilizationRepository utilizationRepository;
+
+    @Mock
+    private TripRequestRepository tripRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TripUtilizationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TripUtilizationService(utilizationRepository, tripRepository,
+                new TransactionTemplate(transactionManager), 2, 2);
+    }
+
+    @Test
+    @DisplayName("Should backfill in keyset chunks and only count trips it claimed")
+    void shouldBackfillClaimedTripsInChunks() {
+        CompletedTripRow first = row(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        CompletedTripRow second = row(UUID.fromString("00000000-0000-0000-0000-000000000002"));
+        CompletedTripRow third = row(UUID.fromString("00000000-0000-0000-0000-000000000003"));
+        when(utilizationRepository.findUnappliedCompleted(new UUID(0L, 0L), 2)).thenReturn(List.of(first, second));
+        when(utilizationRepository.findUnappliedCompleted(second.id(), 2)).thenReturn(List.of(third));
+        // The second trip was folded in by its completion event while the backfill was running
+        when(utilizationRepository.markApplied(List.of(first.id(), second.id()))).thenReturn(List.of(first.id()));
+        when(utilizationRepository.markApplied(List.of(third.id()))).thenReturn(List.of(third.id()));
+
+        UtilizationBackfillResultDTO result = service.backfill();
+
+        assertEquals(2, result.getTripsApplied());
+        assertEquals(2, result.getChunks());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DailyIncrement>> increments = ArgumentCaptor.forClass(List.class);
+        verify(utilizationRepository, times(2)).increment(increments.capture());
+        List<DailyIncrement> all = new ArrayList<>();
+        increments.getAllValues().forEach(all::addAll);
+        assertEquals(2, all.stream().mapToInt(DailyIncrement::tripCount).sum());
+        assertTrue(all.stream().allMatch(i -> i.resourceType().equals("VEHICLE") && i.resourceId().equals("3")));
+    }
+
+    @Test
+    @DisplayName("Should not touch the rollup when every trip was already applied")
+    void shouldSkipAlreadyAppliedTrips() {
+        CompletedTripRow only = row(UUID.randomUUID());
+        when(utilizationRepository.findUnappliedCompleted(any(UUID.class), eq(2))).thenReturn(List.of(only));
+        when(utilizationRepository.markApplied(anyList())).thenReturn(List.of());
+
+        assertEquals(0, service.backfill().getTripsApplied());
+        verify(utilizationRepository, never()).increment(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown resource types and inverted ranges")
+    void shouldValidateQuery() {
+        LocalDate day = START.toLocalDate();
+        assertThrows(IllegalArgumentException.class, () -> service.getDailyUtilization("BUS", null, day, day));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getDailyUtilization("vehicle", null, day, day.minusDays(1)));
+        service.getDailyUtilization("vehicle", null, day, day);
+        verify(utilizationRepository).findDaily("VEHICLE", null, day, day);
+    }
+
+    @Test
+    @DisplayName("Should log and swallow a rollup failure so the outbox delivery is not rolled back")
+    void shouldIsolateRollupFailureFromDelivery() {
+        TripRequest trip = new TripRequest();
+        trip.setId(UUID.randomUUID());
+        trip.setAssignedVehicleId(3L);
+        trip.setStartTime(START);
+        trip.setEndTime(START.plusHours(2));
+        when(tripRepository.findById(trip.getId())).thenReturn(Optional.of(trip));
+        when(utilizationRepository.markApplied(anyList()))
+                .thenThrow(new BadSqlGrammarException("markApplied", "INSERT", new SQLException("no such table")));
+
+        assertDoesNotThrow(() -> service.onTripLifecycle(new TripLifecycleEvent(1L, trip.getId(), 1L,
+                TripEventType.COMPLETED, TripStatus.ONGOING, TripStatus.COMPLETED, 3L, null, null, START)));
+        verify(transactionManager).rollback(any());
+        verify(utilizationRepository, never()).increment(anyList());
+    }
+
+    private static CompletedTripRow row(UUID id) {
+        return new CompletedTripRow(id, 3L, null, START, START.plusHours(2), null);
+    }
+}
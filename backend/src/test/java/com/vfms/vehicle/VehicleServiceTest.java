@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class VehicleServiceTest {
@@ -21,6 +22,9 @@ class VehicleServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VehicleService vehicleService;
 
@@ -93,5 +97,6 @@ class VehicleServiceTest {
         assertFalse(testVehicle.getActive());
         assertEquals(VehicleStatus.RETIRED, testVehicle.getStatus());
         verify(vehicleRepository, times(1)).save(testVehicle);
+        verify(eventPublisher).publishEvent(new VehicleChangedEvent(1L));
     }
 }
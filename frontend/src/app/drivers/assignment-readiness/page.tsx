@@ -12,6 +12,19 @@ import { Input } from '@/components/ui/input';
 import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from '@/components/ui/table';
 import { Driver, DriverReadinessCache, PageResponse } from '@/types';
 
+const PAGE_SIZE = 500;
+
+// The summary cards count every driver, so walk all pages rather than stopping at the first
+async function fetchAllPages<T>(path: string): Promise<T[]> {
+	const first = await apiFetch<PageResponse<T>>(`${path}?page=0&size=${PAGE_SIZE}`);
+	const rest = await Promise.all(
+		Array.from({ length: Math.max(0, first.totalPages - 1) }, (_, index) =>
+			apiFetch<PageResponse<T>>(`${path}?page=${index + 1}&size=${PAGE_SIZE}`)
+		)
+	);
+	return [first, ...rest].flatMap((page) => page.content);
+}
+
 export default function DriverReadinessPage() {
 	const [drivers, setDrivers] = useState<DriverReadinessCache[]>([]);
 	const [driverIdMap, setDriverIdMap] = useState<Record<string, string>>({});
@@ -21,12 +34,11 @@ export default function DriverReadinessPage() {
 	const fetchDrivers = async () => {
 		setLoading(true);
 		try {
-			const readinessData = await apiFetch<DriverReadinessCache[]>('/api/drivers/readiness');
-			setDrivers(readinessData);
+			setDrivers(await fetchAllPages<DriverReadinessCache>('/api/drivers/readiness'));
 
-			void apiFetch<PageResponse<Driver>>('/api/drivers?page=0&size=500')
-				.then((driversPage) => {
-					const map = Object.fromEntries(driversPage.content.map((driver) => [driver.id, driver.employeeId]));
+			void fetchAllPages<Driver>('/api/drivers')
+				.then((allDrivers) => {
+					const map = Object.fromEntries(allDrivers.map((driver) => [driver.id, driver.employeeId]));
 					setDriverIdMap(map);
 				})
 				.catch(() => {
@@ -163,8 +163,14 @@ export const reportService = {
 
     getDriverReadiness: async () => {
         try {
-            const response = await axios.get(`${API_BASE_URL}/drivers/readiness`);
-            return response.data;
+            // Walk every page so the report covers the whole fleet, not just the first 500 drivers
+            const fetchPage = (page: number) =>
+                axios.get(`${API_BASE_URL}/drivers/readiness`, { params: { page, size: 500 } });
+            const first = await fetchPage(0);
+            const rest = await Promise.all(
+                Array.from({ length: Math.max(0, (first.data.totalPages ?? 1) - 1) }, (_, index) => fetchPage(index + 1))
+            );
+            return [first, ...rest].flatMap((response) => response.data.content ?? []);
         } catch (error) {
             console.error("Error fetching driver readiness:", error);
             return [];
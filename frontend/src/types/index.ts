@@ -83,8 +83,11 @@ export interface DriverReadinessCache {
   licenseValid: boolean;
   allCertsValid: boolean;
   availabilityStatus: AvailabilityStatus;
-  lastRefreshed: string;
+  lastRefreshed: string | null;
   ready?: boolean;
+  employeeId?: string;
+  fullName?: string;
+  stale?: boolean;
 }
 
 export type LeaveType = 'ANNUAL' | 'MEDICAL' | 'EMERGENCY' | 'UNPAID';